@@ -3,18 +3,42 @@ package org.battleplugins.arena.module.restoration;
 import com.sk89q.worldedit.extent.clipboard.io.BuiltInClipboardFormat;
 import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.competition.Competition;
+import org.battleplugins.arena.competition.JoinResult;
+import org.battleplugins.arena.competition.LiveCompetition;
+import org.battleplugins.arena.competition.PlayerRole;
+import org.battleplugins.arena.competition.map.MapSnapshot;
+import org.battleplugins.arena.competition.phase.CompetitionPhase;
+import org.battleplugins.arena.competition.phase.CompetitionPhaseType;
+import org.battleplugins.arena.event.ArenaEventType;
 import org.battleplugins.arena.event.BattleArenaPostInitializeEvent;
+import org.battleplugins.arena.event.BattleArenaReloadedEvent;
+import org.battleplugins.arena.event.BattleArenaShutdownEvent;
+import org.battleplugins.arena.event.action.EventAction;
 import org.battleplugins.arena.event.action.EventActionType;
+import org.battleplugins.arena.event.arena.ArenaCreateCompetitionEvent;
 import org.battleplugins.arena.event.arena.ArenaCreateExecutorEvent;
+import org.battleplugins.arena.event.player.ArenaPreJoinEvent;
 import org.battleplugins.arena.messages.Message;
 import org.battleplugins.arena.messages.Messages;
 import org.battleplugins.arena.module.ArenaModule;
 import org.battleplugins.arena.module.ArenaModuleInitializer;
 import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
 
 /**
  * A module that adds an action to restore arenas.
@@ -28,6 +52,18 @@ public class ArenaRestoration implements ArenaModuleInitializer {
     public static final Message NO_BOUNDS = Messages.error("arena-restoration-no-bounds", "You must first set the map bounds before executing this command!");
     public static final Message SCHEMATIC_CREATED = Messages.success("arena-restoration-schematic-created", "Schematic created for map <secondary>{}</secondary>.");
     public static final Message FAILED_TO_CREATE_SCHEMATIC = Messages.error("arena-restoration-failed-to-create-schematic", "Failed to create schematic! Check the console for more information.");
+    public static final Message NO_SCHEMATIC = Messages.error("arena-restoration-no-schematic", "Map <secondary>{}</secondary> does not have a schematic to convert!");
+    public static final Message SCHEMATIC_CONVERTED = Messages.success("arena-restoration-schematic-converted", "Schematic converted for map <secondary>{}</secondary>.");
+    public static final Message FAILED_TO_CONVERT_SCHEMATIC = Messages.error("arena-restoration-failed-to-convert-schematic", "Failed to convert schematic! Check the console for more information.");
+    public static final Message MAP_BEING_RESTORED = Messages.error("arena-restoration-map-being-restored", "This map is currently being restored! Please try again in a moment.");
+
+    private static final JoinResult BEING_RESTORED = new JoinResult(false, MAP_BEING_RESTORED);
+
+    private final Map<UUID, Map<LiveCompetition<?>, BlockChangeTracker>> trackers = new HashMap<>();
+    private final Map<Arena, Boolean> restoredArenas = new WeakHashMap<>();
+    private final SnapshotCache snapshotCache = new SnapshotCache();
+
+    private RestorationQueue restorationQueue;
 
     @EventHandler
     public void onPostInitialize(BattleArenaPostInitializeEvent event) {
@@ -36,7 +72,60 @@ public class ArenaRestoration implements ArenaModuleInitializer {
             event.getBattleArena().module(ArenaRestoration.ID).ifPresent(container -> {
                 container.disable("WorldEdit is required for the arena restoration module to work!");
             });
+
+            return;
         }
+
+        this.restorationQueue = new RestorationQueue(event.getBattleArena());
+        Bukkit.getPluginManager().registerEvents(new BlockChangeListener(this), event.getBattleArena());
+    }
+
+    @EventHandler
+    public void onReloaded(BattleArenaReloadedEvent event) {
+        // Competitions which were completed while reloading may have
+        // queued restores of maps the new competitions are played on,
+        // so finish restoring them before anyone can join
+        this.restorationQueue.flush();
+
+        this.trackers.values().forEach(trackers -> trackers.keySet().removeIf(competition -> !event.getBattleArena().getCompetitions(competition.getArena()).contains(competition)));
+        this.trackers.values().removeIf(Map::isEmpty);
+        this.restoredArenas.clear();
+        this.snapshotCache.clear();
+    }
+
+    @EventHandler
+    public void onShutdown(BattleArenaShutdownEvent event) {
+        this.restorationQueue.flush();
+    }
+
+    @EventHandler
+    public void onPreJoin(ArenaPreJoinEvent event) {
+        // Players cannot join until the map has been fully restored
+        if (event.getRole() == PlayerRole.PLAYING && event.getResult().canJoin() && this.isRestoring(event.getCompetition())) {
+            event.setResult(BEING_RESTORED);
+        }
+    }
+
+    @EventHandler
+    public void onCreateCompetition(ArenaCreateCompetitionEvent event) {
+        if (!event.getArena().isModuleEnabled(ID)) {
+            return;
+        }
+
+        // Only track changes for arenas which restore their maps, since
+        // the trackers keep the original state of every changed block
+        if (event.getCompetition() instanceof LiveCompetition<?> liveCompetition && liveCompetition.getMap().getWorld() != null
+                && this.isRestored(event.getArena(), liveCompetition)) {
+            this.trackers.computeIfAbsent(liveCompetition.getMap().getWorld().getUID(), key -> new WeakHashMap<>())
+                    .put(liveCompetition, new BlockChangeTracker(liveCompetition.getMap()));
+        }
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        // Dynamic maps are played in their own world, which is
+        // unloaded once the competition is removed
+        this.trackers.remove(event.getWorld().getUID());
     }
 
     @EventHandler
@@ -49,11 +138,177 @@ public class ArenaRestoration implements ArenaModuleInitializer {
     }
 
     public Path getSchematicPath(Arena arena, Competition<?> competition) {
+        return this.getRestorationPath(arena, competition, BuiltInClipboardFormat.SPONGE_SCHEMATIC.getPrimaryFileExtension());
+    }
+
+    /**
+     * Gets the path of the {@link MapSnapshot} the map of the given
+     * competition is restored from, which is kept beside its schematic.
+     * <p>
+     * This file is only written by the schematic commands, so it is
+     * kept when the map is edited, unlike the snapshot dynamic copies
+     * of the map are pasted from.
+     *
+     * @param arena the arena of the competition
+     * @param competition the competition to get the snapshot path for
+     * @return the path of the snapshot
+     */
+    public Path getSnapshotPath(Arena arena, Competition<?> competition) {
+        return this.getRestorationPath(arena, competition, MapSnapshot.FILE_EXTENSION);
+    }
+
+    private Path getRestorationPath(Arena arena, Competition<?> competition, String extension) {
         return arena.getPlugin().getDataFolder().toPath()
                 .resolve("schematics")
                 .resolve(arena.getName().toLowerCase(Locale.ROOT))
-                .resolve(competition.getMap().getName().toLowerCase(Locale.ROOT) + "." +
-                        BuiltInClipboardFormat.SPONGE_SCHEMATIC.getPrimaryFileExtension()
-                );
+                .resolve(competition.getMap().getName().toLowerCase(Locale.ROOT) + "." + extension);
+    }
+
+    /**
+     * Returns whether the map of the given competition is
+     * currently being restored.
+     *
+     * @param competition the competition to check
+     * @return whether the map of the competition is being restored
+     */
+    public boolean isRestoring(Competition<?> competition) {
+        return this.restorationQueue.getJob(competition) != null;
+    }
+
+    /**
+     * Gets how far along restoring the map of the given
+     * competition is, from 0 to 1.
+     *
+     * @param competition the competition to get the progress for
+     * @return the restoration progress, or 1 if the map is not being restored
+     */
+    public double getRestorationProgress(Competition<?> competition) {
+        RestorationJob job = this.restorationQueue.getJob(competition);
+        return job == null ? 1 : job.getProgress();
+    }
+
+    RestorationQueue getRestorationQueue() {
+        return this.restorationQueue;
+    }
+
+    SnapshotCache getSnapshotCache() {
+        return this.snapshotCache;
+    }
+
+    /**
+     * Gets the {@link MapSnapshot} the map of the given competition
+     * is restored from.
+     * <p>
+     * If the map only has a schematic, the schematic is converted
+     * into a snapshot first.
+     *
+     * @param arena the arena of the competition
+     * @param competition the competition to get the snapshot for
+     * @return the snapshot, or null if the schematic could not be converted
+     * @throws IOException if the snapshot or schematic could not be read
+     */
+    @Nullable
+    MapSnapshot getSnapshot(Arena arena, LiveCompetition<?> competition) throws IOException {
+        Path path = this.getSnapshotPath(arena, competition);
+        if (Files.exists(path)) {
+            return this.snapshotCache.get(path);
+        }
+
+        Path schematicPath = this.getSchematicPath(arena, competition);
+        MapSnapshot snapshot = SchematicConverter.convert(schematicPath, path);
+        if (snapshot != null) {
+            arena.getPlugin().info("Converted schematic of map {} in arena {} to a map snapshot.", competition.getMap().getName(), arena.getName());
+            this.snapshotCache.put(path, snapshot);
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Gets the {@link BlockChangeTracker} recording the blocks
+     * changed within the map of the given competition.
+     *
+     * @param competition the competition to get the tracker for
+     * @return the tracker for the competition, or null if its changes are not tracked
+     */
+    @Nullable
+    BlockChangeTracker getTracker(LiveCompetition<?> competition) {
+        World world = competition.getMap().getWorld();
+        if (world == null) {
+            return null;
+        }
+
+        Map<LiveCompetition<?>, BlockChangeTracker> trackers = this.trackers.get(world.getUID());
+        return trackers == null ? null : trackers.get(competition);
+    }
+
+    void recordChange(Block block) {
+        Map<LiveCompetition<?>, BlockChangeTracker> trackers = this.trackers.get(block.getWorld().getUID());
+        if (trackers == null) {
+            return;
+        }
+
+        for (BlockChangeTracker tracker : trackers.values()) {
+            tracker.record(block);
+        }
+    }
+
+    void recordChange(BlockState state) {
+        Map<LiveCompetition<?>, BlockChangeTracker> trackers = this.trackers.get(state.getWorld().getUID());
+        if (trackers == null) {
+            return;
+        }
+
+        for (BlockChangeTracker tracker : trackers.values()) {
+            tracker.record(state);
+        }
+    }
+
+    /**
+     * Returns whether the given arena restores its maps through the
+     * {@link #RESTORE_ARENA_ACTION restore-arena} action, either in
+     * its own events or in the events of one of its phases.
+     *
+     * @param arena the arena to check
+     * @param competition a competition of the arena, used to create its phases
+     * @return whether the arena restores its maps
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private boolean isRestored(Arena arena, LiveCompetition<?> competition) {
+        return this.restoredArenas.computeIfAbsent(arena, key -> {
+            if (hasRestoreAction(key.getEventActions())) {
+                return true;
+            }
+
+            // Phase events are only available on the phases themselves
+            for (CompetitionPhaseType<?, ?> phaseType : key.getPhases()) {
+                CompetitionPhase<?> phase = key.createPhase(phaseType, (LiveCompetition) competition);
+                if (hasRestoreAction(phase.getEventActions())) {
+                    return true;
+                }
+            }
+
+            return false;
+        });
+    }
+
+    private static boolean hasRestoreAction(@Nullable Map<ArenaEventType<?>, List<EventAction>> eventActions) {
+        if (eventActions == null) {
+            return false;
+        }
+
+        for (List<EventAction> actions : eventActions.values()) {
+            if (actions == null) {
+                continue;
+            }
+
+            for (EventAction action : actions) {
+                if (action instanceof RestoreArenaAction) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
     }
 }
@@ -1,19 +1,11 @@
 package org.battleplugins.arena.module.restoration;
 
-import com.sk89q.worldedit.WorldEditException;
-import com.sk89q.worldedit.bukkit.BukkitAdapter;
-import com.sk89q.worldedit.extent.clipboard.BlockArrayClipboard;
-import com.sk89q.worldedit.extent.clipboard.io.BuiltInClipboardFormat;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardWriter;
-import com.sk89q.worldedit.function.operation.ForwardExtentCopy;
-import com.sk89q.worldedit.function.operation.Operations;
-import com.sk89q.worldedit.math.BlockVector3;
-import com.sk89q.worldedit.regions.CuboidRegion;
 import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.command.ArenaCommand;
 import org.battleplugins.arena.command.SubCommandExecutor;
 import org.battleplugins.arena.competition.Competition;
 import org.battleplugins.arena.competition.LiveCompetition;
+import org.battleplugins.arena.competition.map.MapSnapshot;
 import org.battleplugins.arena.competition.map.options.Bounds;
 import org.bukkit.entity.Player;
 
@@ -43,36 +35,86 @@ public class ArenaRestorationExecutor implements SubCommandExecutor {
             return;
         }
 
-        CuboidRegion region = new CuboidRegion(BlockVector3.at(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ()), BlockVector3.at(bounds.getMaxX(), bounds.getMaxY(), bounds.getMaxZ()));
-        BlockArrayClipboard clipboard = new BlockArrayClipboard(region);
-        ForwardExtentCopy copy = new ForwardExtentCopy(BukkitAdapter.adapt(liveCompetition.getMap().getWorld()), region, clipboard, region.getMinimumPoint());
+        // The map is read over multiple ticks, so large maps do not stall the server
+        MapSnapshot.capture(liveCompetition.getMap().getWorld(), bounds).whenComplete((snapshot, e) -> {
+            if (e != null) {
+                ArenaRestoration.FAILED_TO_CREATE_SCHEMATIC.send(player);
+                this.arena.getPlugin().error("Failed to create schematic for map {} in arena {}", competition.getMap().getName(), this.arena.getName(), e);
+                return;
+            }
+
+            if (snapshot == null) {
+                ArenaRestoration.FAILED_TO_CREATE_SCHEMATIC.send(player);
+                return;
+            }
+
+            this.saveSnapshot(player, liveCompetition, snapshot);
+        });
+    }
 
+    private void saveSnapshot(Player player, LiveCompetition<?> competition, MapSnapshot snapshot) {
+        Path path = this.module.getSnapshotPath(this.arena, competition);
         try {
-            Operations.complete(copy);
-        } catch (WorldEditException e) {
+            snapshot.write(path);
+        } catch (IOException e) {
+            this.module.getSnapshotCache().invalidate(path);
+
             ArenaRestoration.FAILED_TO_CREATE_SCHEMATIC.send(player);
             this.arena.getPlugin().error("Failed to create schematic for map {} in arena {}", competition.getMap().getName(), this.arena.getName(), e);
             return;
         }
 
-        // Create schematic from clipboard
-        Path path = this.module.getSchematicPath(this.arena, competition);
-        if (Files.notExists(path.getParent())) {
-            try {
-                Files.createDirectories(path.getParent());
-            } catch (IOException e) {
-                ArenaRestoration.FAILED_TO_CREATE_SCHEMATIC.send(player);
-                this.arena.getPlugin().error("Failed to create schematic for map {} in arena {}", competition.getMap().getName(), this.arena.getName(), e);
+        // Keep the new snapshot around, so the next restore does not have to read it back
+        try {
+            this.module.getSnapshotCache().put(path, snapshot);
+        } catch (IOException e) {
+            this.module.getSnapshotCache().invalidate(path);
+        }
+
+        // The map now matches the snapshot, so changes from here on can be restored on their own
+        BlockChangeTracker tracker = this.module.getTracker(competition);
+        if (tracker != null) {
+            tracker.reset();
+        }
+
+        ArenaRestoration.SCHEMATIC_CREATED.send(player, competition.getMap().getName());
+    }
+
+    @ArenaCommand(commands = "schematic", subCommands = "convert", description = "Converts the WorldEdit schematic of the specified map into a map snapshot.", permissionNode = "region")
+    public void convert(Player player, Competition<?> competition) {
+        if (!(competition instanceof LiveCompetition<?> liveCompetition)) {
+            return; // Cannot restore a non-live competition
+        }
+
+        Path schematicPath = this.module.getSchematicPath(this.arena, competition);
+        if (Files.notExists(schematicPath)) {
+            ArenaRestoration.NO_SCHEMATIC.send(player, competition.getMap().getName());
+            return;
+        }
+
+        Path path = this.module.getSnapshotPath(this.arena, competition);
+        try {
+            MapSnapshot snapshot = SchematicConverter.convert(schematicPath, path);
+            if (snapshot == null) {
+                ArenaRestoration.FAILED_TO_CONVERT_SCHEMATIC.send(player);
                 return;
             }
-        }
 
-        try (ClipboardWriter writer = BuiltInClipboardFormat.SPONGE_SCHEMATIC.getWriter(Files.newOutputStream(path))) {
-            writer.write(clipboard);
-            ArenaRestoration.SCHEMATIC_CREATED.send(player, competition.getMap().getName());
+            this.module.getSnapshotCache().put(path, snapshot);
         } catch (IOException e) {
-            ArenaRestoration.FAILED_TO_CREATE_SCHEMATIC.send(player);
-            this.arena.getPlugin().error("Failed to create schematic for map {} in arena {}", competition.getMap().getName(), this.arena.getName(), e);
+            this.module.getSnapshotCache().invalidate(path);
+
+            ArenaRestoration.FAILED_TO_CONVERT_SCHEMATIC.send(player);
+            this.arena.getPlugin().error("Failed to convert schematic for map {} in arena {}", competition.getMap().getName(), this.arena.getName(), e);
+            return;
+        }
+
+        // The map may not match the converted schematic, so restore it in full next time
+        BlockChangeTracker tracker = this.module.getTracker(liveCompetition);
+        if (tracker != null) {
+            tracker.pause();
         }
+
+        ArenaRestoration.SCHEMATIC_CONVERTED.send(player, competition.getMap().getName());
     }
 }
@@ -0,0 +1,149 @@
+package org.battleplugins.arena.module.restoration;
+
+import org.battleplugins.arena.competition.map.LiveCompetitionMap;
+import org.battleplugins.arena.competition.map.options.Bounds;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records the original state of each block within the bounds of
+ * a map the first time it is changed, so only the changed blocks
+ * have to be written back when the map is restored.
+ */
+final class BlockChangeTracker {
+    private static final int MAX_CHANGES = 250_000;
+
+    private final LiveCompetitionMap map;
+    private Map<Long, BlockState> changes = new HashMap<>();
+    private Map<Long, BlockState> restoring = Map.of();
+
+    private boolean complete;
+    private boolean tracking = true;
+    private int changedBlockRestores;
+
+    BlockChangeTracker(LiveCompetitionMap map) {
+        this.map = map;
+    }
+
+    /**
+     * Records the current state of the given block, if it is within
+     * the bounds of the map and has not been recorded yet.
+     *
+     * @param block the block which is about to change
+     */
+    void record(Block block) {
+        if (this.isInside(block)) {
+            this.record(block.getState());
+        }
+    }
+
+    /**
+     * Records the given state of a block as its original state, if it
+     * is within the bounds of the map and has not been recorded yet.
+     *
+     * @param state the state of the block before it changed
+     */
+    void record(BlockState state) {
+        if (!this.tracking || !this.isInside(state.getBlock())) {
+            return;
+        }
+
+        // The block is about to be restored, so its original state is already known
+        long key = Block.getBlockKey(state.getX(), state.getY(), state.getZ());
+        if (this.restoring.containsKey(key)) {
+            return;
+        }
+
+        this.changes.putIfAbsent(key, state);
+
+        // Too much of the map has changed to keep every block in memory,
+        // so the next restore will have to paste the whole map again
+        if (this.changes.size() > MAX_CHANGES) {
+            this.changes.clear();
+            this.complete = false;
+            this.tracking = false;
+        }
+    }
+
+    /**
+     * Returns whether every change since the map was last fully
+     * restored has been recorded, so restoring the recorded
+     * blocks returns the map to its original state.
+     *
+     * @return whether the recorded changes are complete
+     */
+    boolean isComplete() {
+        return this.complete;
+    }
+
+    /**
+     * Returns how many times only the changed blocks have been
+     * restored since the map was last restored in full.
+     *
+     * @return the number of changed block restores
+     */
+    int getChangedBlockRestores() {
+        return this.changedBlockRestores;
+    }
+
+    /**
+     * Hands the recorded changes over to be restored, and starts
+     * recording new changes.
+     * <p>
+     * Entries are expected to be removed from the returned map as
+     * they are restored. Until then, changes to those blocks are not
+     * recorded, as their original state is already known.
+     *
+     * @return the original state of each changed block, by block key
+     */
+    Map<Long, BlockState> drain() {
+        this.changedBlockRestores++;
+        this.restoring = this.changes;
+        this.changes = new HashMap<>();
+        return this.restoring;
+    }
+
+    /**
+     * Forgets about the changes handed over by {@link #drain()} after
+     * they could not be restored, so changes to those blocks are
+     * recorded again. As some changes were never restored, the next
+     * restore has to paste the whole map again.
+     */
+    void abandon() {
+        this.restoring = Map.of();
+        this.complete = false;
+    }
+
+    /**
+     * Stops recording changes while the whole map is being
+     * restored, since the restore overwrites them anyway.
+     */
+    void pause() {
+        this.changes.clear();
+        this.complete = false;
+        this.tracking = false;
+    }
+
+    /**
+     * Forgets about the recorded changes after the whole map
+     * has been restored, and starts tracking changes from the
+     * restored state.
+     */
+    void reset() {
+        this.changes.clear();
+        this.restoring = Map.of();
+        this.complete = true;
+        this.tracking = true;
+        this.changedBlockRestores = 0;
+    }
+
+    private boolean isInside(Block block) {
+        Bounds bounds = this.map.getBounds();
+        return bounds != null
+                && block.getWorld().equals(this.map.getWorld())
+                && bounds.isInside(block.getX(), block.getY(), block.getZ());
+    }
+}
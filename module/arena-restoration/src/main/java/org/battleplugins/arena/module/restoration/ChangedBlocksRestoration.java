@@ -0,0 +1,61 @@
+package org.battleplugins.arena.module.restoration;
+
+import org.battleplugins.arena.competition.LiveCompetition;
+import org.bukkit.block.BlockState;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Restores the blocks recorded by a {@link BlockChangeTracker}
+ * to their original state.
+ */
+final class ChangedBlocksRestoration extends RestorationJob {
+    private final BlockChangeTracker tracker;
+    private final Iterator<BlockState> changes;
+    private final int totalBlocks;
+
+    private int restoredBlocks;
+
+    ChangedBlocksRestoration(LiveCompetition<?> competition, BlockChangeTracker tracker) {
+        super(competition);
+
+        Map<Long, BlockState> changes = tracker.drain();
+        this.tracker = tracker;
+        this.changes = changes.values().iterator();
+        this.totalBlocks = changes.size();
+    }
+
+    @Override
+    int restore(int maxBlocks, long deadline) {
+        int restored = 0;
+        while (restored < maxBlocks && this.changes.hasNext()) {
+            this.changes.next().update(true, false);
+
+            // Removed once restored, so the tracker records new changes to it again
+            this.changes.remove();
+
+            if (++restored % 256 == 0 && System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+
+        this.restoredBlocks += restored;
+        return restored;
+    }
+
+    @Override
+    void fail() {
+        this.tracker.abandon();
+    }
+
+    @Override
+    long getTotalBlocks() {
+        return this.totalBlocks;
+    }
+
+    @Override
+    long getRestoredBlocks() {
+        return this.restoredBlocks;
+    }
+}
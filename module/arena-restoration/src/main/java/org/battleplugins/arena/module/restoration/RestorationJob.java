@@ -0,0 +1,100 @@
+package org.battleplugins.arena.module.restoration;
+
+import com.sk89q.worldedit.WorldEditException;
+import org.battleplugins.arena.competition.LiveCompetition;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A restoration of the map of a competition, which is
+ * applied a limited number of blocks at a time by the
+ * {@link RestorationQueue}.
+ */
+abstract class RestorationJob {
+    private final LiveCompetition<?> competition;
+    private final World world;
+    private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+    private final long startTime = System.nanoTime();
+
+    private long priority;
+    private long sequence;
+
+    RestorationJob(LiveCompetition<?> competition) {
+        this.competition = competition;
+        this.world = competition.getMap().getWorld();
+    }
+
+    /**
+     * Restores up to the given number of blocks, stopping early
+     * once the given deadline has passed.
+     *
+     * @param maxBlocks the maximum number of blocks to restore
+     * @param deadline the {@link System#nanoTime()} to stop at
+     * @return the number of blocks which were restored
+     * @throws WorldEditException if the blocks could not be restored
+     */
+    abstract int restore(int maxBlocks, long deadline) throws WorldEditException;
+
+    /**
+     * Called once every block has been restored.
+     *
+     * @throws WorldEditException if the restoration could not be finished
+     */
+    void finish() throws WorldEditException {
+    }
+
+    /**
+     * Called if the restoration could not be finished, such as
+     * when the world of the map was unloaded.
+     */
+    void fail() {
+    }
+
+    abstract long getTotalBlocks();
+
+    abstract long getRestoredBlocks();
+
+    final boolean isDone() {
+        return this.getRestoredBlocks() >= this.getTotalBlocks();
+    }
+
+    final double getProgress() {
+        long total = this.getTotalBlocks();
+        return total == 0 ? 1 : (double) this.getRestoredBlocks() / total;
+    }
+
+    final LiveCompetition<?> getCompetition() {
+        return this.competition;
+    }
+
+    final World getWorld() {
+        return this.world;
+    }
+
+    final boolean isWorldLoaded() {
+        return Bukkit.getWorld(this.world.getUID()) != null;
+    }
+
+    final long getPriority() {
+        return this.priority;
+    }
+
+    final long getSequence() {
+        return this.sequence;
+    }
+
+    final void setPriority(long priority, long sequence) {
+        this.priority = priority;
+        this.sequence = sequence;
+    }
+
+    final long getStartTime() {
+        return this.startTime;
+    }
+
+    final CompletableFuture<Boolean> getFuture() {
+        return this.future;
+    }
+}
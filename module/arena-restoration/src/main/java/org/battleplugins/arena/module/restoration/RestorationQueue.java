@@ -0,0 +1,156 @@
+package org.battleplugins.arena.module.restoration;
+
+import com.sk89q.worldedit.WorldEditException;
+import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.competition.Competition;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Applies {@link RestorationJob restoration jobs} over multiple ticks,
+ * spending at most a few milliseconds and a limited number of blocks
+ * of each tick on them, no matter how many maps are being restored.
+ * <p>
+ * Smaller jobs are applied first, so maps with only a few changed
+ * blocks are not held up behind a full paste of another map. A job
+ * is only jumped by jobs submitted before the ticks it would take
+ * to apply it have passed, so large jobs are never held up forever.
+ * Jobs of the same size are applied in the order they were submitted.
+ */
+final class RestorationQueue implements Consumer<BukkitTask> {
+    private static final long BUDGET = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int MAX_BLOCKS_PER_TICK = 50_000;
+
+    private final BattleArena plugin;
+
+    private final PriorityQueue<RestorationJob> jobs = new PriorityQueue<>(Comparator.comparingLong(RestorationJob::getPriority)
+            .thenComparingLong(RestorationJob::getSequence));
+    private final Map<Competition<?>, RestorationJob> jobsByCompetition = new HashMap<>();
+
+    private BukkitTask task;
+    private long sequence;
+
+    RestorationQueue(BattleArena plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Queues the given job to be applied over the following ticks. Must
+     * be called on the main thread, and the returned future is completed
+     * on the main thread as well.
+     * <p>
+     * If the plugin is being disabled, the job is applied straight away.
+     *
+     * @param job the job to apply
+     * @return a future completed with whether the map was restored
+     */
+    CompletableFuture<Boolean> submit(RestorationJob job) {
+        // Tasks can no longer be scheduled, so restore the map before the server stops
+        if (!this.plugin.isEnabled()) {
+            this.apply(job, Integer.MAX_VALUE, Long.MAX_VALUE);
+            return job.getFuture();
+        }
+
+        // Ages the job by the tick it was submitted at, measured in the
+        // number of blocks which can be applied per tick
+        job.setPriority((long) Bukkit.getCurrentTick() * MAX_BLOCKS_PER_TICK + job.getTotalBlocks(), this.sequence++);
+        this.jobs.add(job);
+        this.jobsByCompetition.put(job.getCompetition(), job);
+
+        if (this.task == null) {
+            this.task = Bukkit.getScheduler().runTaskTimer(this.plugin, this, 1, 1);
+        }
+
+        return job.getFuture();
+    }
+
+    /**
+     * Gets the job restoring the map of the given competition.
+     *
+     * @param competition the competition to get the job for
+     * @return the job restoring the map, or null if it is not being restored
+     */
+    @Nullable
+    RestorationJob getJob(Competition<?> competition) {
+        return this.jobsByCompetition.get(competition);
+    }
+
+    /**
+     * Applies every queued job straight away.
+     */
+    void flush() {
+        while (!this.jobs.isEmpty()) {
+            this.apply(this.jobs.peek(), Integer.MAX_VALUE, Long.MAX_VALUE);
+        }
+
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    @Override
+    public void accept(BukkitTask task) {
+        long deadline = System.nanoTime() + BUDGET;
+        int remainingBlocks = MAX_BLOCKS_PER_TICK;
+        while (!this.jobs.isEmpty() && remainingBlocks > 0 && System.nanoTime() < deadline) {
+            remainingBlocks -= this.apply(this.jobs.peek(), remainingBlocks, deadline);
+        }
+
+        if (this.jobs.isEmpty()) {
+            task.cancel();
+            this.task = null;
+        }
+    }
+
+    private int apply(RestorationJob job, int maxBlocks, long deadline) {
+        String map = job.getCompetition().getMap().getName();
+        String arena = job.getCompetition().getArena().getName();
+
+        // World was unloaded before the map could be restored
+        if (!job.isWorldLoaded()) {
+            this.complete(job, false);
+            return 0;
+        }
+
+        int restored;
+        try {
+            restored = job.restore(maxBlocks, deadline);
+            if (job.isDone()) {
+                job.finish();
+            }
+        } catch (WorldEditException | RuntimeException e) {
+            this.plugin.error("Failed to restore map {} for arena {}!", map, arena, e);
+            this.complete(job, false);
+            return 0;
+        }
+
+        if (job.isDone()) {
+            this.plugin.debug("Restored {} blocks of map {} for arena {} in {}ms.", job.getTotalBlocks(), map, arena,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - job.getStartTime()));
+
+            this.complete(job, true);
+        }
+
+        return restored;
+    }
+
+    private void complete(RestorationJob job, boolean restored) {
+        this.jobs.remove(job);
+        this.jobsByCompetition.remove(job.getCompetition());
+        if (!restored) {
+            job.fail();
+        }
+
+        job.getFuture().complete(restored);
+    }
+}
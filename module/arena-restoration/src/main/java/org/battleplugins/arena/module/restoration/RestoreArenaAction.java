@@ -1,21 +1,11 @@
 package org.battleplugins.arena.module.restoration;
 
-import com.sk89q.worldedit.EditSession;
-import com.sk89q.worldedit.WorldEdit;
-import com.sk89q.worldedit.WorldEditException;
-import com.sk89q.worldedit.bukkit.BukkitAdapter;
-import com.sk89q.worldedit.extent.clipboard.Clipboard;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
-import com.sk89q.worldedit.function.operation.Operation;
-import com.sk89q.worldedit.function.operation.Operations;
 import com.sk89q.worldedit.math.BlockVector3;
-import com.sk89q.worldedit.session.ClipboardHolder;
 import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.ArenaPlayer;
 import org.battleplugins.arena.competition.Competition;
 import org.battleplugins.arena.competition.LiveCompetition;
+import org.battleplugins.arena.competition.map.MapSnapshot;
 import org.battleplugins.arena.competition.map.options.Bounds;
 import org.battleplugins.arena.event.action.EventAction;
 import org.battleplugins.arena.resolver.Resolvable;
@@ -27,6 +17,8 @@ import java.util.Map;
 import java.util.Optional;
 
 public class RestoreArenaAction extends EventAction {
+    private static final String FULL_RESTORE_INTERVAL_KEY = "full-restore-interval";
+    private static final int DEFAULT_FULL_RESTORE_INTERVAL = 10;
 
     public RestoreArenaAction(Map<String, String> params) {
         super(params);
@@ -59,40 +51,64 @@ public class RestoreArenaAction extends EventAction {
         }
 
         ArenaRestoration module = moduleOpt.get();
-        Path path = module.getSchematicPath(arena, competition);
-        if (Files.notExists(path)) {
-            // No schematic found
-            arena.getPlugin().warn("Could not restore map {} for arena {} as no schematic was found!", competition.getMap().getName(), arena.getName());
+        if (module.isRestoring(competition)) {
+            // Changes made since then are restored the next time around
+            arena.getPlugin().debug("Map {} for arena {} is already being restored.", competition.getMap().getName(), arena.getName());
             return;
         }
 
-        // Restore the arena
-        Clipboard clipboard;
-        ClipboardFormat format = ClipboardFormats.findByFile(path.toFile());
-        if (format == null) {
-            // Invalid format
-            arena.getPlugin().warn("Could not restore map {} for arena {} as the schematic format is invalid!", competition.getMap().getName(), arena.getName());
+        Path path = module.getSnapshotPath(arena, competition);
+        Path schematicPath = module.getSchematicPath(arena, competition);
+        boolean hasSnapshot = Files.exists(path) || Files.exists(schematicPath);
+
+        // Only write back the blocks which changed, if every change since
+        // the map was last restored in full has been recorded. Without a
+        // snapshot, the recorded changes are the best that can be done.
+        // Changes made through means which are not tracked, such as
+        // commands, would stay forever, so restore the whole map again
+        // every so often
+        int fullRestoreInterval = Integer.parseInt(this.getOrDefault(FULL_RESTORE_INTERVAL_KEY, String.valueOf(DEFAULT_FULL_RESTORE_INTERVAL)));
+        BlockChangeTracker tracker = module.getTracker(liveCompetition);
+        boolean fullRestoreDue = fullRestoreInterval > 0 && tracker != null && tracker.getChangedBlockRestores() >= fullRestoreInterval;
+        if (tracker != null && ((tracker.isComplete() && !fullRestoreDue) || !hasSnapshot)) {
+            module.getRestorationQueue().submit(new ChangedBlocksRestoration(liveCompetition, tracker));
             return;
         }
 
-        try (ClipboardReader reader = format.getReader(Files.newInputStream(path))) {
-            clipboard = reader.read();
+        if (!hasSnapshot) {
+            // No schematic found
+            arena.getPlugin().warn("Could not restore map {} for arena {} as no schematic was found!", competition.getMap().getName(), arena.getName());
+            return;
+        }
+
+        // Restore the arena
+        MapSnapshot snapshot;
+        try {
+            snapshot = module.getSnapshot(arena, liveCompetition);
         } catch (IOException e) {
             // Error reading schematic
             arena.getPlugin().error("Failed to restore map {} for arena {} due to an error reading the schematic!", competition.getMap().getName(), arena.getName(), e);
             return;
         }
 
-        try (EditSession session = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(liveCompetition.getMap().getWorld()))) {
-            Operation operation = new ClipboardHolder(clipboard).createPaste(session)
-                    .to(BlockVector3.at(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ()))
-                    .build();
+        if (snapshot == null) {
+            // Invalid format
+            arena.getPlugin().warn("Could not restore map {} for arena {} as the schematic format is invalid!", competition.getMap().getName(), arena.getName());
+            return;
+        }
 
-            Operations.complete(operation);
-        } catch (WorldEditException e) {
-            // Error restoring schematic
-            arena.getPlugin().error("Failed to restore map {} for arena {} due to an error restoring the schematic!", competition.getMap().getName(), arena.getName(), e);
+        // Changes are overwritten by the paste, so there is no need to record them meanwhile
+        if (tracker != null) {
+            tracker.pause();
         }
+
+        BlockVector3 to = BlockVector3.at(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ());
+        module.getRestorationQueue().submit(new SnapshotRestoration(liveCompetition, snapshot, to)).thenAccept(restored -> {
+            // The map now matches the snapshot, so changes from here on can be restored on their own
+            if (restored && tracker != null) {
+                tracker.reset();
+            }
+        });
     }
 
     @Override
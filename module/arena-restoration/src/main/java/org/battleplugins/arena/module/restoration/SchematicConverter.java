@@ -0,0 +1,57 @@
+package org.battleplugins.arena.module.restoration;
+
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
+import org.battleplugins.arena.competition.map.MapSnapshot;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Converts schematics, which maps used to be restored from,
+ * into {@link MapSnapshot map snapshots}.
+ */
+final class SchematicConverter {
+
+    private SchematicConverter() {
+    }
+
+    /**
+     * Reads the schematic at the given path and writes it to
+     * the given path as a map snapshot.
+     * <p>
+     * Blocks are placed relative to the minimum point of the
+     * schematic, as is the case for schematics created by the
+     * schematic command.
+     *
+     * @param schematicPath the path of the schematic
+     * @param snapshotPath the path to write the snapshot to
+     * @return the converted snapshot, or null if the schematic format is
+     *         invalid or the schematic has too many distinct blocks
+     * @throws IOException if the schematic could not be read or the snapshot could not be written
+     */
+    @Nullable
+    static MapSnapshot convert(Path schematicPath, Path snapshotPath) throws IOException {
+        ClipboardFormat format = ClipboardFormats.findByFile(schematicPath.toFile());
+        if (format == null) {
+            return null;
+        }
+
+        Clipboard clipboard;
+        try (ClipboardReader reader = format.getReader(Files.newInputStream(schematicPath))) {
+            clipboard = reader.read();
+        }
+
+        MapSnapshot snapshot = MapSnapshot.create(clipboard);
+        if (snapshot == null) {
+            return null;
+        }
+
+        snapshot.write(snapshotPath);
+        return snapshot;
+    }
+}
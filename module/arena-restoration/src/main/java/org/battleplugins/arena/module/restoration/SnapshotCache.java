@@ -0,0 +1,109 @@
+package org.battleplugins.arena.module.restoration;
+
+import org.battleplugins.arena.competition.map.MapSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps recently restored map snapshots in memory, so restoring
+ * a map does not have to read and decode its snapshot every time.
+ * <p>
+ * Snapshots are read again once their file has been modified,
+ * and the least recently used snapshots are evicted once the
+ * cached snapshots hold more blocks than the cache allows.
+ */
+final class SnapshotCache {
+    private static final long MAX_BLOCKS = 32_000_000L;
+
+    private final Map<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long blocks;
+
+    /**
+     * Gets the snapshot at the given path, reading it from
+     * disk if it is not cached or its file has been modified.
+     *
+     * @param path the path of the snapshot
+     * @return the snapshot
+     * @throws IOException if the snapshot could not be read
+     */
+    MapSnapshot get(Path path) throws IOException {
+        FileTime modified = Files.getLastModifiedTime(path);
+
+        Entry entry = this.entries.get(path);
+        if (entry != null && entry.modified().equals(modified)) {
+            return entry.snapshot();
+        }
+
+        MapSnapshot snapshot;
+        try {
+            snapshot = MapSnapshot.read(path);
+        } catch (IOException e) {
+            this.invalidate(path);
+            throw e;
+        }
+
+        this.put(path, snapshot, modified);
+        return snapshot;
+    }
+
+    /**
+     * Caches a snapshot which was just written to the given path,
+     * so it does not have to be read back from disk.
+     *
+     * @param path the path the snapshot was written to
+     * @param snapshot the snapshot
+     * @throws IOException if the modification time of the file could not be read
+     */
+    void put(Path path, MapSnapshot snapshot) throws IOException {
+        this.put(path, snapshot, Files.getLastModifiedTime(path));
+    }
+
+    /**
+     * Removes the snapshot at the given path from the cache.
+     *
+     * @param path the path of the snapshot
+     */
+    void invalidate(Path path) {
+        Entry entry = this.entries.remove(path);
+        if (entry != null) {
+            this.blocks -= entry.snapshot().getBlockCount();
+        }
+    }
+
+    /**
+     * Removes every snapshot from the cache.
+     */
+    void clear() {
+        this.entries.clear();
+        this.blocks = 0;
+    }
+
+    private void put(Path path, MapSnapshot snapshot, FileTime modified) {
+        this.invalidate(path);
+
+        long blocks = snapshot.getBlockCount();
+        if (blocks > MAX_BLOCKS) {
+            return; // Would not fit even in an empty cache
+        }
+
+        this.entries.put(path, new Entry(snapshot, modified));
+        this.blocks += blocks;
+
+        // Evict the least recently used snapshots until the cache fits again
+        Iterator<Entry> iterator = this.entries.values().iterator();
+        while (this.blocks > MAX_BLOCKS && iterator.hasNext()) {
+            this.blocks -= iterator.next().snapshot().getBlockCount();
+            iterator.remove();
+        }
+    }
+
+    private record Entry(MapSnapshot snapshot, FileTime modified) {
+    }
+}
@@ -0,0 +1,61 @@
+package org.battleplugins.arena.module.restoration;
+
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.WorldEditException;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
+import org.battleplugins.arena.competition.LiveCompetition;
+import org.battleplugins.arena.competition.map.MapSnapshot;
+
+/**
+ * Pastes a whole {@link MapSnapshot} over the map of a competition.
+ */
+final class SnapshotRestoration extends RestorationJob {
+    private final MapSnapshot snapshot;
+    private final BlockVector3 offset;
+
+    private int restoredBlocks;
+
+    SnapshotRestoration(LiveCompetition<?> competition, MapSnapshot snapshot, BlockVector3 to) {
+        super(competition);
+
+        this.snapshot = snapshot;
+        this.offset = to.subtract(snapshot.getMinimumPoint());
+    }
+
+    @Override
+    int restore(int maxBlocks, long deadline) throws WorldEditException {
+        int restored = 0;
+        try (EditSession session = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(this.getWorld()))) {
+            while (restored < maxBlocks && this.restoredBlocks < this.snapshot.getBlockCount()) {
+                int index = this.restoredBlocks++;
+                session.setBlock(this.snapshot.getPosition(index).add(this.offset), this.snapshot.getBlock(index));
+
+                if (++restored % 256 == 0 && System.nanoTime() >= deadline) {
+                    break;
+                }
+            }
+        }
+
+        return restored;
+    }
+
+    @Override
+    void finish() {
+        // Entities are placed last, so they have blocks to stand on
+        try (EditSession session = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(this.getWorld()))) {
+            this.snapshot.pasteEntities(session, this.offset);
+        }
+    }
+
+    @Override
+    long getTotalBlocks() {
+        return this.snapshot.getBlockCount();
+    }
+
+    @Override
+    long getRestoredBlocks() {
+        return this.restoredBlocks;
+    }
+}
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A module that adds duels to BattleArena.
@@ -77,13 +78,23 @@ public class Duels implements ArenaModuleInitializer {
     }
 
     public void acceptDuel(Arena arena, Player player, Player target) {
-        LiveCompetition<?> competition = findOrJoinCompetition(arena);
-        if (competition == null) {
-            Messages.NO_OPEN_ARENAS.send(player);
-            Messages.NO_OPEN_ARENAS.send(target);
-            return;
-        }
+        findOrJoinCompetition(arena).thenAccept(competition -> {
+            if (competition == null) {
+                Messages.NO_OPEN_ARENAS.send(player);
+                Messages.NO_OPEN_ARENAS.send(target);
+                return;
+            }
+
+            // Either player may have left while a dynamic map was copied
+            if (!player.isOnline() || !target.isOnline()) {
+                return;
+            }
 
+            startDuel(arena, competition, player, target);
+        });
+    }
+
+    private static void startDuel(Arena arena, LiveCompetition<?> competition, Player player, Player target) {
         // Non-team game - just join regularly and let game calculate team. Winner will be
         // determined by the individual player who wins
         if (arena.getTeams().isNonTeamGame()) {
@@ -101,7 +112,7 @@ public class Duels implements ArenaModuleInitializer {
         competition.getPhaseManager().setPhase(CompetitionPhaseType.INGAME);
     }
 
-    private LiveCompetition<?> findOrJoinCompetition(Arena arena) {
+    private CompletableFuture<LiveCompetition<?>> findOrJoinCompetition(Arena arena) {
         List<Competition<?>> openCompetitions = arena.getPlugin().getCompetitions(arena)
                 .stream()
                 .filter(competition -> competition instanceof LiveCompetition<?> liveCompetition
@@ -118,16 +129,25 @@ public class Duels implements ArenaModuleInitializer {
                     .toList();
 
             if (dynamicMaps.isEmpty()) {
-                return null;
+                return CompletableFuture.completedFuture(null);
             }
 
             LiveCompetitionMap map = dynamicMaps.iterator().next();
 
-            LiveCompetition<?> competition = map.createDynamicCompetition(arena);
-            arena.getPlugin().addCompetition(arena, competition);
-            return competition;
+            return map.createDynamicCompetitionAsync(arena).handle((competition, e) -> {
+                if (e != null) {
+                    arena.getPlugin().error("Failed to create dynamic competition for map {} in arena {}!", map.getName(), arena.getName(), e);
+                    return null;
+                }
+
+                if (competition != null) {
+                    arena.getPlugin().addCompetition(arena, competition);
+                }
+
+                return competition;
+            });
         } else {
-            return (LiveCompetition<?>) openCompetitions.iterator().next();
+            return CompletableFuture.completedFuture((LiveCompetition<?>) openCompetitions.iterator().next());
         }
     }
 }
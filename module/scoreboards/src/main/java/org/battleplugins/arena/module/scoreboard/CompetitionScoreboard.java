@@ -0,0 +1,209 @@
+package org.battleplugins.arena.module.scoreboard;
+
+import net.kyori.adventure.text.Component;
+import org.battleplugins.arena.competition.LiveCompetition;
+import org.battleplugins.arena.module.scoreboard.line.LineDependencies;
+import org.battleplugins.arena.module.scoreboard.line.ScoreboardLineCreator;
+import org.battleplugins.arena.stat.ArenaStat;
+import org.battleplugins.arena.stat.ArenaStats;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Refreshes every {@link ScoreboardHandler} showing the same
+ * {@link ScoreboardTemplate} in a competition.
+ * <p>
+ * Competition scoped lines, and the title if it does not depend on
+ * the player, are created once per refresh and shared between all
+ * viewers. Only player scoped lines are created for each viewer.
+ * <p>
+ * Lines are only created again if one of their {@link LineDependencies}
+ * has been invalidated since the last refresh, and the rest are reused.
+ * If nothing has been invalidated, or the whole scoreboard is competition
+ * scoped and nothing has changed, the viewers are not updated at all.
+ */
+class CompetitionScoreboard {
+    private final Scoreboards scoreboards;
+    private final LiveCompetition<?> competition;
+    private final ScoreboardTemplate template;
+
+    private final Set<ScoreboardHandler> viewers = new LinkedHashSet<>();
+
+    private Component sharedTitle;
+    private List<List<Component>> sharedLines;
+
+    // Inputs which have changed since the last refresh started
+    private boolean playersChanged;
+    private boolean phaseChanged;
+    private final Set<ArenaStat<?>> changedStats = new HashSet<>();
+
+    // Whether the title and each line creator are created again in the current refresh
+    private boolean titleDirty;
+    private boolean[] dirtyLines;
+
+    // Viewers which have not yet been updated in the current refresh
+    private Queue<ScoreboardHandler> pendingViewers;
+
+    CompetitionScoreboard(Scoreboards scoreboards, LiveCompetition<?> competition, ScoreboardTemplate template) {
+        this.scoreboards = scoreboards;
+        this.competition = competition;
+        this.template = template;
+    }
+
+    public LiveCompetition<?> getCompetition() {
+        return this.competition;
+    }
+
+    public ScoreboardTemplate getTemplate() {
+        return this.template;
+    }
+
+    public void addViewer(ScoreboardHandler handler) {
+        boolean empty = this.viewers.isEmpty();
+        this.viewers.add(handler);
+
+        if (empty) {
+            this.scoreboards.getScheduler().schedule(this);
+        }
+    }
+
+    public void removeViewer(ScoreboardHandler handler) {
+        this.viewers.remove(handler);
+
+        if (this.viewers.isEmpty()) {
+            this.pendingViewers = null;
+            this.scoreboards.getScheduler().unschedule(this);
+            this.scoreboards.removeCompetitionScoreboard(this);
+        }
+    }
+
+    void invalidatePlayers() {
+        this.playersChanged = true;
+    }
+
+    void invalidatePhase() {
+        this.phaseChanged = true;
+    }
+
+    void invalidateStat(ArenaStat<?> stat) {
+        this.changedStats.add(stat);
+    }
+
+    void invalidateStats() {
+        this.changedStats.addAll(ArenaStats.values());
+    }
+
+    boolean isRefreshing() {
+        return this.pendingViewers != null;
+    }
+
+    /**
+     * Refreshes the viewers of this scoreboard, stopping once the
+     * deadline has passed. At least one viewer is always updated.
+     *
+     * @param deadline the {@link System#nanoTime()} to stop at
+     * @return whether every viewer has been refreshed
+     */
+    boolean refresh(long deadline) {
+        if (this.pendingViewers == null && !this.startRefresh()) {
+            return true;
+        }
+
+        ScoreboardHandler viewer;
+        while ((viewer = this.pendingViewers.poll()) != null) {
+            if (this.viewers.contains(viewer)) {
+                viewer.updateScoreboard(this.sharedTitle, this.titleDirty, this.sharedLines, this.dirtyLines);
+                this.scoreboards.getScheduler().recordViewerUpdate();
+            }
+
+            if (!this.pendingViewers.isEmpty() && System.nanoTime() >= deadline) {
+                return false;
+            }
+        }
+
+        this.pendingViewers = null;
+        return true;
+    }
+
+    private boolean startRefresh() {
+        List<ScoreboardLineCreator> creators = this.template.getLines();
+
+        // Nothing has been created yet, so everything is dirty
+        boolean initial = this.sharedLines == null;
+        boolean titleDirty = initial || this.isDirty(this.template.getTitleDependencies());
+        boolean[] dirtyLines = new boolean[creators.size()];
+        boolean anyDirty = titleDirty;
+        for (int i = 0; i < creators.size(); i++) {
+            dirtyLines[i] = initial || this.isDirty(creators.get(i).getDependencies());
+            anyDirty |= dirtyLines[i];
+        }
+
+        // Changes from here on are picked up by the next refresh
+        this.playersChanged = false;
+        this.phaseChanged = false;
+        this.changedStats.clear();
+
+        if (!anyDirty) {
+            this.scoreboards.getScheduler().recordSkippedUpdates(this.viewers.size());
+            return false;
+        }
+
+        boolean fullyShared = true;
+
+        Component title = this.sharedTitle;
+        if (this.template.isTitlePlayerScoped()) {
+            fullyShared = false;
+        } else if (titleDirty) {
+            title = this.template.getTitleTemplate().resolve(this.competition.resolve());
+        }
+
+        List<List<Component>> sharedLines = new ArrayList<>(creators.size());
+        for (int i = 0; i < creators.size(); i++) {
+            ScoreboardLineCreator creator = creators.get(i);
+            if (creator.isCompetitionScoped()) {
+                sharedLines.add(dirtyLines[i] ? creator.createLines(this.competition) : this.sharedLines.get(i));
+            } else {
+                sharedLines.add(null);
+                fullyShared = false;
+            }
+        }
+
+        // Nothing any viewer displays has changed
+        if (fullyShared && Objects.equals(title, this.sharedTitle) && sharedLines.equals(this.sharedLines)) {
+            this.scoreboards.getScheduler().recordSkippedUpdates(this.viewers.size());
+            return false;
+        }
+
+        this.sharedTitle = title;
+        this.sharedLines = sharedLines;
+        this.titleDirty = titleDirty;
+        this.dirtyLines = dirtyLines;
+        this.pendingViewers = new ArrayDeque<>(this.viewers);
+        return true;
+    }
+
+    private boolean isDirty(LineDependencies dependencies) {
+        if (dependencies.isClock()) {
+            return true;
+        }
+
+        if ((dependencies.isPlayers() && this.playersChanged) || (dependencies.isPhase() && this.phaseChanged)) {
+            return true;
+        }
+
+        for (ArenaStat<?> stat : this.changedStats) {
+            if (dependencies.dependsOn(stat)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
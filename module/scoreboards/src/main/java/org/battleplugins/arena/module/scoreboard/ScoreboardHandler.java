@@ -3,17 +3,16 @@ package org.battleplugins.arena.module.scoreboard;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.battleplugins.arena.ArenaPlayer;
-import org.battleplugins.arena.BattleArena;
 import org.battleplugins.arena.module.scoreboard.line.ScoreboardLineCreator;
 import org.battleplugins.arena.util.Version;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.scoreboard.Criteria;
 import org.bukkit.scoreboard.DisplaySlot;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Score;
 import org.bukkit.scoreboard.Scoreboard;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,10 +25,14 @@ public class ScoreboardHandler {
     private final ScoreboardTemplate template;
 
     private Scoreboard previousScoreboard;
-    private BukkitTask updateTask;
+    private CompetitionScoreboard competitionScoreboard;
 
+    private Component lastTitle;
     private List<Component> lastLines = new ArrayList<>();
 
+    // The lines last created by each line creator
+    private final List<List<Component>> creatorLines = new ArrayList<>();
+
     public ScoreboardHandler(Scoreboards scoreboards, ArenaPlayer player, ScoreboardTemplate template) {
         this.scoreboards = scoreboards;
         this.player = player;
@@ -37,9 +40,29 @@ public class ScoreboardHandler {
     }
 
     private List<Component> constructLines() {
+        this.creatorLines.clear();
+
         List<Component> lines = new ArrayList<>();
         for (ScoreboardLineCreator creator : this.template.getLines()) {
-            lines.addAll(creator.createLines(this.player));
+            List<Component> creatorLines = creator.createLines(this.player);
+            this.creatorLines.add(creatorLines);
+            lines.addAll(creatorLines);
+        }
+
+        return lines;
+    }
+
+    private List<Component> constructLines(List<List<Component>> sharedLines, boolean[] dirtyLines) {
+        List<ScoreboardLineCreator> creators = this.template.getLines();
+        List<Component> lines = new ArrayList<>();
+        for (int i = 0; i < creators.size(); i++) {
+            List<Component> creatorLines = sharedLines.get(i);
+            if (creatorLines == null) {
+                creatorLines = dirtyLines[i] ? creators.get(i).createLines(this.player) : this.creatorLines.get(i);
+            }
+
+            this.creatorLines.set(i, creatorLines);
+            lines.addAll(creatorLines);
         }
 
         return lines;
@@ -54,8 +77,9 @@ public class ScoreboardHandler {
             this.player.getPlayer().setScoreboard(scoreboard);
         }
 
-        Component title = this.player.resolve().resolveToComponent(this.template.getTitle());
+        Component title = this.template.getTitleTemplate().resolve(this.player.resolve());
         Objective objective = scoreboard.registerNewObjective("ba_sidebar", Criteria.DUMMY, title);
+        this.lastTitle = title;
         objective.setDisplaySlot(DisplaySlot.SIDEBAR);
 
         Version serverVersion = Version.getServerVersion();
@@ -78,21 +102,53 @@ public class ScoreboardHandler {
         }
 
         this.lastLines = lines;
-        this.updateTask = Bukkit.getScheduler().runTaskTimer(BattleArena.getInstance(), this::updateScoreboard, 0, this.template.getRefreshTime().toMillis() / 50);
+
+        // Refreshed along with every other player viewing this template in the competition
+        this.competitionScoreboard = this.scoreboards.getCompetitionScoreboard(this.player.getCompetition(), this.template);
+        this.competitionScoreboard.addViewer(this);
         return scoreboard;
     }
 
     public void updateScoreboard() {
-        Scoreboard scoreboard = this.player.getPlayer().getScoreboard();
-        Objective objective = scoreboard.getObjective(DisplaySlot.SIDEBAR);
+        Objective objective = this.player.getPlayer().getScoreboard().getObjective(DisplaySlot.SIDEBAR);
         if (objective == null) {
             return;
         }
 
-        Component title = this.player.resolve().resolveToComponent(this.template.getTitle());
-        objective.displayName(title);
+        this.updateScoreboard(objective, this.template.getTitleTemplate().resolve(this.player.resolve()), this.constructLines());
+    }
 
-        List<Component> lines = this.constructLines();
+    /**
+     * Updates the scoreboard, using the given title and lines where
+     * they have already been created for the whole competition, and
+     * reusing the lines of player scoped creators which are not dirty.
+     *
+     * @param sharedTitle the shared title, or null if it is resolved for this player
+     * @param titleDirty whether the title has to be resolved again
+     * @param sharedLines the shared lines of each line creator, with null
+     *                    entries for player scoped creators
+     * @param dirtyLines whether the lines of each line creator have to be created again
+     */
+    void updateScoreboard(@Nullable Component sharedTitle, boolean titleDirty, List<List<Component>> sharedLines, boolean[] dirtyLines) {
+        Objective objective = this.player.getPlayer().getScoreboard().getObjective(DisplaySlot.SIDEBAR);
+        if (objective == null) {
+            return;
+        }
+
+        Component title = sharedTitle;
+        if (title == null) {
+            title = titleDirty ? this.template.getTitleTemplate().resolve(this.player.resolve()) : this.lastTitle;
+        }
+
+        this.updateScoreboard(objective, title, this.constructLines(sharedLines, dirtyLines));
+    }
+
+    private void updateScoreboard(Objective objective, Component title, List<Component> lines) {
+        Scoreboard scoreboard = this.player.getPlayer().getScoreboard();
+        if (!title.equals(this.lastTitle)) {
+            objective.displayName(title);
+            this.lastTitle = title;
+        }
 
         // Line size has not changed - we can run a far more optimized update cycle
         if (this.lastLines.size() == lines.size()) {
@@ -143,9 +199,9 @@ public class ScoreboardHandler {
     }
 
     public void removeScoreboard() {
-        if (this.updateTask != null) {
-            this.updateTask.cancel();
-            this.updateTask = null;
+        if (this.competitionScoreboard != null) {
+            this.competitionScoreboard.removeViewer(this);
+            this.competitionScoreboard = null;
         }
 
         if (this.scoreboards.getConfig().shouldReplaceScoreboard() && this.previousScoreboard != null) {
@@ -0,0 +1,243 @@
+package org.battleplugins.arena.module.scoreboard;
+
+import org.battleplugins.arena.BattleArena;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives every {@link CompetitionScoreboard} from a single task.
+ * <p>
+ * Scoreboards are kept in buckets by refresh interval. Within a bucket,
+ * each scoreboard is assigned to the least used tick of the interval, so
+ * refreshes are spread evenly rather than all landing on the same tick.
+ * Each tick only spends up to the configured update budget; anything left
+ * over is continued on the next tick.
+ */
+public class ScoreboardScheduler {
+    private final Scoreboards scoreboards;
+
+    private final Map<Long, Bucket> buckets = new HashMap<>();
+    private final Set<CompetitionScoreboard> backlog = new LinkedHashSet<>();
+
+    private BukkitTask task;
+    private long tick;
+
+    private long totalTickTime;
+    private long lastTickTime;
+    private long maxTickTime;
+    private long refreshes;
+    private long viewerUpdates;
+    private long skippedUpdates;
+    private long deferredTicks;
+
+    ScoreboardScheduler(Scoreboards scoreboards) {
+        this.scoreboards = scoreboards;
+    }
+
+    void schedule(CompetitionScoreboard scoreboard) {
+        long interval = Math.max(1, scoreboard.getTemplate().getRefreshTime().toMillis() / 50);
+        this.buckets.computeIfAbsent(interval, Bucket::new).add(scoreboard);
+
+        if (this.task == null) {
+            this.task = Bukkit.getScheduler().runTaskTimer(BattleArena.getInstance(), this::tick, 0, 1);
+        }
+    }
+
+    void unschedule(CompetitionScoreboard scoreboard) {
+        this.backlog.remove(scoreboard);
+
+        Iterator<Bucket> iterator = this.buckets.values().iterator();
+        while (iterator.hasNext()) {
+            Bucket bucket = iterator.next();
+            if (bucket.remove(scoreboard) && bucket.isEmpty()) {
+                iterator.remove();
+            }
+        }
+
+        if (this.buckets.isEmpty() && this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    void recordViewerUpdate() {
+        this.viewerUpdates++;
+    }
+
+    void recordSkippedUpdates(int count) {
+        this.skippedUpdates += count;
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        long deadline = start + (long) (this.scoreboards.getConfig().getUpdateBudget() * TimeUnit.MILLISECONDS.toNanos(1));
+
+        // Scoreboards left over from previous ticks are continued first
+        for (Bucket bucket : this.buckets.values()) {
+            this.backlog.addAll(bucket.getDue(this.tick));
+        }
+
+        while (!this.backlog.isEmpty()) {
+            // Refreshing may unschedule scoreboards, so the backlog
+            // is not iterated directly
+            CompetitionScoreboard scoreboard = this.backlog.iterator().next();
+            if (!scoreboard.isRefreshing()) {
+                this.refreshes++;
+            }
+
+            if (!scoreboard.refresh(deadline)) {
+                this.deferredTicks++;
+                break;
+            }
+
+            this.backlog.remove(scoreboard);
+            if (System.nanoTime() >= deadline && !this.backlog.isEmpty()) {
+                this.deferredTicks++;
+                break;
+            }
+        }
+
+        this.tick++;
+
+        long elapsed = System.nanoTime() - start;
+        this.totalTickTime += elapsed;
+        this.lastTickTime = elapsed;
+        this.maxTickTime = Math.max(this.maxTickTime, elapsed);
+    }
+
+    /**
+     * Returns the total time spent updating scoreboards, in nanoseconds.
+     *
+     * @return the total time spent updating scoreboards
+     */
+    public long getTotalTickTime() {
+        return this.totalTickTime;
+    }
+
+    /**
+     * Returns the time spent updating scoreboards in the
+     * last tick, in nanoseconds.
+     *
+     * @return the time spent updating scoreboards in the last tick
+     */
+    public long getLastTickTime() {
+        return this.lastTickTime;
+    }
+
+    /**
+     * Returns the longest time spent updating scoreboards
+     * in a single tick, in nanoseconds.
+     *
+     * @return the longest time spent updating scoreboards in a tick
+     */
+    public long getMaxTickTime() {
+        return this.maxTickTime;
+    }
+
+    /**
+     * Returns the number of competition scoreboard refreshes
+     * which have been started.
+     *
+     * @return the number of refreshes
+     */
+    public long getRefreshes() {
+        return this.refreshes;
+    }
+
+    /**
+     * Returns the number of times a player's scoreboard was updated.
+     *
+     * @return the number of player scoreboard updates
+     */
+    public long getViewerUpdates() {
+        return this.viewerUpdates;
+    }
+
+    /**
+     * Returns the number of player scoreboard updates which were
+     * skipped because nothing they display had changed.
+     *
+     * @return the number of skipped player scoreboard updates
+     */
+    public long getSkippedUpdates() {
+        return this.skippedUpdates;
+    }
+
+    /**
+     * Returns the number of ticks which ran out of update
+     * budget and deferred work to the next tick.
+     *
+     * @return the number of ticks which deferred work
+     */
+    public long getDeferredTicks() {
+        return this.deferredTicks;
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public void resetCounters() {
+        this.totalTickTime = 0;
+        this.lastTickTime = 0;
+        this.maxTickTime = 0;
+        this.refreshes = 0;
+        this.viewerUpdates = 0;
+        this.skippedUpdates = 0;
+        this.deferredTicks = 0;
+    }
+
+    private static class Bucket {
+        private final List<Set<CompetitionScoreboard>> slots;
+        private final Map<CompetitionScoreboard, Integer> slotsByScoreboard = new HashMap<>();
+
+        Bucket(long interval) {
+            this.slots = new ArrayList<>((int) interval);
+            for (int i = 0; i < interval; i++) {
+                this.slots.add(new LinkedHashSet<>());
+            }
+        }
+
+        void add(CompetitionScoreboard scoreboard) {
+            if (this.slotsByScoreboard.containsKey(scoreboard)) {
+                return;
+            }
+
+            int slot = 0;
+            for (int i = 1; i < this.slots.size(); i++) {
+                if (this.slots.get(i).size() < this.slots.get(slot).size()) {
+                    slot = i;
+                }
+            }
+
+            this.slots.get(slot).add(scoreboard);
+            this.slotsByScoreboard.put(scoreboard, slot);
+        }
+
+        boolean remove(CompetitionScoreboard scoreboard) {
+            Integer slot = this.slotsByScoreboard.remove(scoreboard);
+            if (slot == null) {
+                return false;
+            }
+
+            this.slots.get(slot).remove(scoreboard);
+            return true;
+        }
+
+        boolean isEmpty() {
+            return this.slotsByScoreboard.isEmpty();
+        }
+
+        Set<CompetitionScoreboard> getDue(long tick) {
+            return this.slots.get((int) (tick % this.slots.size()));
+        }
+    }
+}
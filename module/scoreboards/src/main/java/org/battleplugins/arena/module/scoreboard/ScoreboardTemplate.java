@@ -4,7 +4,9 @@ import net.kyori.adventure.text.Component;
 import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.config.DocumentationSource;
 import org.battleplugins.arena.module.scoreboard.config.ScoreboardLineCreatorContextProvider;
+import org.battleplugins.arena.module.scoreboard.line.LineDependencies;
 import org.battleplugins.arena.module.scoreboard.line.ScoreboardLineCreator;
+import org.battleplugins.arena.resolver.ComponentTemplate;
 
 import java.time.Duration;
 import java.util.List;
@@ -26,15 +28,48 @@ public class ScoreboardTemplate {
     )
     private List<ScoreboardLineCreator> lines;
 
+    private List<ScoreboardLineCreator> lineCreators;
+    private ComponentTemplate titleTemplate;
+    private Boolean titlePlayerScoped;
+    private LineDependencies titleDependencies;
+
     public Component getTitle() {
         return this.title;
     }
 
+    public ComponentTemplate getTitleTemplate() {
+        if (this.titleTemplate == null) {
+            this.titleTemplate = ComponentTemplate.compile(this.title);
+        }
+
+        return this.titleTemplate;
+    }
+
+    public boolean isTitlePlayerScoped() {
+        if (this.titlePlayerScoped == null) {
+            this.titlePlayerScoped = ScoreboardLineCreator.isPlayerScoped(this.getTitleTemplate());
+        }
+
+        return this.titlePlayerScoped;
+    }
+
+    public LineDependencies getTitleDependencies() {
+        if (this.titleDependencies == null) {
+            this.titleDependencies = LineDependencies.of(List.of(this.getTitleTemplate()));
+        }
+
+        return this.titleDependencies;
+    }
+
     public Duration getRefreshTime() {
         return this.refreshTime;
     }
 
     public List<ScoreboardLineCreator> getLines() {
-        return List.copyOf(this.lines);
+        if (this.lineCreators == null) {
+            this.lineCreators = List.copyOf(this.lines);
+        }
+
+        return this.lineCreators;
     }
 }
@@ -1,11 +1,23 @@
 package org.battleplugins.arena.module.scoreboard;
 
+import org.battleplugins.arena.competition.Competition;
+import org.battleplugins.arena.competition.LiveCompetition;
 import org.battleplugins.arena.config.ArenaConfigParser;
 import org.battleplugins.arena.config.ParseException;
+import org.battleplugins.arena.event.ArenaEventHandler;
 import org.battleplugins.arena.event.ArenaListener;
 import org.battleplugins.arena.event.BattleArenaPostInitializeEvent;
 import org.battleplugins.arena.event.action.EventActionType;
 import org.battleplugins.arena.event.arena.ArenaInitializeEvent;
+import org.battleplugins.arena.event.arena.ArenaPhaseStartEvent;
+import org.battleplugins.arena.event.player.ArenaJoinEvent;
+import org.battleplugins.arena.event.player.ArenaLeaveEvent;
+import org.battleplugins.arena.event.player.ArenaLivesExhaustEvent;
+import org.battleplugins.arena.event.player.ArenaSpectateEvent;
+import org.battleplugins.arena.event.player.ArenaStatChangeEvent;
+import org.battleplugins.arena.event.player.ArenaStatsResetEvent;
+import org.battleplugins.arena.event.player.ArenaTeamJoinEvent;
+import org.battleplugins.arena.event.player.ArenaTeamLeaveEvent;
 import org.battleplugins.arena.module.ArenaModule;
 import org.battleplugins.arena.module.ArenaModuleContainer;
 import org.battleplugins.arena.module.ArenaModuleInitializer;
@@ -15,10 +27,14 @@ import org.battleplugins.arena.module.scoreboard.config.ScoreboardLineCreatorCon
 import org.bukkit.configuration.Configuration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * A module that adds scoreboards to the arena.
@@ -30,6 +46,10 @@ public class Scoreboards implements ArenaModuleInitializer, ArenaListener {
     public static final EventActionType<ApplyScoreboardAction> APPLY_SCOREBOARD_ACTION = EventActionType.create("apply-scoreboard", ApplyScoreboardAction.class, ApplyScoreboardAction::new);
     public static final EventActionType<RemoveScoreboardAction> REMOVE_SCOREBOARD_ACTION = EventActionType.create("remove-scoreboard", RemoveScoreboardAction.class, RemoveScoreboardAction::new);
 
+    private final Map<LiveCompetition<?>, Map<ScoreboardTemplate, CompetitionScoreboard>> competitionScoreboards = new HashMap<>();
+
+    private final ScoreboardScheduler scheduler = new ScoreboardScheduler(this);
+
     private ScoreboardsConfig config;
 
     public Scoreboards() {
@@ -74,7 +94,86 @@ public class Scoreboards implements ArenaModuleInitializer, ArenaListener {
         event.getArena().getEventManager().registerEvents(this);
     }
 
+    @ArenaEventHandler(priority = EventPriority.MONITOR)
+    public void onStatChange(ArenaStatChangeEvent<?> event) {
+        this.invalidate(event.getCompetition(), scoreboard -> scoreboard.invalidateStat(event.getStat()));
+    }
+
+    @ArenaEventHandler(priority = EventPriority.MONITOR)
+    public void onStatsReset(ArenaStatsResetEvent event) {
+        this.invalidate(event.getCompetition(), CompetitionScoreboard::invalidateStats);
+    }
+
+    @ArenaEventHandler(priority = EventPriority.MONITOR)
+    public void onPhaseStart(ArenaPhaseStartEvent event) {
+        this.invalidate(event.getCompetition(), CompetitionScoreboard::invalidatePhase);
+    }
+
+    @ArenaEventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(ArenaJoinEvent event) {
+        this.invalidate(event.getCompetition(), CompetitionScoreboard::invalidatePlayers);
+    }
+
+    @ArenaEventHandler(priority = EventPriority.MONITOR)
+    public void onLeave(ArenaLeaveEvent event) {
+        this.invalidate(event.getCompetition(), CompetitionScoreboard::invalidatePlayers);
+    }
+
+    @ArenaEventHandler(priority = EventPriority.MONITOR)
+    public void onSpectate(ArenaSpectateEvent event) {
+        this.invalidate(event.getCompetition(), CompetitionScoreboard::invalidatePlayers);
+    }
+
+    @ArenaEventHandler(priority = EventPriority.MONITOR)
+    public void onLivesExhaust(ArenaLivesExhaustEvent event) {
+        this.invalidate(event.getCompetition(), CompetitionScoreboard::invalidatePlayers);
+    }
+
+    @ArenaEventHandler(priority = EventPriority.MONITOR)
+    public void onTeamJoin(ArenaTeamJoinEvent event) {
+        this.invalidate(event.getCompetition(), CompetitionScoreboard::invalidatePlayers);
+    }
+
+    @ArenaEventHandler(priority = EventPriority.MONITOR)
+    public void onTeamLeave(ArenaTeamLeaveEvent event) {
+        this.invalidate(event.getCompetition(), CompetitionScoreboard::invalidatePlayers);
+    }
+
     public ScoreboardsConfig getConfig() {
         return this.config;
     }
+
+    /**
+     * Returns the {@link ScoreboardScheduler} which refreshes all
+     * scoreboards, and tracks the time spent doing so.
+     *
+     * @return the scoreboard scheduler
+     */
+    public ScoreboardScheduler getScheduler() {
+        return this.scheduler;
+    }
+
+    CompetitionScoreboard getCompetitionScoreboard(LiveCompetition<?> competition, ScoreboardTemplate template) {
+        return this.competitionScoreboards.computeIfAbsent(competition, k -> new HashMap<>())
+                .computeIfAbsent(template, k -> new CompetitionScoreboard(this, competition, template));
+    }
+
+    private void invalidate(Competition<?> competition, Consumer<CompetitionScoreboard> action) {
+        Map<ScoreboardTemplate, CompetitionScoreboard> scoreboards = this.competitionScoreboards.get(competition);
+        if (scoreboards != null) {
+            scoreboards.values().forEach(action);
+        }
+    }
+
+    void removeCompetitionScoreboard(CompetitionScoreboard scoreboard) {
+        Map<ScoreboardTemplate, CompetitionScoreboard> scoreboards = this.competitionScoreboards.get(scoreboard.getCompetition());
+        if (scoreboards == null) {
+            return;
+        }
+
+        scoreboards.remove(scoreboard.getTemplate(), scoreboard);
+        if (scoreboards.isEmpty()) {
+            this.competitionScoreboards.remove(scoreboard.getCompetition());
+        }
+    }
 }
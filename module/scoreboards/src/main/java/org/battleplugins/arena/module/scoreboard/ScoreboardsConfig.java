@@ -14,6 +14,9 @@ public class ScoreboardsConfig {
     @ArenaOption(name = "replace-scoreboard", description = "Whether to replace the scoreboard.", required = true)
     private boolean replaceScoreboard;
 
+    @ArenaOption(name = "update-budget", description = "The maximum number of milliseconds to spend updating scoreboards each tick.")
+    private double updateBudget = 2;
+
     public Map<String, ScoreboardTemplate> getTemplates() {
         return Map.copyOf(this.templates);
     }
@@ -21,4 +24,8 @@ public class ScoreboardsConfig {
     public boolean shouldReplaceScoreboard() {
         return this.replaceScoreboard;
     }
+
+    public double getUpdateBudget() {
+        return this.updateBudget;
+    }
 }
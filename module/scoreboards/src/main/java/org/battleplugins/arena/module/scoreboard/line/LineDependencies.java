@@ -0,0 +1,174 @@
+package org.battleplugins.arena.module.scoreboard.line;
+
+import org.battleplugins.arena.resolver.ComponentTemplate;
+import org.battleplugins.arena.resolver.ResolverKeys;
+import org.battleplugins.arena.stat.ArenaStat;
+import org.battleplugins.arena.stat.ArenaStats;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Describes what the lines of a {@link ScoreboardLineCreator} depend on,
+ * so they are only created again when one of their inputs has changed.
+ */
+public final class LineDependencies {
+
+    /**
+     * Lines which never change once created.
+     */
+    public static final LineDependencies NONE = new LineDependencies(false, false, false, Set.of());
+
+    /**
+     * Lines which may change at any time, and are created
+     * again on every refresh.
+     */
+    public static final LineDependencies CLOCK = new LineDependencies(true, false, false, Set.of());
+
+    private static final Set<String> STATIC_PLACEHOLDERS = Set.of(
+            ResolverKeys.ARENA.getPlaceholder(),
+            ResolverKeys.COMPETITION.getPlaceholder(),
+            ResolverKeys.MAP.getPlaceholder(),
+            ResolverKeys.MAX_PLAYERS.getPlaceholder(),
+            ResolverKeys.PLAYER.getPlaceholder()
+    );
+
+    private static final Set<String> PLAYER_PLACEHOLDERS = Set.of(
+            ResolverKeys.ALIVE_PLAYERS.getPlaceholder(),
+            ResolverKeys.ONLINE_PLAYERS.getPlaceholder(),
+            ResolverKeys.PLAYERS.getPlaceholder(),
+            ResolverKeys.SPECTATORS.getPlaceholder(),
+            ResolverKeys.TEAM.getPlaceholder()
+    );
+
+    private final boolean clock;
+    private final boolean players;
+    private final boolean phase;
+    private final Set<ArenaStat<?>> stats;
+
+    private LineDependencies(boolean clock, boolean players, boolean phase, Set<ArenaStat<?>> stats) {
+        this.clock = clock;
+        this.players = players;
+        this.phase = phase;
+        this.stats = stats;
+    }
+
+    /**
+     * Returns whether the lines change over time, and have to be
+     * created again on every refresh.
+     *
+     * @return whether the lines change over time
+     */
+    public boolean isClock() {
+        return this.clock;
+    }
+
+    /**
+     * Returns whether the lines depend on the players in the
+     * competition, their roles or their teams.
+     *
+     * @return whether the lines depend on the players
+     */
+    public boolean isPlayers() {
+        return this.players;
+    }
+
+    /**
+     * Returns whether the lines depend on the current phase.
+     *
+     * @return whether the lines depend on the current phase
+     */
+    public boolean isPhase() {
+        return this.phase;
+    }
+
+    /**
+     * Returns the stats the lines depend on.
+     *
+     * @return the stats the lines depend on
+     */
+    public Set<ArenaStat<?>> getStats() {
+        return this.stats;
+    }
+
+    /**
+     * Returns whether the given stat is one the lines depend on.
+     *
+     * @param stat the stat
+     * @return whether the lines depend on the stat
+     */
+    public boolean dependsOn(ArenaStat<?> stat) {
+        return this.stats.contains(stat);
+    }
+
+    /**
+     * Creates dependencies on the given inputs.
+     *
+     * @param players whether the lines depend on the players
+     * @param phase whether the lines depend on the current phase
+     * @param stats the stats the lines depend on
+     * @return the dependencies
+     */
+    public static LineDependencies of(boolean players, boolean phase, Collection<? extends ArenaStat<?>> stats) {
+        return new LineDependencies(false, players, phase, Set.copyOf(stats));
+    }
+
+    /**
+     * Derives the dependencies of the given templates from the
+     * placeholders they contain. Placeholders which are not known
+     * to only change on an event, such as the remaining time, make
+     * the lines depend on the {@link #CLOCK clock}.
+     *
+     * @param templates the templates
+     * @return the dependencies of the templates
+     */
+    public static LineDependencies of(Collection<ComponentTemplate> templates) {
+        boolean players = false;
+        boolean phase = false;
+        Set<ArenaStat<?>> stats = new HashSet<>();
+        for (ComponentTemplate template : templates) {
+            for (String placeholder : template.getPlaceholders()) {
+                if (STATIC_PLACEHOLDERS.contains(placeholder)) {
+                    continue;
+                }
+
+                if (PLAYER_PLACEHOLDERS.contains(placeholder)) {
+                    players = true;
+                    continue;
+                }
+
+                if (placeholder.equals(ResolverKeys.PHASE.getPlaceholder())) {
+                    phase = true;
+                    continue;
+                }
+
+                if (placeholder.equals(ResolverKeys.LIVES_LEFT.getPlaceholder())) {
+                    stats.add(ArenaStats.LIVES);
+                    continue;
+                }
+
+                ArenaStat<?> stat = getStat(placeholder);
+                if (stat == null) {
+                    return CLOCK;
+                }
+
+                stats.add(stat);
+            }
+        }
+
+        return of(players, phase, stats);
+    }
+
+    @Nullable
+    private static ArenaStat<?> getStat(String placeholder) {
+        for (ArenaStat<?> stat : ArenaStats.values()) {
+            if (placeholder.equals(ResolverKeys.stat(stat).getPlaceholder())) {
+                return stat;
+            }
+        }
+
+        return null;
+    }
+}
@@ -4,6 +4,7 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextColor;
 import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.competition.LiveCompetition;
 import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.options.Lives;
 import org.battleplugins.arena.stat.ArenaStats;
@@ -25,8 +26,27 @@ public class PlayerListLineCreator implements ScoreboardLineCreator {
 
     @Override
     public List<Component> createLines(ArenaPlayer player) {
+        return this.createLines(player.getCompetition());
+    }
+
+    @Override
+    public boolean isCompetitionScoped() {
+        return true;
+    }
+
+    @Override
+    public LineDependencies getDependencies() {
+        if (this.requireAlive) {
+            return LineDependencies.of(true, false, List.of(ArenaStats.DEATHS, ArenaStats.LIVES));
+        }
+
+        return LineDependencies.of(true, false, List.of());
+    }
+
+    @Override
+    public List<Component> createLines(LiveCompetition<?> competition) {
         List<Component> lines = new ArrayList<>(this.maxEntries);
-        List<ArenaPlayer> players = player.getCompetition().getPlayers()
+        List<ArenaPlayer> players = competition.getPlayers()
                 .stream()
                 .limit(this.maxEntries)
                 .toList();
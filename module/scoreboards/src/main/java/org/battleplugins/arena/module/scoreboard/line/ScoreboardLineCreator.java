@@ -2,6 +2,11 @@ package org.battleplugins.arena.module.scoreboard.line;
 
 import net.kyori.adventure.text.Component;
 import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.competition.LiveCompetition;
+import org.battleplugins.arena.resolver.ComponentTemplate;
+import org.battleplugins.arena.resolver.ResolverKeys;
+import org.battleplugins.arena.stat.ArenaStat;
+import org.battleplugins.arena.stat.ArenaStats;
 
 import java.util.List;
 import java.util.Map;
@@ -15,4 +20,68 @@ public interface ScoreboardLineCreator {
     );
 
     List<Component> createLines(ArenaPlayer player);
+
+    /**
+     * Returns whether the lines of this creator are the same for
+     * every player in a competition. Competition scoped lines are
+     * created once per refresh through {@link #createLines(LiveCompetition)}
+     * and shared between all players viewing the scoreboard.
+     *
+     * @return whether the lines of this creator are competition scoped
+     */
+    default boolean isCompetitionScoped() {
+        return false;
+    }
+
+    /**
+     * Creates the lines shared by every player in the competition.
+     * Only called if this creator is {@link #isCompetitionScoped() competition scoped}.
+     * <p>
+     * By default, the lines are created for any one of the players
+     * in the competition, since they are the same for all of them.
+     *
+     * @param competition the competition to create the lines for
+     * @return the lines shared by every player in the competition
+     */
+    default List<Component> createLines(LiveCompetition<?> competition) {
+        for (ArenaPlayer player : competition.getPlayers()) {
+            return this.createLines(player);
+        }
+
+        return List.of();
+    }
+
+    /**
+     * Returns what the lines of this creator depend on. Lines are only
+     * created again once one of their dependencies has changed, so creators
+     * which cannot tell should depend on the {@link LineDependencies#CLOCK clock}.
+     *
+     * @return the dependencies of the lines of this creator
+     */
+    default LineDependencies getDependencies() {
+        return LineDependencies.CLOCK;
+    }
+
+    /**
+     * Returns whether the given template contains any placeholders
+     * which resolve differently for each player.
+     *
+     * @param template the template to check
+     * @return whether the template contains player specific placeholders
+     */
+    static boolean isPlayerScoped(ComponentTemplate template) {
+        for (String placeholder : template.getPlaceholders()) {
+            if (placeholder.equals(ResolverKeys.PLAYER.getPlaceholder()) || placeholder.equals(ResolverKeys.TEAM.getPlaceholder())) {
+                return true;
+            }
+
+            for (ArenaStat<?> stat : ArenaStats.values()) {
+                if (placeholder.equals(ResolverKeys.stat(stat).getPlaceholder())) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
 }
@@ -2,8 +2,12 @@ package org.battleplugins.arena.module.scoreboard.line;
 
 import net.kyori.adventure.text.Component;
 import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.competition.LiveCompetition;
 import org.battleplugins.arena.config.ArenaOption;
+import org.battleplugins.arena.resolver.ComponentTemplate;
+import org.battleplugins.arena.resolver.Resolver;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class SimpleLineCreator implements ScoreboardLineCreator {
@@ -11,10 +15,53 @@ public class SimpleLineCreator implements ScoreboardLineCreator {
     @ArenaOption(name = "lines", description = "The lines to display on the scoreboard.", required = true)
     private List<Component> lines;
 
+    private List<ComponentTemplate> templates;
+    private boolean competitionScoped;
+    private LineDependencies dependencies;
+
     @Override
     public List<Component> createLines(ArenaPlayer player) {
-        return this.lines.stream()
-                .map(player.resolve()::resolveToComponent)
+        return this.createLines(player.resolve());
+    }
+
+    @Override
+    public boolean isCompetitionScoped() {
+        this.compile();
+        return this.competitionScoped;
+    }
+
+    @Override
+    public LineDependencies getDependencies() {
+        this.compile();
+        return this.dependencies;
+    }
+
+    @Override
+    public List<Component> createLines(LiveCompetition<?> competition) {
+        return this.createLines(competition.resolve());
+    }
+
+    private List<Component> createLines(Resolver resolver) {
+        this.compile();
+
+        List<Component> lines = new ArrayList<>(this.templates.size());
+        for (ComponentTemplate template : this.templates) {
+            lines.add(template.resolve(resolver));
+        }
+
+        return lines;
+    }
+
+    private void compile() {
+        if (this.templates != null) {
+            return;
+        }
+
+        this.templates = this.lines.stream()
+                .map(ComponentTemplate::compile)
                 .toList();
+
+        this.competitionScoped = this.templates.stream().noneMatch(ScoreboardLineCreator::isPlayerScoped);
+        this.dependencies = LineDependencies.of(this.templates);
     }
 }
@@ -5,9 +5,11 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextColor;
 import org.battleplugins.arena.ArenaPlayer;
 import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.competition.LiveCompetition;
 import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.stat.ArenaStat;
 import org.battleplugins.arena.stat.ArenaStats;
+import org.battleplugins.arena.stat.StatLeaderboard;
 import org.battleplugins.arena.util.Version;
 
 import java.awt.Color;
@@ -31,9 +33,25 @@ public class TopStatLineCreator implements ScoreboardLineCreator {
     @ArenaOption(name = "show-team-color", description = "Whether to show the team color of the player.")
     private boolean showTeamColor = true;
 
-    @SuppressWarnings("unchecked")
     @Override
     public List<Component> createLines(ArenaPlayer player) {
+        return this.createLines(player.getCompetition());
+    }
+
+    @Override
+    public boolean isCompetitionScoped() {
+        return true;
+    }
+
+    @Override
+    public LineDependencies getDependencies() {
+        ArenaStat<?> stat = ArenaStats.get(this.stat);
+        return stat == null ? LineDependencies.NONE : LineDependencies.of(true, false, List.of(stat));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<Component> createLines(LiveCompetition<?> competition) {
         ArenaStat<?> stat = ArenaStats.get(this.stat);
         if (stat == null) {
             return List.of();
@@ -44,18 +62,14 @@ public class TopStatLineCreator implements ScoreboardLineCreator {
             return List.of();
         }
 
-        List<Component> lines = new ArrayList<>(this.maxEntries);
-        List<ArenaPlayer> players = player.getCompetition().getPlayers()
-                .stream()
-                .sorted((player1, player2) -> {
-                    int value1 = statOrDefault(player1, (ArenaStat<Number>) stat).intValue();
-                    int value2 = statOrDefault(player2, (ArenaStat<Number>) stat).intValue();
-                    return this.ascending ? Integer.compare(value1, value2) : Integer.compare(value2, value1);
-                })
-                .limit(this.maxEntries)
-                .toList();
-
-        for (ArenaPlayer arenaPlayer : players) {
+        // The leaderboard is kept ordered as stats change, so no sorting is needed here
+        List<StatLeaderboard.Entry> entries = competition.getLeaderboards()
+                .get((ArenaStat<Number>) stat)
+                .getTop(this.maxEntries, this.ascending);
+
+        List<Component> lines = new ArrayList<>(entries.size());
+        for (StatLeaderboard.Entry entry : entries) {
+            ArenaPlayer arenaPlayer = entry.getPlayer();
             Component component = Component.text(arenaPlayer.getPlayer().getName());
             if (this.showTeamColor && arenaPlayer.getTeam() != null) {
                 TextColor color = arenaPlayer.getTeam().getTextColor();
@@ -68,13 +82,9 @@ public class TopStatLineCreator implements ScoreboardLineCreator {
             }
 
             TextColor statColor = this.color == null ? NamedTextColor.WHITE : TextColor.color(this.color.getRGB());
-            lines.add(Component.text("(" + statOrDefault(arenaPlayer, (ArenaStat<Number>) stat) + ") ", statColor).append(component));
+            lines.add(Component.text("(" + entry.getValue() + ") ", statColor).append(component));
         }
 
         return lines;
     }
-
-    private static Number statOrDefault(ArenaPlayer player, ArenaStat<Number> stat) {
-        return player.stat(stat).orElse(stat.getDefaultValue());
-    }
 }
@@ -5,6 +5,7 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextColor;
 import org.battleplugins.arena.ArenaPlayer;
 import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.competition.LiveCompetition;
 import org.battleplugins.arena.competition.team.TeamManager;
 import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.stat.ArenaStat;
@@ -32,9 +33,25 @@ public class TopTeamStatLineCreator implements ScoreboardLineCreator {
     @ArenaOption(name = "ascending", description = "Whether to display the stat in ascending order.")
     private boolean ascending;
 
-    @SuppressWarnings("unchecked")
     @Override
     public List<Component> createLines(ArenaPlayer player) {
+        return this.createLines(player.getCompetition());
+    }
+
+    @Override
+    public boolean isCompetitionScoped() {
+        return true;
+    }
+
+    @Override
+    public LineDependencies getDependencies() {
+        ArenaStat<?> stat = ArenaStats.get(this.stat);
+        return stat == null ? LineDependencies.NONE : LineDependencies.of(true, false, List.of(stat));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<Component> createLines(LiveCompetition<?> competition) {
         ArenaStat<?> stat = ArenaStats.get(this.stat);
         if (stat == null) {
             return List.of();
@@ -46,7 +63,7 @@ public class TopTeamStatLineCreator implements ScoreboardLineCreator {
         }
 
         List<Component> lines = new ArrayList<>(this.maxEntries);
-        TeamManager teamManager = player.getCompetition().getTeamManager();
+        TeamManager teamManager = competition.getTeamManager();
         List<ArenaTeam> teams = teamManager.getTeams()
                 .stream()
                 .sorted((team1, team2) -> {
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import static org.battleplugins.arena.module.tournaments.TournamentMessages.NEXT_ROUND_STARTING;
@@ -262,17 +263,62 @@ public class Tournament {
                 throw new TournamentException(TOURNAMENT_NOT_ENOUGH_ARENAS);
             }
 
+            List<CompletableFuture<LiveCompetition<?>>> futures = new ArrayList<>(requiredCompetitions);
             for (int i = 0; i < requiredCompetitions; i++) {
                 // Now just walk through the dynamic maps and allocate them
                 LiveCompetitionMap map = dynamicMaps.get(i % dynamicMaps.size());
 
-                Competition<?> competition = map.createDynamicCompetition(this.arena);
-                this.arena.getPlugin().addCompetition(this.arena, competition);
+                // A map which failed to copy is left out, rather than holding up the whole round
+                futures.add(map.createDynamicCompetitionAsync(this.arena).handle((competition, e) -> {
+                    if (e != null) {
+                        this.arena.getPlugin().error("Failed to create dynamic competition for map {} in arena {}!", map.getName(), this.arena.getName(), e);
+                        return null;
+                    }
 
-                allocatedCompetitions.add(competition);
+                    return competition;
+                }));
             }
+
+            // Start the round once every map has been copied
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenRun(() -> {
+                List<LiveCompetition<?>> createdCompetitions = new ArrayList<>(futures.size());
+                for (CompletableFuture<LiveCompetition<?>> future : futures) {
+                    LiveCompetition<?> competition = future.join();
+                    if (competition == null) {
+                        continue;
+                    }
+
+                    this.arena.getPlugin().addCompetition(this.arena, competition);
+                    allocatedCompetitions.add(competition);
+                    createdCompetitions.add(competition);
+                }
+
+                if (allocatedCompetitions.size() < mapsNeeded) {
+                    this.arena.getPlugin().warn("Failed to create enough dynamic competitions for tournament in arena {}!", this.arena.getName());
+
+                    // Nobody is going to play on the maps which were copied
+                    for (LiveCompetition<?> competition : createdCompetitions) {
+                        this.arena.getPlugin().removeCompetition(this.arena, competition);
+                    }
+
+                    for (Player watchingPlayer : this.watchingPlayers) {
+                        TOURNAMENT_NOT_ENOUGH_ARENAS.send(watchingPlayer);
+                    }
+
+                    this.finish(null);
+                    return;
+                }
+
+                this.startRound(result, contestantPairs, allocatedCompetitions);
+            });
+
+            return;
         }
 
+        this.startRound(result, contestantPairs, allocatedCompetitions);
+    }
+
+    private void startRound(TournamentCalculator.MatchResult result, List<ContestantPair> contestantPairs, List<Competition<?>> allocatedCompetitions) {
         // Teleport players to arenas
         int i = 0;
         for (ContestantPair pair : result.contestantPairs()) {
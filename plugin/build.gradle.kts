@@ -3,6 +3,7 @@ plugins {
     id("xyz.jpenilla.run-paper") version "2.3.0"
     id("com.modrinth.minotaur") version "2.+"
     id("com.github.johnrengelman.shadow") version "8.1.1"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 val supportedVersions = listOf("1.19.4", "1.20", "1.20.1", "1.20.2", "1.20.3", "1.20.4", "1.20.5", "1.20.6", "1.21")
@@ -15,6 +16,9 @@ dependencies {
     implementation(libs.bstats.bukkit)
     compileOnlyApi(libs.paper.api)
     compileOnly(libs.worldedit)
+
+    // Benchmarks run outside a server, so they need the API at runtime
+    jmh(libs.paper.api)
 }
 
 java {
@@ -22,6 +26,10 @@ java {
     withSourcesJar()
 }
 
+jmh {
+    jmhVersion.set("1.37")
+}
+
 tasks {
     runServer {
         dependsOn("bundledJar")
@@ -0,0 +1,126 @@
+package org.battleplugins.arena.event;
+
+import org.battleplugins.arena.competition.Competition;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares calling {@link ArenaEventHandler} methods through an
+ * {@link ArenaEventInvoker} against calling them through reflection,
+ * as the event manager did before invokers were introduced.
+ * <p>
+ * Only the {@code (Event)} and {@code (Event, Competition)} signatures
+ * are compared, as the {@link org.battleplugins.arena.ArenaPlayer}
+ * signatures need a running server to look up the player.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArenaEventInvokerBenchmark {
+    private final BenchmarkEvent event = new BenchmarkEvent();
+
+    private BenchmarkListener listener;
+
+    private Method eventMethod;
+    private Method competitionMethod;
+
+    private ArenaEventInvoker eventInvoker;
+    private ArenaEventInvoker competitionInvoker;
+
+    @Setup
+    public void setup(Blackhole blackhole) throws ReflectiveOperationException {
+        this.listener = new BenchmarkListener(blackhole);
+
+        this.eventMethod = BenchmarkListener.class.getDeclaredMethod("onEvent", BenchmarkEvent.class);
+        this.eventMethod.setAccessible(true);
+
+        this.competitionMethod = BenchmarkListener.class.getDeclaredMethod("onEventCompetition", BenchmarkEvent.class, Competition.class);
+        this.competitionMethod.setAccessible(true);
+
+        this.eventInvoker = ArenaEventInvoker.event(this.listener, this.eventMethod);
+        this.competitionInvoker = ArenaEventInvoker.eventCompetition(this.listener, this.competitionMethod);
+    }
+
+    @Benchmark
+    public void reflectionEvent() throws ReflectiveOperationException {
+        invokeReflectively(this.eventMethod, this.listener, this.event, null);
+    }
+
+    @Benchmark
+    public void invokerEvent() throws Throwable {
+        this.eventInvoker.invoke(this.event, null);
+    }
+
+    @Benchmark
+    public void reflectionEventCompetition() throws ReflectiveOperationException {
+        invokeReflectively(this.competitionMethod, this.listener, this.event, null);
+    }
+
+    @Benchmark
+    public void invokerEventCompetition() throws Throwable {
+        this.competitionInvoker.invoke(this.event, null);
+    }
+
+    private static void invokeReflectively(Method method, ArenaListener listener, Event event, Competition<?> competition) throws ReflectiveOperationException {
+        // Mirrors the parameter inspection done for every event before invokers
+        if (method.getParameterCount() == 1) {
+            method.invoke(listener, event);
+        } else if (method.getParameterCount() == 2) {
+            Class<?> parameterType = method.getParameterTypes()[1];
+            if (Competition.class.isAssignableFrom(parameterType)) {
+                method.invoke(listener, event, competition);
+            }
+        }
+    }
+
+    public static class BenchmarkListener implements ArenaListener {
+        private final Blackhole blackhole;
+
+        public BenchmarkListener(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @ArenaEventHandler
+        public void onEvent(BenchmarkEvent event) {
+            this.blackhole.consume(event);
+        }
+
+        @ArenaEventHandler
+        public void onEventCompetition(BenchmarkEvent event, Competition<?> competition) {
+            this.blackhole.consume(event);
+            this.blackhole.consume(competition);
+        }
+    }
+
+    public static class BenchmarkEvent extends Event {
+        private final static HandlerList HANDLERS = new HandlerList();
+
+        @NotNull
+        @Override
+        public HandlerList getHandlers() {
+            return HANDLERS;
+        }
+
+        public static HandlerList getHandlerList() {
+            return HANDLERS;
+        }
+    }
+}
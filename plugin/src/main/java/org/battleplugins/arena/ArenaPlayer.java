@@ -3,17 +3,19 @@ package org.battleplugins.arena;
 import org.battleplugins.arena.competition.LiveCompetition;
 import org.battleplugins.arena.competition.PlayerRole;
 import org.battleplugins.arena.competition.PlayerStorage;
-import org.battleplugins.arena.event.player.ArenaStatChangeEvent;
+import org.battleplugins.arena.event.player.ArenaStatsResetEvent;
 import org.battleplugins.arena.event.player.ArenaTeamJoinEvent;
 import org.battleplugins.arena.event.player.ArenaTeamLeaveEvent;
 import org.battleplugins.arena.resolver.Resolvable;
 import org.battleplugins.arena.resolver.Resolver;
 import org.battleplugins.arena.resolver.ResolverKey;
 import org.battleplugins.arena.resolver.ResolverKeys;
+import org.battleplugins.arena.resolver.ResolverLookup;
 import org.battleplugins.arena.resolver.ResolverProvider;
 import org.battleplugins.arena.stat.ArenaStat;
-import org.battleplugins.arena.stat.ArenaStats;
 import org.battleplugins.arena.stat.StatHolder;
+import org.battleplugins.arena.stat.StatValues;
+import org.battleplugins.arena.stat.store.StatStore;
 import org.battleplugins.arena.team.ArenaTeam;
 import org.bukkit.entity.Player;
 import org.bukkit.metadata.FixedMetadataValue;
@@ -36,10 +38,12 @@ public class ArenaPlayer implements StatHolder, Resolvable {
 
     private final PlayerStorage storage;
 
-    private final Map<ArenaStat<?>, Object> stats = new HashMap<>();
+    private final StatValues stats = new StatValues(true);
+    private final ResolverLookup statLookup = new StatLookup();
     private final Map<Class<?>, Object> metadata = new HashMap<>();
 
     private PlayerRole role;
+    private boolean statsRecorded;
 
     @Nullable
     private ArenaTeam team;
@@ -51,11 +55,6 @@ public class ArenaPlayer implements StatHolder, Resolvable {
         this.storage = new PlayerStorage(this);
 
         this.setMetadata();
-
-        // Register default stats
-        for (ArenaStat<?> stat : ArenaStats.values()) {
-            this.stats.put(stat, stat.getDefaultValue());
-        }
     }
 
     /**
@@ -192,7 +191,7 @@ public class ArenaPlayer implements StatHolder, Resolvable {
     @Override
     @Nullable
     public <T> T getStat(ArenaStat<T> stat) {
-        return (T) this.stats.get(stat);
+        return this.stats.get(stat);
     }
 
     /**
@@ -215,18 +214,15 @@ public class ArenaPlayer implements StatHolder, Resolvable {
      * @param <T> the type of the stat
      */
     @Override
-    @SuppressWarnings("unchecked")
     public <T> void computeStat(ArenaStat<T> stat, Function<? super T, ? extends T> computeFunction) {
-        this.stats.compute(stat, (key, oldValue) -> {
-            T newValue = computeFunction.apply((T) oldValue);
-            return this.statChange(stat, (T) oldValue, newValue);
-        });
+        T oldValue = this.stats.get(stat);
+        T newValue = computeFunction.apply(oldValue);
+        this.stats.set(stat, this.statChange(stat, oldValue, newValue));
+        this.competition.getLeaderboards().update(this, stat);
     }
 
     private <T> T statChange(ArenaStat<T> stat, T oldValue, T newValue) {
-        ArenaStatChangeEvent<T> event = new ArenaStatChangeEvent<>(this.competition, this, stat, oldValue, newValue);
-        this.arena.getEventManager().callEvent(event);
-        return event.getNewValue();
+        return this.competition.getStatChangeDispatcher().statChange(this, stat, oldValue, newValue);
     }
 
     /**
@@ -275,12 +271,32 @@ public class ArenaPlayer implements StatHolder, Resolvable {
         this.metadata.remove(metadataClass);
     }
 
+    /**
+     * Records the stats this player has gained in the {@link StatStore}.
+     * <p>
+     * Stats are only recorded once until they are reset, so a player
+     * whose state is reset when leaving does not have their stats
+     * recorded twice.
+     */
+    public void recordStats() {
+        StatStore store = this.arena.getPlugin().getStatStore();
+        if (store == null || this.statsRecorded) {
+            return;
+        }
+
+        store.recordStats(this);
+        this.statsRecorded = true;
+    }
+
     /**
      * Resets the state of this player.
      */
     public void resetState() {
-        // TODO: Save stats in a remote location (BattleTracker)
+        this.recordStats();
         this.stats.clear();
+        this.statsRecorded = false;
+        this.competition.getLeaderboards().update(this);
+        new ArenaStatsResetEvent(this).callEvent();
 
         this.competition.getTeamManager().leaveTeam(this);
         this.competition.findAndJoinTeamIfApplicable(this);
@@ -294,17 +310,16 @@ public class ArenaPlayer implements StatHolder, Resolvable {
 
     @Override
     public Resolver resolve() {
-        Resolver.Builder builder = this.competition.resolve().toBuilder()
+        Resolver.Builder builder = Resolver.builder()
+                .inherit(this.competition)
                 .define(ResolverKeys.PLAYER, ResolverProvider.simple(this, this.player::getName));
 
         if (this.team != null) {
             builder.define(ResolverKeys.TEAM, ResolverProvider.simple(this.team, ArenaTeam::getName, ArenaTeam::getFormattedName));
         }
 
-        for (Map.Entry<ArenaStat<?>, Object> entry : this.stats.entrySet()) {
-            ResolverKey<Object> statKey = ResolverKey.create("stat_" + entry.getKey().getKey(), Object.class);
-            builder.define(statKey, ResolverProvider.simple(entry.getValue(), String::valueOf));
-        }
+        // Stats are looked up on demand rather than defined up front
+        builder.lookup(this.statLookup);
 
         return builder.build();
     }
@@ -341,4 +356,31 @@ public class ArenaPlayer implements StatHolder, Resolvable {
 
         return (ArenaPlayer) player.getMetadata(ARENA_PLAYER_META_KEY).get(0).value();
     }
+
+    private class StatLookup implements ResolverLookup {
+
+        @Nullable
+        @Override
+        public ResolverProvider<?> lookup(ResolverKey<?> key) {
+            return this.provider(ResolverKeys.getStat(key));
+        }
+
+        @Nullable
+        @Override
+        public ResolverProvider<?> lookup(String placeholder) {
+            return this.provider(ResolverKeys.getStat(placeholder));
+        }
+
+        @Nullable
+        private ResolverProvider<?> provider(@Nullable ArenaStat<?> stat) {
+            // Only stats which have been set are exposed, matching
+            // the values visited by StatValues#forEach
+            if (stat == null || !ArenaPlayer.this.stats.isSet(stat)) {
+                return null;
+            }
+
+            Object value = ArenaPlayer.this.stats.get(stat);
+            return ResolverProvider.simple(value, String::valueOf);
+        }
+    }
 }
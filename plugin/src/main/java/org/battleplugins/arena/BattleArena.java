@@ -6,12 +6,16 @@ import org.battleplugins.arena.competition.Competition;
 import org.battleplugins.arena.competition.CompetitionManager;
 import org.battleplugins.arena.competition.CompetitionResult;
 import org.battleplugins.arena.competition.CompetitionType;
+import org.battleplugins.arena.competition.Matchmaker;
 import org.battleplugins.arena.competition.PlayerRole;
 import org.battleplugins.arena.competition.event.EventOptions;
 import org.battleplugins.arena.competition.event.EventScheduler;
 import org.battleplugins.arena.competition.event.EventType;
+import org.battleplugins.arena.competition.map.DynamicMapAllocation;
 import org.battleplugins.arena.competition.map.LiveCompetitionMap;
 import org.battleplugins.arena.competition.map.MapType;
+import org.battleplugins.arena.competition.map.PlotAllocator;
+import org.battleplugins.arena.competition.map.WorldDeletionService;
 import org.battleplugins.arena.config.ArenaConfigParser;
 import org.battleplugins.arena.config.ParseException;
 import org.battleplugins.arena.event.BattleArenaPreInitializeEvent;
@@ -22,8 +26,11 @@ import org.battleplugins.arena.messages.MessageLoader;
 import org.battleplugins.arena.module.ArenaModuleContainer;
 import org.battleplugins.arena.module.ArenaModuleLoader;
 import org.battleplugins.arena.module.ModuleLoadException;
+import org.battleplugins.arena.stat.store.StatStore;
+import org.battleplugins.arena.stat.store.StatStoreListener;
 import org.battleplugins.arena.team.ArenaTeams;
 import org.battleplugins.arena.util.CommandInjector;
+import org.battleplugins.arena.util.InventoryBackupWriter;
 import org.battleplugins.arena.util.LoggerHolder;
 import org.battleplugins.arena.util.Util;
 import org.battleplugins.arena.util.Version;
@@ -44,7 +51,6 @@ import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -70,11 +76,16 @@ public class BattleArena extends JavaPlugin implements LoggerHolder {
     private final Map<String, ArenaLoader> arenaLoaders = new HashMap<>();
 
     private final CompetitionManager competitionManager = new CompetitionManager(this);
+    private final Matchmaker matchmaker = new Matchmaker(this, this.competitionManager);
+    private final PlotAllocator plotAllocator = new PlotAllocator(this);
     private final EventScheduler eventScheduler = new EventScheduler();
 
     private BattleArenaConfig config;
     private ArenaModuleLoader moduleLoader;
     private ArenaTeams teams;
+    private StatStore statStore;
+    private WorldDeletionService worldDeletionService;
+    private InventoryBackupWriter inventoryBackupWriter;
 
     private Path arenasPath;
 
@@ -109,6 +120,20 @@ public class BattleArena extends JavaPlugin implements LoggerHolder {
     @Override
     public void onEnable() {
         Bukkit.getPluginManager().registerEvents(new BattleArenaListener(this), this);
+        Bukkit.getPluginManager().registerEvents(this.competitionManager, this);
+        Bukkit.getPluginManager().registerEvents(this.matchmaker, this);
+
+        // Delete the worlds of dynamic maps in the background
+        this.worldDeletionService = new WorldDeletionService(this.getDataFolder().toPath().resolve("world-tombstones.txt"), this);
+
+        // Persist player stats across competitions
+        if (this.config.isPersistStats()) {
+            this.statStore = new StatStore(this.getDataFolder().toPath().resolve("stats"), this);
+            Bukkit.getPluginManager().registerEvents(new StatStoreListener(this.statStore), this);
+        }
+
+        // Write inventory backups in the background
+        this.inventoryBackupWriter = new InventoryBackupWriter(this.getBackupPath("inventory"), this);
 
         // Register default arenas
         this.registerArena(this, "Arena", Arena.class);
@@ -174,15 +199,42 @@ public class BattleArena extends JavaPlugin implements LoggerHolder {
         new BattleArenaShutdownEvent(this).callEvent();
 
         this.disable();
+
+        // Close after competitions have completed, so their stats are saved
+        if (this.statStore != null) {
+            this.statStore.close();
+            this.statStore = null;
+        }
+
+        // Close after dynamic maps have been cleared, so their worlds are deleted
+        if (this.worldDeletionService != null) {
+            this.worldDeletionService.close();
+            this.worldDeletionService = null;
+        }
+
+        // Backups taken from here on are written on the main thread, so
+        // the writer is kept around rather than cleared
+        if (this.inventoryBackupWriter != null) {
+            this.inventoryBackupWriter.close();
+        }
     }
 
     private void disable() {
+        // Nobody left in a queue should be placed into a competition
+        this.matchmaker.clear();
+
         // Close all active competitions
         this.competitionManager.completeAllActiveCompetitions();
 
         // Stop all scheduled events
         this.eventScheduler.stopAllEvents();
 
+        // Unload dynamic maps which were kept ready
+        this.competitionManager.clearDynamicMapPool();
+
+        // Unload the shared worlds of dynamic map plots
+        this.plotAllocator.clear();
+
         // Clear dynamic maps
         this.clearDynamicMaps();
 
@@ -222,6 +274,14 @@ public class BattleArena extends JavaPlugin implements LoggerHolder {
             }
         }
 
+        // Create the shared world for dynamic map plots ahead of time
+        if (this.config.getDynamicMapAllocation() == DynamicMapAllocation.PLOT) {
+            this.plotAllocator.prepare();
+        }
+
+        // Start copying dynamic maps ahead of time
+        this.competitionManager.refillDynamicMapPool();
+
         // Initialize events
         for (Map.Entry<String, List<EventOptions>> entry : this.config.getEvents().entrySet()) {
             Arena arena = this.getArena(entry.getKey());
@@ -416,6 +476,7 @@ public class BattleArena extends JavaPlugin implements LoggerHolder {
 
         // Now remove the map from the file system
         Path mapPath = arena.getMapPath().resolve(map.getName().toLowerCase(Locale.ROOT) + ".yml");
+        map.invalidateSnapshot();
         try {
             Files.deleteIfExists(mapPath);
         } catch (IOException e) {
@@ -472,6 +533,20 @@ public class BattleArena extends JavaPlugin implements LoggerHolder {
         return this.competitionManager.findJoinableCompetition(competitions, player, role);
     }
 
+    /**
+     * Finds a joinable {@link Competition} in the given {@link Arena} for
+     * the given {@link Player} and {@link PlayerRole}.
+     *
+     * @param arena the arena to find the competition in
+     * @param map the name of the map, or null for any map
+     * @param player the player to find the competition for
+     * @param role the role of the player
+     * @return the competition result
+     */
+    public CompletableFuture<CompetitionResult> findJoinableCompetition(Arena arena, @Nullable String map, Player player, PlayerRole role) {
+        return this.competitionManager.findJoinableCompetition(arena, map, player, role);
+    }
+
     /**
      * Adds a new {@link Competition} to the given {@link Arena}.
      *
@@ -531,6 +606,57 @@ public class BattleArena extends JavaPlugin implements LoggerHolder {
         return this.teams;
     }
 
+    /**
+     * Returns the {@link StatStore}, which persists the lifetime
+     * stats of players.
+     *
+     * @return the stat store, or null if stats are not persisted
+     */
+    @Nullable
+    public StatStore getStatStore() {
+        return this.statStore;
+    }
+
+    /**
+     * Returns the {@link Matchmaker}, which places queued
+     * players into competitions.
+     *
+     * @return the matchmaker
+     */
+    public Matchmaker getMatchmaker() {
+        return this.matchmaker;
+    }
+
+    /**
+     * Returns the {@link PlotAllocator}, which places copies of
+     * dynamic maps on plots in shared worlds.
+     *
+     * @return the plot allocator
+     */
+    public PlotAllocator getPlotAllocator() {
+        return this.plotAllocator;
+    }
+
+    /**
+     * Returns the {@link WorldDeletionService}, which deletes the
+     * folders of unloaded worlds in the background.
+     *
+     * @return the world deletion service
+     */
+    public WorldDeletionService getWorldDeletionService() {
+        return this.worldDeletionService;
+    }
+
+    /**
+     * Returns the {@link InventoryBackupWriter}, which writes
+     * inventory backups in the background.
+     *
+     * @return the inventory backup writer
+     */
+    public InventoryBackupWriter getInventoryBackupWriter() {
+        return this.inventoryBackupWriter;
+    }
+
     /**
      * Returns the {@link ArenaModuleContainer} for the given module id.
      *
@@ -595,6 +721,15 @@ public class BattleArena extends JavaPlugin implements LoggerHolder {
         return this.getDataFolder().toPath().resolve("maps");
     }
 
+    /**
+     * Returns the path to the map snapshots directory.
+     *
+     * @return the path to the map snapshots directory
+     */
+    public Path getSnapshotsPath() {
+        return this.getDataFolder().toPath().resolve("snapshots");
+    }
+
     /**
      * Returns the path to the backup directory for the given type.
      *
@@ -724,15 +859,7 @@ public class BattleArena extends JavaPlugin implements LoggerHolder {
     private void clearDynamicMaps() {
         for (File file : Bukkit.getWorldContainer().listFiles()) {
             if (file.isDirectory() && file.getName().startsWith("ba-dynamic")) {
-                try {
-                    try (Stream<Path> pathsToDelete = Files.walk(file.toPath())) {
-                        for (Path path : pathsToDelete.sorted(Comparator.reverseOrder()).toList()) {
-                            Files.deleteIfExists(path);
-                        }
-                    }
-                } catch (IOException e) {
-                    this.error("Failed to delete dynamic map {}", file.getName(), e);
-                }
+                this.worldDeletionService.delete(file.toPath());
             }
         }
     }
@@ -1,11 +1,13 @@
 package org.battleplugins.arena;
 
 import org.battleplugins.arena.competition.event.EventOptions;
+import org.battleplugins.arena.competition.map.DynamicMapAllocation;
 import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.config.Updater;
 import org.battleplugins.arena.config.updater.ConfigUpdater;
 import org.battleplugins.arena.config.updater.UpdaterStep;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -27,9 +29,30 @@ public class BattleArenaConfig {
     @ArenaOption(name = "max-dynamic-maps", description = "The maximum number of dynamic maps an Arena can have allocated at once.", required = true)
     private int maxDynamicMaps;
 
+    @ArenaOption(name = "dynamic-map-pool-size", description = "The number of copies of each dynamic map to keep ready for new competitions.")
+    private int dynamicMapPoolSize;
+
+    @ArenaOption(name = "dynamic-map-allocation", description = "How copies of dynamic maps are placed.")
+    private DynamicMapAllocation dynamicMapAllocation = DynamicMapAllocation.WORLD;
+
+    @ArenaOption(name = "dynamic-plot-size", description = "The width and length of each plot dynamic maps are copied onto.")
+    private int dynamicPlotSize = 256;
+
+    @ArenaOption(name = "persist-stats", description = "Whether the lifetime stats of players should be saved across competitions.")
+    private boolean persistStats = true;
+
     @ArenaOption(name = "randomized-arena-join", description = "Whether players should be randomly placed in an Arena when joining without specifying a map.", required = true)
     private boolean randomizedArenaJoin;
 
+    @ArenaOption(name = "matchmaking", description = "Whether players joining an arena should be queued and placed into competitions in batches.")
+    private boolean matchmaking;
+
+    @ArenaOption(name = "matchmaking-interval", description = "How often queued players are placed into competitions.")
+    private Duration matchmakingInterval = Duration.ofSeconds(2);
+
+    @ArenaOption(name = "matchmaking-max-wait", description = "How long queued players wait for enough players to fill a new competition.")
+    private Duration matchmakingMaxWait = Duration.ofSeconds(10);
+
     @ArenaOption(name = "disabled-modules", description = "Modules that are disabled by default.")
     private List<String> disabledModules;
 
@@ -55,10 +78,38 @@ public class BattleArenaConfig {
         return this.maxDynamicMaps;
     }
 
+    public int getDynamicMapPoolSize() {
+        return this.dynamicMapPoolSize;
+    }
+
+    public DynamicMapAllocation getDynamicMapAllocation() {
+        return this.dynamicMapAllocation;
+    }
+
+    public int getDynamicPlotSize() {
+        return this.dynamicPlotSize;
+    }
+
+    public boolean isPersistStats() {
+        return this.persistStats;
+    }
+
     public boolean isRandomizedArenaJoin() {
         return this.randomizedArenaJoin;
     }
 
+    public boolean isMatchmaking() {
+        return this.matchmaking;
+    }
+
+    public Duration getMatchmakingInterval() {
+        return this.matchmakingInterval;
+    }
+
+    public Duration getMatchmakingMaxWait() {
+        return this.matchmakingMaxWait;
+    }
+
     public List<String> getDisabledModules() {
         return this.disabledModules == null ? List.of() : List.copyOf(this.disabledModules);
     }
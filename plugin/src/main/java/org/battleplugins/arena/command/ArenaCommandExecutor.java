@@ -5,8 +5,10 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.ArenaPlayer;
 import org.battleplugins.arena.competition.Competition;
+import org.battleplugins.arena.competition.CompetitionType;
 import org.battleplugins.arena.competition.JoinResult;
 import org.battleplugins.arena.competition.LiveCompetition;
+import org.battleplugins.arena.competition.MatchmakingQueue;
 import org.battleplugins.arena.competition.PlayerRole;
 import org.battleplugins.arena.competition.map.CompetitionMap;
 import org.battleplugins.arena.competition.map.LiveCompetitionMap;
@@ -78,8 +80,25 @@ public class ArenaCommandExecutor extends BaseCommandExecutor {
             return;
         }
 
-        List<Competition<?>> competitions = map == RANDOM_MAP_MARKER ? this.arena.getPlugin().getCompetitions(this.arena) : this.arena.getPlugin().getCompetitions(this.arena, map.getName());
-        this.arena.getPlugin().findJoinableCompetition(competitions, player, PlayerRole.PLAYING).whenCompleteAsync((result, e) -> {
+        String mapName = map == RANDOM_MAP_MARKER ? null : map.getName();
+        if (this.arena.getPlugin().getMainConfig().isMatchmaking() && this.arena.getType() != CompetitionType.EVENT) {
+            // Placed into a competition along with everyone else queued
+            JoinResult result = this.arena.getPlugin().getMatchmaker().enqueue(this.arena, List.of(player), mapName);
+            if (!result.canJoin()) {
+                if (result.message() != null) {
+                    result.message().send(player);
+                } else {
+                    Messages.ARENA_NOT_JOINABLE.send(player);
+                }
+
+                return;
+            }
+
+            Messages.QUEUE_JOINED.send(player, this.arena.getName());
+            return;
+        }
+
+        this.arena.getPlugin().findJoinableCompetition(this.arena, mapName, player, PlayerRole.PLAYING).whenCompleteAsync((result, e) -> {
             if (e != null) {
                 Messages.ARENA_ERROR.send(player, e.getMessage());
                 this.arena.getPlugin().error("An error occurred while joining the arena", e);
@@ -122,6 +141,11 @@ public class ArenaCommandExecutor extends BaseCommandExecutor {
                                 return;
                             }
 
+                            // The player may have left while the dynamic map was copied
+                            if (!player.isOnline()) {
+                                return;
+                            }
+
                             newResult.competition().join(player, PlayerRole.PLAYING);
                             Messages.ARENA_JOINED.send(player, newResult.competition().getMap().getName());
                         });
@@ -258,6 +282,12 @@ public class ArenaCommandExecutor extends BaseCommandExecutor {
     public void leave(Player player) {
         ArenaPlayer arenaPlayer = ArenaPlayer.getArenaPlayer(player);
         if (arenaPlayer == null) {
+            MatchmakingQueue queue = this.arena.getPlugin().getMatchmaker().dequeue(player);
+            if (queue != null) {
+                Messages.QUEUE_LEFT.send(player, queue.getArena().getName());
+                return;
+            }
+
             Messages.NOT_IN_ARENA.send(player);
             return;
         }
@@ -8,14 +8,17 @@ import org.battleplugins.arena.competition.map.MapType;
 import org.battleplugins.arena.competition.phase.CompetitionPhaseType;
 import org.battleplugins.arena.competition.phase.phases.VictoryPhase;
 import org.battleplugins.arena.event.arena.ArenaCreateCompetitionEvent;
+import org.battleplugins.arena.event.arena.ArenaPhaseStartEvent;
+import org.battleplugins.arena.event.player.ArenaJoinEvent;
 import org.battleplugins.arena.event.player.ArenaLeaveEvent;
+import org.battleplugins.arena.event.player.ArenaSpectateEvent;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -24,15 +27,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Stream;
 
-public class CompetitionManager {
+public class CompetitionManager implements Listener {
     private final Map<Arena, List<Competition<?>>> competitions = new HashMap<>();
+    private final Map<Arena, JoinableCompetitionIndex> joinableCompetitions = new HashMap<>();
+    private final Map<Arena, Integer> pendingDynamicCompetitions = new HashMap<>();
 
     private final BattleArena plugin;
+    private final DynamicMapPool dynamicMapPool;
 
     public CompetitionManager(BattleArena plugin) {
         this.plugin = plugin;
+        this.dynamicMapPool = new DynamicMapPool(plugin, this);
     }
 
     public List<Competition<?>> getCompetitions(Arena arena) {
@@ -49,106 +55,264 @@ public class CompetitionManager {
 
     public CompletableFuture<CompetitionResult> getOrCreateCompetition(Arena arena, Player player, PlayerRole role, @Nullable String name) {
         // See if we can join any already open competitions
-        List<Competition<?>> openCompetitions = this.getCompetitions(arena, name);
-        CompletableFuture<CompetitionResult> joinableCompetition = this.findJoinableCompetition(openCompetitions, player, role);
-        return joinableCompetition.thenApplyAsync(result -> {
+        CompletableFuture<CompetitionResult> joinableCompetition = this.findJoinableCompetition(arena, name, player, role);
+        return joinableCompetition.thenComposeAsync(result -> {
             if (result.competition() != null) {
-                return result;
+                return CompletableFuture.completedFuture(result);
             }
 
             CompetitionResult invalidResult = new CompetitionResult(null, !result.result().canJoin() ? result.result() : JoinResult.NOT_JOINABLE);
             if (arena.getType() == CompetitionType.EVENT) {
                 // Cannot create non-requested dynamic competitions for events
-                return invalidResult;
+                return CompletableFuture.completedFuture(invalidResult);
             }
 
-            List<LiveCompetitionMap> maps = this.plugin.getMaps(arena);
-            if (maps == null) {
-                // No maps, return
-                return invalidResult;
-            }
+            return this.createDynamicCompetition(arena, name).thenApply(competition -> {
+                if (competition == null) {
+                    // No open competitions found or unable to create a new one
+                    return invalidResult;
+                }
 
-            // Ensure we have WorldEdit installed
-            if (this.plugin.getServer().getPluginManager().getPlugin("WorldEdit") == null) {
-                this.plugin.error("WorldEdit is required to create dynamic competitions! Not proceeding with creating a new dynamic competition.");
-                return invalidResult;
-            }
+                return new CompetitionResult(competition, JoinResult.SUCCESS);
+            });
+        }, Bukkit.getScheduler().getMainThreadExecutor(this.plugin));
+    }
 
-            // Check if we have exceeded the maximum number of dynamic maps
-            List<Competition<?>> allCompetitions = this.getCompetitions(arena);
-            long dynamicMaps = allCompetitions.stream()
-                    .map(Competition::getMap)
-                    .filter(map -> map.getType() == MapType.DYNAMIC)
-                    .count();
+    /**
+     * Creates a new dynamic {@link Competition} in the given {@link Arena},
+     * if the arena has a dynamic map and the dynamic map limit allows it.
+     * Must be called on the main thread.
+     * <p>
+     * The competition is only added, and can only be joined, once its
+     * map has been copied. The returned future is completed on the
+     * main thread.
+     *
+     * @param arena the arena to create the competition in
+     * @param name the name of the map, or null for a random map
+     * @return a future completed with the created competition, or null
+     *         if none could be created
+     */
+    CompletableFuture<Competition<?>> createDynamicCompetition(Arena arena, @Nullable String name) {
+        List<LiveCompetitionMap> maps = this.plugin.getMaps(arena);
+        if (maps == null) {
+            // No maps, return
+            return CompletableFuture.completedFuture(null);
+        }
 
-            if (dynamicMaps >= this.plugin.getMainConfig().getMaxDynamicMaps() && this.plugin.getMainConfig().getMaxDynamicMaps() != -1) {
-                this.plugin.warn("Exceeded maximum number of dynamic maps for arena {}! Not proceeding with creating a new dynamic competition.", arena.getName());
-                return invalidResult;
-            }
+        // Ensure we have WorldEdit installed
+        if (this.plugin.getServer().getPluginManager().getPlugin("WorldEdit") == null) {
+            this.plugin.error("WorldEdit is required to create dynamic competitions! Not proceeding with creating a new dynamic competition.");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Check if we have exceeded the maximum number of dynamic maps. Ready
+        // copies in the pool already count towards the limit, so they can
+        // always be used
+        int maxDynamicMaps = this.plugin.getMainConfig().getMaxDynamicMaps();
+        boolean limitReached = maxDynamicMaps != -1 && this.getDynamicCompetitionCount(arena) + this.dynamicMapPool.size(arena) >= maxDynamicMaps;
+
+        // Create a new competition if possible
 
-            // Create a new competition if possible
+        if (name == null) {
+            // Shuffle results if map name is not requested
+            maps = new ArrayList<>(maps);
+            Collections.shuffle(maps);
+        }
 
-            if (name == null) {
-                // Shuffle results if map name is not requested
-                maps = new ArrayList<>(maps);
-                Collections.shuffle(maps);
+        for (LiveCompetitionMap map : maps) {
+            if (map.getType() != MapType.DYNAMIC) {
+                continue;
             }
 
-            for (LiveCompetitionMap map : maps) {
-                if (map.getType() != MapType.DYNAMIC) {
+            if ((name == null || map.getName().equals(name))) {
+                LiveCompetitionMap copy = this.dynamicMapPool.poll(map);
+                if (copy != null) {
+                    Competition<?> competition = copy.createCompetition(arena);
+                    this.addCompetition(arena, competition);
+                    return CompletableFuture.completedFuture(competition);
+                }
+
+                // Ready copies of other maps may be what fills up the limit, in
+                // which case one of them makes way for a copy of this map
+                if (limitReached && !this.dynamicMapPool.evict(arena, map)) {
                     continue;
                 }
 
-                if ((name == null || map.getName().equals(name))) {
-                    Competition<?> competition = map.createDynamicCompetition(arena);
+                // Count the competition towards the limit while its map is copied
+                this.pendingDynamicCompetitions.merge(arena, 1, Integer::sum);
+                return map.createDynamicCompetitionAsync(arena).handle((competition, e) -> {
+                    this.pendingDynamicCompetitions.computeIfPresent(arena, (k, count) -> count == 1 ? null : count - 1);
+                    if (e != null) {
+                        this.plugin.error("Failed to create dynamic competition for map {} in arena {}!", map.getName(), arena.getName(), e);
+                        return null;
+                    }
+
                     if (competition == null) {
                         this.plugin.warn("Failed to create dynamic competition for map {} in arena {}!", map.getName(), arena.getName());
-                        continue;
+                        return null;
+                    }
+
+                    // The plugin was reloaded while the map was copied
+                    if (this.plugin.getArena(arena.getName()) != arena) {
+                        this.clearDynamicMap(competition.getMap());
+                        return null;
                     }
 
                     this.addCompetition(arena, competition);
-                    return new CompetitionResult(competition, JoinResult.SUCCESS);
-                }
+                    return competition;
+                });
             }
+        }
 
-            // No open competitions found or unable to create a new one
-            return invalidResult;
-        }, Bukkit.getScheduler().getMainThreadExecutor(this.plugin));
+        if (limitReached) {
+            this.plugin.warn("Exceeded maximum number of dynamic maps for arena {}! Not proceeding with creating a new dynamic competition.", arena.getName());
+        }
+
+        return CompletableFuture.completedFuture(null);
     }
 
     public CompletableFuture<CompetitionResult> findJoinableCompetition(List<Competition<?>> competitions, Player player, PlayerRole role) {
-        return this.findJoinableCompetition(competitions, player, role, null);
+        List<Competition<?>> candidates = new ArrayList<>(competitions);
+        if (this.plugin.getMainConfig().isRandomizedArenaJoin()) {
+            Collections.shuffle(candidates);
+        }
+
+        // Try the competitions with the most number of players first. The sort
+        // is stable, so shuffled competitions stay shuffled among equal counts
+        candidates.sort(Comparator.comparingInt(Competition<?>::getAlivePlayerCount).reversed());
+
+        JoinResult lastResult = null;
+        for (Competition<?> competition : candidates) {
+            JoinResult result = competition.canJoin(player, role).join();
+            if (result == JoinResult.SUCCESS) {
+                return CompletableFuture.completedFuture(new CompetitionResult(competition, JoinResult.SUCCESS));
+            }
+
+            lastResult = result;
+        }
+
+        return CompletableFuture.completedFuture(new CompetitionResult(null, lastResult == null ? JoinResult.NOT_JOINABLE : lastResult));
     }
 
-    private CompletableFuture<CompetitionResult> findJoinableCompetition(List<Competition<?>> competitions, Player player, PlayerRole role, @Nullable JoinResult lastResult) {
-        if (competitions.isEmpty()) {
-            return CompletableFuture.completedFuture(new CompetitionResult(null, lastResult == null ? JoinResult.NOT_JOINABLE : lastResult));
+    /**
+     * Finds a joinable {@link Competition} in the given {@link Arena}.
+     * <p>
+     * Players are placed in the open competition with the most players,
+     * which is looked up from an index kept up to date as players join
+     * and leave and phases change. Spectators fall back to checking every
+     * competition, since the index only tracks competitions open to players.
+     *
+     * @param arena the arena to find the competition in
+     * @param map the name of the map, or null for any map
+     * @param player the player to find the competition for
+     * @param role the role of the player
+     * @return the competition result
+     */
+    public CompletableFuture<CompetitionResult> findJoinableCompetition(Arena arena, @Nullable String map, Player player, PlayerRole role) {
+        if (role != PlayerRole.PLAYING) {
+            return this.findJoinableCompetition(map == null ? this.getCompetitions(arena) : this.getCompetitions(arena, map), player, role);
         }
 
-        if (this.plugin.getMainConfig().isRandomizedArenaJoin()) {
-            competitions = new ArrayList<>(competitions);
-            Collections.shuffle(competitions);
+        JoinResult lastResult = null;
+        JoinableCompetitionIndex index = this.joinableCompetitions.get(arena);
+        if (index != null) {
+            for (JoinableCompetitionIndex.Entry entry = index.first(map); entry != null; entry = index.next(map, entry)) {
+                Competition<?> competition = entry.getCompetition();
+                JoinResult result = competition.canJoin(player, role).join();
+                if (result == JoinResult.SUCCESS) {
+                    return CompletableFuture.completedFuture(new CompetitionResult(competition, JoinResult.SUCCESS));
+                }
+
+                lastResult = result;
+            }
+        }
+
+        if (lastResult == null) {
+            // Nothing is open - report full games as such, rather than as not joinable
+            lastResult = this.hasFullCompetition(arena, map) ? JoinResult.ARENA_FULL : JoinResult.NOT_JOINABLE;
+        }
+
+        return CompletableFuture.completedFuture(new CompetitionResult(null, lastResult));
+    }
+
+    /**
+     * Finds the open {@link Competition} with the most players which
+     * has room for the given number of players.
+     *
+     * @param arena the arena to find the competition in
+     * @param map the name of the map, or null for any map
+     * @param size the number of players
+     * @return the competition, or null if no open competition has room
+     */
+    @Nullable
+    Competition<?> findCompetitionWithRoom(Arena arena, @Nullable String map, int size) {
+        JoinableCompetitionIndex index = this.joinableCompetitions.get(arena);
+        if (index == null) {
+            return null;
+        }
+
+        for (JoinableCompetitionIndex.Entry entry = index.first(map); entry != null; entry = index.next(map, entry)) {
+            Competition<?> competition = entry.getCompetition();
+            if (Matchmaker.hasRoom(arena, competition, size)) {
+                return competition;
+            }
+        }
+
+        return null;
+    }
+
+    private boolean hasFullCompetition(Arena arena, @Nullable String map) {
+        List<Competition<?>> competitions = this.competitions.get(arena);
+        if (competitions == null) {
+            return false;
         }
 
-        // Select the competition with the most number of players
-        Competition<?> competition = competitions.stream()
-                .max(Comparator.comparingInt(Competition::getAlivePlayerCount))
-                .orElse(null);
+        for (Competition<?> competition : competitions) {
+            if (map != null && !competition.getMap().getName().equals(map)) {
+                continue;
+            }
+
+            if (competition instanceof LiveCompetition<?> liveCompetition && liveCompetition.getPhaseManager().getCurrentPhase().canJoin()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(ArenaJoinEvent event) {
+        this.updateJoinable(event.getArena(), event.getCompetition());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLeave(ArenaLeaveEvent event) {
+        this.updateJoinable(event.getArena(), event.getCompetition());
+    }
+
+    // Players who die or run out of lives are moved to spectator by the
+    // change-role action, which calls this event once the role has changed
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onSpectate(ArenaSpectateEvent event) {
+        this.updateJoinable(event.getArena(), event.getCompetition());
+    }
 
-        CompletableFuture<JoinResult> result = competition.canJoin(player, role);
-        JoinResult joinResult = result.join();
-        if (joinResult == JoinResult.SUCCESS) {
-            return CompletableFuture.completedFuture(new CompetitionResult(competition, JoinResult.SUCCESS));
-        } else {
-            List<Competition<?>> remainingCompetitions = new ArrayList<>(competitions);
-            remainingCompetitions.remove(competition);
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPhaseStart(ArenaPhaseStartEvent event) {
+        this.updateJoinable(event.getArena(), event.getCompetition());
+    }
 
-            return this.findJoinableCompetition(remainingCompetitions, player, role, joinResult);
+    private void updateJoinable(Arena arena, Competition<?> competition) {
+        JoinableCompetitionIndex index = this.joinableCompetitions.get(arena);
+        if (index != null) {
+            index.update(competition, this.plugin.getMainConfig().isRandomizedArenaJoin());
         }
     }
 
     public void addCompetition(Arena arena, Competition<?> competition) {
         this.competitions.computeIfAbsent(arena, k -> new ArrayList<>()).add(competition);
+        this.joinableCompetitions.computeIfAbsent(arena, k -> new JoinableCompetitionIndex())
+                .add(competition, this.plugin.getMainConfig().isRandomizedArenaJoin());
         this.plugin.getServer().getPluginManager().callEvent(new ArenaCreateCompetitionEvent(arena, competition));
     }
 
@@ -199,9 +363,44 @@ public class CompetitionManager {
         }
 
         competitions.remove(competition);
+
+        JoinableCompetitionIndex index = this.joinableCompetitions.get(arena);
+        if (index != null) {
+            index.remove(competition);
+        }
+
         if (competition.getMap().getType() == MapType.DYNAMIC && competition.getMap() instanceof LiveCompetitionMap map) {
             this.clearDynamicMap(map);
+
+            // Room has been freed up for another copy
+            this.dynamicMapPool.refill();
+        }
+    }
+
+    /**
+     * Starts copying dynamic maps in the background, until each
+     * dynamic map has the configured number of copies ready.
+     */
+    public void refillDynamicMapPool() {
+        this.dynamicMapPool.refill();
+    }
+
+    /**
+     * Deletes every ready copy of the dynamic maps.
+     */
+    public void clearDynamicMapPool() {
+        this.dynamicMapPool.clear();
+    }
+
+    int getDynamicCompetitionCount(Arena arena) {
+        int count = this.pendingDynamicCompetitions.getOrDefault(arena, 0);
+        for (Competition<?> competition : this.competitions.getOrDefault(arena, List.of())) {
+            if (competition.getMap().getType() == MapType.DYNAMIC) {
+                count++;
+            }
         }
+
+        return count;
     }
 
     public void completeAllActiveCompetitions() {
@@ -212,24 +411,24 @@ public class CompetitionManager {
         }
     }
 
-    private void clearDynamicMap(LiveCompetitionMap map) {
+    void clearDynamicMap(LiveCompetitionMap map) {
         if (map.getType() != MapType.DYNAMIC) {
             return;
         }
 
-        Bukkit.unloadWorld(map.getWorld(), false);
-        if (!map.getWorld().getWorldFolder().exists()) {
+        // Maps on a plot share their world, so only the plot is cleared
+        if (map.getPlot() != null) {
+            this.plugin.getPlotAllocator().release(map.getPlot());
             return;
         }
 
-        try {
-            try (Stream<Path> pathsToDelete = Files.walk(map.getWorld().getWorldFolder().toPath())) {
-                for (Path path : pathsToDelete.sorted(Comparator.reverseOrder()).toList()) {
-                    Files.deleteIfExists(path);
-                }
-            }
-        } catch (IOException e) {
-            this.plugin.error("Failed to delete dynamic map {}", map.getName(), e);
+        // Only unloading has to happen on the main thread, the
+        // folder is deleted in the background
+        if (!Bukkit.unloadWorld(map.getWorld(), false)) {
+            this.plugin.warn("Failed to unload dynamic map {}! It will be deleted on the next startup.", map.getName());
+            return;
         }
+
+        this.plugin.getWorldDeletionService().delete(map.getWorld().getWorldFolder().toPath());
     }
 }
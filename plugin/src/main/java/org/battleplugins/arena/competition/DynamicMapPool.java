@@ -0,0 +1,228 @@
+package org.battleplugins.arena.competition;
+
+import org.battleplugins.arena.Arena;
+import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.competition.map.LiveCompetitionMap;
+import org.battleplugins.arena.competition.map.MapType;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keeps copies of dynamic maps ready, so creating a dynamic
+ * competition does not have to wait for the map to be copied.
+ * <p>
+ * Each dynamic map keeps up to {@link org.battleplugins.arena.BattleArenaConfig#getDynamicMapPoolSize()}
+ * copies. Used copies are replaced in the background, one copy at
+ * a time, so the cost of copying maps is spread out rather than
+ * landing on the tick a player joins in.
+ */
+final class DynamicMapPool {
+    private static final long REFILL_INTERVAL = 20;
+
+    private final BattleArena plugin;
+    private final CompetitionManager competitionManager;
+
+    private final Map<LiveCompetitionMap, Deque<LiveCompetitionMap>> copies = new HashMap<>();
+
+    private BukkitTask task;
+
+    private CompletableFuture<LiveCompetitionMap> pending;
+    private LiveCompetitionMap pendingMap;
+
+    DynamicMapPool(BattleArena plugin, CompetitionManager competitionManager) {
+        this.plugin = plugin;
+        this.competitionManager = competitionManager;
+    }
+
+    /**
+     * Takes a ready copy of the given dynamic map out of the pool.
+     *
+     * @param map the dynamic map
+     * @return a copy of the map, or null if none is ready
+     */
+    @Nullable
+    LiveCompetitionMap poll(LiveCompetitionMap map) {
+        Deque<LiveCompetitionMap> copies = this.copies.get(map);
+        LiveCompetitionMap copy = copies == null ? null : copies.poll();
+
+        this.refill();
+        return copy;
+    }
+
+    /**
+     * Deletes a ready copy of another dynamic map in the given arena,
+     * to make room for a copy of the given map within the dynamic
+     * map limit.
+     * <p>
+     * The copy is taken from the map with the most ready copies.
+     *
+     * @param arena the arena
+     * @param map the map which needs room for a copy
+     * @return whether a copy was deleted
+     */
+    boolean evict(Arena arena, LiveCompetitionMap map) {
+        Deque<LiveCompetitionMap> largest = null;
+        for (Map.Entry<LiveCompetitionMap, Deque<LiveCompetitionMap>> entry : this.copies.entrySet()) {
+            if (entry.getKey().getArena() != arena || entry.getKey() == map || entry.getValue().isEmpty()) {
+                continue;
+            }
+
+            if (largest == null || entry.getValue().size() > largest.size()) {
+                largest = entry.getValue();
+            }
+        }
+
+        if (largest == null) {
+            return false;
+        }
+
+        this.competitionManager.clearDynamicMap(largest.poll());
+        return true;
+    }
+
+    /**
+     * Returns the number of ready copies of the maps in the given arena.
+     *
+     * @param arena the arena
+     * @return the number of ready copies
+     */
+    int size(Arena arena) {
+        // The copy being made counts as well
+        int size = this.pendingMap != null && this.pendingMap.getArena() == arena ? 1 : 0;
+        for (Map.Entry<LiveCompetitionMap, Deque<LiveCompetitionMap>> entry : this.copies.entrySet()) {
+            if (entry.getKey().getArena() == arena) {
+                size += entry.getValue().size();
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Starts refilling the pool in the background, if it is not full.
+     */
+    void refill() {
+        if (this.task == null && this.plugin.getMainConfig().getDynamicMapPoolSize() > 0) {
+            this.task = Bukkit.getScheduler().runTaskTimer(this.plugin, this::refillNext, REFILL_INTERVAL, REFILL_INTERVAL);
+        }
+    }
+
+    /**
+     * Removes every copy from the pool and deletes its world.
+     */
+    void clear() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+
+        // A copy which is still being made is deleted once it is done
+        this.pending = null;
+        this.pendingMap = null;
+
+        for (Deque<LiveCompetitionMap> copies : this.copies.values()) {
+            for (LiveCompetitionMap copy : copies) {
+                this.competitionManager.clearDynamicMap(copy);
+            }
+        }
+
+        this.copies.clear();
+    }
+
+    private void refillNext() {
+        // Wait for the previous copy to be done
+        if (this.pending != null) {
+            return;
+        }
+
+        this.removeStaleCopies();
+
+        int poolSize = this.plugin.getMainConfig().getDynamicMapPoolSize();
+        int maxDynamicMaps = this.plugin.getMainConfig().getMaxDynamicMaps();
+        for (Arena arena : this.plugin.getArenas()) {
+            // Ready copies count towards the dynamic map limit as well
+            if (maxDynamicMaps != -1 && this.competitionManager.getDynamicCompetitionCount(arena) + this.size(arena) >= maxDynamicMaps) {
+                continue;
+            }
+
+            // Copy the map with the fewest ready copies, so a limit which
+            // is lower than the pool size is shared between the maps
+            LiveCompetitionMap next = null;
+            int nextCopies = poolSize;
+            for (LiveCompetitionMap map : this.plugin.getMaps(arena)) {
+                if (map.getType() != MapType.DYNAMIC) {
+                    continue;
+                }
+
+                int copies = this.copies.computeIfAbsent(map, k -> new ArrayDeque<>()).size();
+                if (copies < nextCopies) {
+                    next = map;
+                    nextCopies = copies;
+                }
+            }
+
+            if (next != null) {
+                // Only copy a single map at a time
+                this.copy(next);
+                return;
+            }
+        }
+
+        // Nothing left to copy until a copy is used or a competition is removed
+        this.task.cancel();
+        this.task = null;
+    }
+
+    private void copy(LiveCompetitionMap map) {
+        CompletableFuture<LiveCompetitionMap> future = map.createDynamicMap(map.getArena());
+        this.pending = future;
+        this.pendingMap = map;
+
+        future.thenAccept(copy -> {
+            if (this.pending != future) {
+                // The pool was cleared while the map was copied
+                if (copy != null) {
+                    this.competitionManager.clearDynamicMap(copy);
+                }
+
+                return;
+            }
+
+            this.pending = null;
+            this.pendingMap = null;
+            if (copy == null) {
+                this.plugin.warn("Failed to create dynamic map copy for map {} in arena {}!", map.getName(), map.getArena().getName());
+                return;
+            }
+
+            this.copies.computeIfAbsent(map, k -> new ArrayDeque<>()).add(copy);
+        });
+    }
+
+    private void removeStaleCopies() {
+        Iterator<Map.Entry<LiveCompetitionMap, Deque<LiveCompetitionMap>>> iterator = this.copies.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<LiveCompetitionMap, Deque<LiveCompetitionMap>> entry = iterator.next();
+            List<LiveCompetitionMap> maps = this.plugin.getMaps(entry.getKey().getArena());
+            if (maps.contains(entry.getKey())) {
+                continue;
+            }
+
+            // The map has been removed
+            for (LiveCompetitionMap copy : entry.getValue()) {
+                this.competitionManager.clearDynamicMap(copy);
+            }
+
+            iterator.remove();
+        }
+    }
+}
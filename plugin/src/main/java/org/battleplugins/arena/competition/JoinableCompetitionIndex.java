@@ -0,0 +1,164 @@
+package org.battleplugins.arena.competition;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Indexes the competitions of an arena which players can currently
+ * join, both across the arena and per map.
+ * <p>
+ * A competition is open if its current phase allows joining and it has
+ * a free slot. Open competitions are ordered by the number of alive
+ * players, so the fullest competition is always first. The index is
+ * updated whenever players join or leave, change their role, or the
+ * phase changes.
+ */
+final class JoinableCompetitionIndex {
+    private final NavigableSet<Entry> open = new TreeSet<>();
+    private final Map<String, NavigableSet<Entry>> openByMap = new HashMap<>();
+    private final Map<Competition<?>, Entry> entries = new HashMap<>();
+    private final Set<Competition<?>> competitions = new HashSet<>();
+
+    private long sequence;
+
+    void add(Competition<?> competition, boolean randomized) {
+        this.competitions.add(competition);
+        this.update(competition, randomized);
+    }
+
+    void remove(Competition<?> competition) {
+        this.competitions.remove(competition);
+        this.removeEntry(competition);
+    }
+
+    /**
+     * Updates the position of the given competition in the index,
+     * adding or removing it depending on whether it is open.
+     *
+     * @param competition the competition to update
+     * @param randomized whether competitions with the same number of
+     *                   players should be picked in a random order
+     */
+    void update(Competition<?> competition, boolean randomized) {
+        if (!this.competitions.contains(competition)) {
+            return;
+        }
+
+        Entry previous = this.removeEntry(competition);
+        if (!isOpen(competition)) {
+            return;
+        }
+
+        long tieBreaker;
+        if (previous != null) {
+            tieBreaker = previous.tieBreaker;
+        } else {
+            tieBreaker = randomized ? ThreadLocalRandom.current().nextLong() : this.sequence;
+        }
+
+        Entry entry = new Entry(competition, competition.getAlivePlayerCount(), tieBreaker, this.sequence++);
+        this.entries.put(competition, entry);
+        this.open.add(entry);
+        this.openByMap.computeIfAbsent(competition.getMap().getName(), k -> new TreeSet<>()).add(entry);
+    }
+
+    @Nullable
+    private Entry removeEntry(Competition<?> competition) {
+        Entry entry = this.entries.remove(competition);
+        if (entry == null) {
+            return null;
+        }
+
+        this.open.remove(entry);
+
+        String map = competition.getMap().getName();
+        NavigableSet<Entry> mapEntries = this.openByMap.get(map);
+        if (mapEntries != null) {
+            mapEntries.remove(entry);
+            if (mapEntries.isEmpty()) {
+                this.openByMap.remove(map);
+            }
+        }
+
+        return entry;
+    }
+
+    /**
+     * Returns the open competition with the most players, for the
+     * given map if one is specified.
+     *
+     * @param map the name of the map, or null for any map
+     * @return the first open competition, or null if there is none
+     */
+    @Nullable
+    Entry first(@Nullable String map) {
+        NavigableSet<Entry> entries = this.getEntries(map);
+        return entries == null || entries.isEmpty() ? null : entries.first();
+    }
+
+    /**
+     * Returns the open competition following the given entry, for the
+     * given map if one is specified. Since this navigates from the entry
+     * rather than iterating, the index may be modified in between calls.
+     *
+     * @param map the name of the map, or null for any map
+     * @param entry the previous entry
+     * @return the next open competition, or null if there is none
+     */
+    @Nullable
+    Entry next(@Nullable String map, Entry entry) {
+        NavigableSet<Entry> entries = this.getEntries(map);
+        return entries == null ? null : entries.higher(entry);
+    }
+
+    @Nullable
+    private NavigableSet<Entry> getEntries(@Nullable String map) {
+        return map == null ? this.open : this.openByMap.get(map);
+    }
+
+    private static boolean isOpen(Competition<?> competition) {
+        if (competition instanceof LiveCompetition<?> liveCompetition) {
+            return liveCompetition.getPhaseManager().getCurrentPhase().canJoin()
+                    && liveCompetition.getPlayers().size() < liveCompetition.getMaxPlayers();
+        }
+
+        return competition.getAlivePlayerCount() < competition.getMaxPlayers();
+    }
+
+    static final class Entry implements Comparable<Entry> {
+        private final Competition<?> competition;
+        private final int players;
+        private final long tieBreaker;
+        private final long id;
+
+        Entry(Competition<?> competition, int players, long tieBreaker, long id) {
+            this.competition = competition;
+            this.players = players;
+            this.tieBreaker = tieBreaker;
+            this.id = id;
+        }
+
+        Competition<?> getCompetition() {
+            return this.competition;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            // Fullest competitions first
+            int result = Integer.compare(other.players, this.players);
+            if (result != 0) {
+                return result;
+            }
+
+            result = Long.compare(this.tieBreaker, other.tieBreaker);
+            return result != 0 ? result : Long.compare(this.id, other.id);
+        }
+    }
+}
@@ -21,8 +21,11 @@ import org.battleplugins.arena.options.TeamSelection;
 import org.battleplugins.arena.options.Teams;
 import org.battleplugins.arena.resolver.Resolvable;
 import org.battleplugins.arena.resolver.Resolver;
+import org.battleplugins.arena.resolver.ResolverKey;
 import org.battleplugins.arena.resolver.ResolverKeys;
+import org.battleplugins.arena.resolver.ResolverLookup;
 import org.battleplugins.arena.resolver.ResolverProvider;
+import org.battleplugins.arena.stat.StatLeaderboards;
 import org.battleplugins.arena.team.ArenaTeam;
 import org.battleplugins.arena.team.ArenaTeams;
 import org.bukkit.entity.Player;
@@ -42,6 +45,16 @@ import java.util.concurrent.CompletableFuture;
  * that this plugin is running on.
  */
 public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Competition<T>, Resolvable {
+    private static final Map<String, ResolverKey<?>> COMPETITION_KEYS = Map.of(
+            ResolverKeys.ALIVE_PLAYERS.getPlaceholder(), ResolverKeys.ALIVE_PLAYERS,
+            ResolverKeys.COMPETITION.getPlaceholder(), ResolverKeys.COMPETITION,
+            ResolverKeys.ONLINE_PLAYERS.getPlaceholder(), ResolverKeys.ONLINE_PLAYERS,
+            ResolverKeys.MAP.getPlaceholder(), ResolverKeys.MAP,
+            ResolverKeys.MAX_PLAYERS.getPlaceholder(), ResolverKeys.MAX_PLAYERS,
+            ResolverKeys.PHASE.getPlaceholder(), ResolverKeys.PHASE,
+            ResolverKeys.SPECTATORS.getPlaceholder(), ResolverKeys.SPECTATORS
+    );
+
     private final Arena arena;
     private final CompetitionType type;
     private final LiveCompetitionMap map;
@@ -52,11 +65,15 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
     private final PhaseManager<T> phaseManager;
     private final TeamManager teamManager;
     private final VictoryManager<T> victoryManager;
+    private final StatChangeDispatcher statChangeDispatcher;
+    private final StatLeaderboards leaderboards;
 
     private final CompetitionListener<T> competitionListener;
     private final OptionsListener<T> optionsListener;
     private final StatListener<T> statListener;
     
+    private final ResolverLookup resolverLookup = new CompetitionLookup();
+
     private final int maxPlayers;
 
     public LiveCompetition(Arena arena, CompetitionType type, LiveCompetitionMap map) {
@@ -67,6 +84,8 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
         this.phaseManager = new PhaseManager<>(arena, (T) this);
         this.teamManager = new TeamManager(this);
         this.victoryManager = new VictoryManager<>(arena, (T) this);
+        this.statChangeDispatcher = new StatChangeDispatcher(this);
+        this.leaderboards = new StatLeaderboards(this);
 
         arena.getEventManager().registerEvents(this.competitionListener = new CompetitionListener<>(this));
         arena.getEventManager().registerEvents(this.optionsListener = new OptionsListener<>(this));
@@ -199,6 +218,7 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
     private void join(ArenaPlayer player, @Nullable ArenaTeam team) {
         this.players.put(player.getPlayer(), player);
         this.playersByRole.computeIfAbsent(player.getRole(), e -> new HashSet<>()).add(player);
+        this.leaderboards.update(player);
 
         if (team == null) {
             if (player.getRole() == PlayerRole.PLAYING) {
@@ -234,8 +254,12 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
      * @param cause the cause of the player leaving
      */
     public final void leave(ArenaPlayer player, ArenaLeaveEvent.Cause cause) {
+        // Dispatch any coalesced stat changes while the player is still in the competition
+        this.statChangeDispatcher.flush();
+
         this.players.remove(player.getPlayer());
         this.playersByRole.get(player.getRole()).remove(player);
+        this.leaderboards.remove(player);
 
         this.teamManager.leaveTeam(player);
 
@@ -260,6 +284,7 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
         this.playersByRole.computeIfAbsent(role, e -> new HashSet<>()).add(player);
 
         player.setRole(role);
+        this.leaderboards.update(player);
     }
 
     /**
@@ -323,6 +348,26 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
         return this.victoryManager;
     }
 
+    /**
+     * Gets the {@link StatChangeDispatcher} responsible for dispatching
+     * stat changes in the competition.
+     *
+     * @return the stat change dispatcher
+     */
+    public final StatChangeDispatcher getStatChangeDispatcher() {
+        return this.statChangeDispatcher;
+    }
+
+    /**
+     * Gets the {@link StatLeaderboards} of the competition, which
+     * order players by their stats.
+     *
+     * @return the stat leaderboards
+     */
+    public final StatLeaderboards getLeaderboards() {
+        return this.leaderboards;
+    }
+
     /**
      * Gets the {@link org.battleplugins.arena.options.ArenaOption} of the specified type.
      *
@@ -355,6 +400,8 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
     }
 
     protected void onDestroy() {
+        this.statChangeDispatcher.discard();
+
         this.arena.getEventManager().unregisterEvents(this.competitionListener);
         this.arena.getEventManager().unregisterEvents(this.optionsListener);
         this.arena.getEventManager().unregisterEvents(this.statListener);
@@ -394,20 +441,56 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
 
     @Override
     public Resolver resolve() {
-        Resolver.Builder builder = this.arena.resolve().toBuilder()
-                .define(ResolverKeys.ALIVE_PLAYERS, ResolverProvider.simple(this.getAlivePlayerCount(), String::valueOf))
-                .define(ResolverKeys.COMPETITION, ResolverProvider.simple(this.getCompetition(), this.getMap()::getName))
-                .define(ResolverKeys.ONLINE_PLAYERS, ResolverProvider.simple(this.getAlivePlayerCount() + this.getSpectatorCount(), String::valueOf))
-                .define(ResolverKeys.MAP, ResolverProvider.simple(this.getMap(), CompetitionMap::getName))
-                .define(ResolverKeys.MAX_PLAYERS, ResolverProvider.simple(this.getMaxPlayers(), String::valueOf))
-                .define(ResolverKeys.PHASE, ResolverProvider.simple(this.getPhaseManager().getCurrentPhase(), p -> p.getType().getName()))
-                .define(ResolverKeys.SPECTATORS, ResolverProvider.simple(this.getSpectatorCount(), String::valueOf));
-
-        this.getVictoryManager().resolve().mergeInto(builder);
+        // The keys of the competition are looked up on demand, since most
+        // messages only reference a few of them
+        Resolver competition = Resolver.builder()
+                .inherit(this.arena)
+                .lookup(this.resolverLookup)
+                .build();
+
+        // Victory conditions and the current phase take precedence over
+        // the keys of the competition, so they are layered on top of it
+        Resolver.Builder builder = Resolver.builder()
+                .inherit(competition)
+                .inherit(this.victoryManager);
+
         if (this.getPhaseManager().getCurrentPhase() instanceof LiveCompetitionPhase<?> phase) {
-            phase.resolve().mergeInto(builder);
+            builder.inherit(phase);
         }
-        
+
         return builder.build();
     }
+
+    private class CompetitionLookup implements ResolverLookup {
+
+        @Nullable
+        @Override
+        public ResolverProvider<?> lookup(ResolverKey<?> key) {
+            LiveCompetition<T> competition = LiveCompetition.this;
+            if (key == ResolverKeys.ALIVE_PLAYERS) {
+                return ResolverProvider.simple(competition.getAlivePlayerCount(), String::valueOf);
+            } else if (key == ResolverKeys.COMPETITION) {
+                return ResolverProvider.simple(competition.getCompetition(), competition.getMap()::getName);
+            } else if (key == ResolverKeys.ONLINE_PLAYERS) {
+                return ResolverProvider.simple(competition.getAlivePlayerCount() + competition.getSpectatorCount(), String::valueOf);
+            } else if (key == ResolverKeys.MAP) {
+                return ResolverProvider.simple(competition.getMap(), CompetitionMap::getName);
+            } else if (key == ResolverKeys.MAX_PLAYERS) {
+                return ResolverProvider.simple(competition.getMaxPlayers(), String::valueOf);
+            } else if (key == ResolverKeys.PHASE) {
+                return ResolverProvider.simple(competition.getPhaseManager().getCurrentPhase(), p -> p.getType().getName());
+            } else if (key == ResolverKeys.SPECTATORS) {
+                return ResolverProvider.simple(competition.getSpectatorCount(), String::valueOf);
+            }
+
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public ResolverProvider<?> lookup(String placeholder) {
+            ResolverKey<?> key = COMPETITION_KEYS.get(placeholder);
+            return key == null ? null : this.lookup(key);
+        }
+    }
 }
@@ -0,0 +1,409 @@
+package org.battleplugins.arena.competition;
+
+import org.battleplugins.arena.Arena;
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.competition.team.TeamManager;
+import org.battleplugins.arena.messages.Messages;
+import org.battleplugins.arena.options.TeamSelection;
+import org.battleplugins.arena.options.Teams;
+import org.battleplugins.arena.team.ArenaTeam;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Places queued players into competitions in batches.
+ * <p>
+ * Players and parties enter the {@link MatchmakingQueue} of an arena,
+ * which is matched every {@link org.battleplugins.arena.BattleArenaConfig#getMatchmakingInterval() interval}.
+ * Parties are first placed into open competitions with room for them.
+ * The remaining parties are grouped into new dynamic competitions once
+ * enough are queued to start one, or once they have waited for the
+ * {@link org.battleplugins.arena.BattleArenaConfig#getMatchmakingMaxWait() maximum wait time}.
+ * Since a whole lobby joins at once, competitions move through their
+ * waiting phases once, rather than once per joining player.
+ */
+public class Matchmaker implements Listener {
+    private static final JoinResult ALREADY_IN_ARENA = new JoinResult(false, Messages.ALREADY_IN_ARENA);
+    private static final JoinResult ALREADY_IN_QUEUE = new JoinResult(false, Messages.ALREADY_IN_QUEUE);
+
+    private final BattleArena plugin;
+    private final CompetitionManager competitionManager;
+
+    private final Map<Arena, MatchmakingQueue> queues = new HashMap<>();
+    private final Map<Arena, Set<String>> creating = new HashMap<>();
+
+    private BukkitTask task;
+
+    public Matchmaker(BattleArena plugin, CompetitionManager competitionManager) {
+        this.plugin = plugin;
+        this.competitionManager = competitionManager;
+    }
+
+    /**
+     * Queues the given players as a party for the given {@link Arena}.
+     *
+     * @param arena the arena to queue the players for
+     * @param players the players to queue together
+     * @param map the name of the map to play on, or null for any map
+     * @return the result of queueing the players, which fails if any of
+     *         them are already in an arena or queued
+     */
+    public JoinResult enqueue(Arena arena, Collection<Player> players, @Nullable String map) {
+        if (players.isEmpty()) {
+            return JoinResult.NOT_JOINABLE;
+        }
+
+        for (Player player : players) {
+            if (this.plugin.isInArena(player)) {
+                return ALREADY_IN_ARENA;
+            }
+
+            if (this.getQueue(player) != null) {
+                return ALREADY_IN_QUEUE;
+            }
+        }
+
+        this.queues.computeIfAbsent(arena, MatchmakingQueue::new).add(new MatchmakingQueue.Party(players, map));
+
+        if (this.task == null) {
+            long interval = Math.max(1, this.plugin.getMainConfig().getMatchmakingInterval().toMillis() / 50);
+            this.task = Bukkit.getScheduler().runTaskTimer(this.plugin, this::matchAll, interval, interval);
+        }
+
+        return JoinResult.SUCCESS;
+    }
+
+    /**
+     * Removes the given player from the queue they are in.
+     *
+     * @param player the player to remove
+     * @return the queue the player was removed from, or null if they were not queued
+     */
+    @Nullable
+    public MatchmakingQueue dequeue(Player player) {
+        MatchmakingQueue queue = this.getQueue(player);
+        if (queue != null) {
+            queue.remove(player);
+        }
+
+        return queue;
+    }
+
+    /**
+     * Returns the {@link MatchmakingQueue} the given player is in.
+     *
+     * @param player the player
+     * @return the queue the player is in, or null if they are not queued
+     */
+    @Nullable
+    public MatchmakingQueue getQueue(Player player) {
+        for (MatchmakingQueue queue : this.queues.values()) {
+            if (queue.isQueued(player)) {
+                return queue;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the {@link MatchmakingQueue} of the given {@link Arena}.
+     *
+     * @param arena the arena
+     * @return the queue of the arena, or null if nobody is queued
+     */
+    @Nullable
+    public MatchmakingQueue getQueue(Arena arena) {
+        return this.queues.get(arena);
+    }
+
+    /**
+     * Removes every player from the queues.
+     */
+    public void clear() {
+        this.queues.clear();
+        this.creating.clear();
+        this.stop();
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        this.dequeue(event.getPlayer());
+    }
+
+    private void matchAll() {
+        Iterator<MatchmakingQueue> iterator = this.queues.values().iterator();
+        while (iterator.hasNext()) {
+            MatchmakingQueue queue = iterator.next();
+            this.match(queue);
+
+            if (queue.isEmpty()) {
+                iterator.remove();
+            }
+        }
+
+        if (this.queues.isEmpty()) {
+            this.stop();
+        }
+    }
+
+    private void stop() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    private void match(MatchmakingQueue queue) {
+        Arena arena = queue.getArena();
+
+        // Players who joined an arena some other way are no longer waiting
+        for (MatchmakingQueue.Party party : queue.getParties()) {
+            for (Player player : party.getPlayers()) {
+                if (this.plugin.isInArena(player)) {
+                    queue.remove(player);
+                }
+            }
+        }
+
+        // Fill competitions which are already open first
+        long maxWait = this.plugin.getMainConfig().getMatchmakingMaxWait().toMillis();
+        Set<String> remaining = new LinkedHashSet<>();
+        for (MatchmakingQueue.Party party : queue.getParties()) {
+            Competition<?> competition = this.competitionManager.findCompetitionWithRoom(arena, party.getMap(), party.size());
+            if (competition == null || !this.join(queue, competition, party, maxWait)) {
+                remaining.add(party.getMap());
+            }
+        }
+
+        // Group whatever is left into new competitions
+        int minPlayers = getMinPlayers(arena);
+        for (String map : remaining) {
+            while (!this.isCreating(arena, map)) {
+                List<MatchmakingQueue.Party> parties = getParties(queue, map);
+                if (parties.isEmpty()) {
+                    break;
+                }
+
+                boolean waitedTooLong = System.currentTimeMillis() - parties.get(0).getQueuedAt() >= maxWait;
+                int players = parties.stream().mapToInt(MatchmakingQueue.Party::size).sum();
+                if (players < minPlayers && !waitedTooLong) {
+                    // Wait for more players, rather than starting a lobby which has to wait anyway
+                    break;
+                }
+
+                // Copies of dynamic maps are usually made over a few ticks, in which
+                // case the parties are placed once it is done. Further competitions
+                // for this map are not created until then
+                CompletableFuture<Competition<?>> future = this.create(arena, map, maxWait);
+                if (future.isDone() && getParties(queue, map).size() >= parties.size()) {
+                    break; // Nobody could be placed, so another competition would not help
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<Competition<?>> create(Arena arena, @Nullable String map, long maxWait) {
+        if (arena.getType() == CompetitionType.EVENT) {
+            this.onCreated(arena, map, null, maxWait);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        this.creating.computeIfAbsent(arena, k -> new HashSet<>()).add(map);
+        return this.competitionManager.createDynamicCompetition(arena, map).thenApply(competition -> {
+            Set<String> maps = this.creating.get(arena);
+            if (maps != null) {
+                maps.remove(map);
+            }
+
+            this.onCreated(arena, map, competition, maxWait);
+            return competition;
+        });
+    }
+
+    private void onCreated(Arena arena, @Nullable String map, @Nullable Competition<?> competition, long maxWait) {
+        MatchmakingQueue queue = this.queues.get(arena);
+        if (queue == null) {
+            if (competition != null) {
+                // Everyone left the queue while the map was being copied
+                this.competitionManager.removeCompetition(arena, competition);
+            }
+
+            return;
+        }
+
+        List<MatchmakingQueue.Party> parties = getParties(queue, map);
+        if (competition == null) {
+            this.expire(queue, parties, maxWait);
+            return;
+        }
+
+        boolean placed = false;
+        for (MatchmakingQueue.Party party : parties) {
+            if (hasRoom(arena, competition, party.size()) && this.join(queue, competition, party, maxWait)) {
+                placed = true;
+            }
+        }
+
+        if (placed) {
+            return;
+        }
+
+        if (!parties.isEmpty() && !hasRoom(arena, competition, parties.get(0).size())) {
+            // The oldest party does not fit into a competition of this arena
+            MatchmakingQueue.Party party = parties.get(0);
+            queue.remove(party);
+            for (Player player : party.getPlayers()) {
+                Messages.ARENA_FULL.send(player);
+            }
+        }
+
+        // Nobody could be placed, so do not keep an empty copy of the map around
+        this.competitionManager.removeCompetition(arena, competition);
+    }
+
+    private boolean isCreating(Arena arena, @Nullable String map) {
+        Set<String> maps = this.creating.get(arena);
+        return maps != null && maps.contains(map);
+    }
+
+    private void expire(MatchmakingQueue queue, List<MatchmakingQueue.Party> parties, long maxWait) {
+        Iterator<MatchmakingQueue.Party> iterator = parties.iterator();
+        while (iterator.hasNext()) {
+            MatchmakingQueue.Party party = iterator.next();
+            if (System.currentTimeMillis() - party.getQueuedAt() < maxWait) {
+                continue;
+            }
+
+            iterator.remove();
+            queue.remove(party);
+            for (Player player : party.getPlayers()) {
+                Messages.NO_OPEN_ARENAS.send(player);
+            }
+        }
+    }
+
+    private boolean join(MatchmakingQueue queue, Competition<?> competition, MatchmakingQueue.Party party, long maxWait) {
+        // Check the whole party first, so it is either placed together or stays queued
+        for (Player player : party.getPlayers()) {
+            JoinResult result = competition.canJoin(player, PlayerRole.PLAYING).join();
+            if (result.canJoin()) {
+                continue;
+            }
+
+            // Keep waiting for the competition, such as while its map is being
+            // restored, unless the party has already waited for long enough
+            if (System.currentTimeMillis() - party.getQueuedAt() >= maxWait) {
+                queue.remove(party);
+                for (Player member : party.getPlayers()) {
+                    if (result.message() != null) {
+                        result.message().send(member);
+                    } else {
+                        Messages.ARENA_NOT_JOINABLE.send(member);
+                    }
+                }
+            }
+
+            return false;
+        }
+
+        queue.remove(party);
+
+        Arena arena = queue.getArena();
+        boolean keepTogether = keepsPartiesTogether(arena);
+
+        ArenaTeam team = null;
+        for (Player player : party.getPlayers()) {
+            // Keep the party on the same team while it has room
+            if (team != null && competition instanceof LiveCompetition<?> liveCompetition && liveCompetition.getTeamManager().canJoinTeam(team)) {
+                liveCompetition.join(player, PlayerRole.PLAYING, team);
+            } else {
+                competition.join(player, PlayerRole.PLAYING);
+            }
+
+            ArenaPlayer arenaPlayer = ArenaPlayer.getArenaPlayer(player);
+            if (keepTogether && team == null && arenaPlayer != null) {
+                team = arenaPlayer.getTeam();
+            }
+
+            Messages.ARENA_JOINED.send(player, competition.getMap().getName());
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns whether the given {@link Competition} has room for a
+     * party of the given size.
+     * <p>
+     * Where parties are kept on the same team, one of the teams has
+     * to have room for the whole party, unless the party is larger
+     * than any team and has to be split up anyway.
+     *
+     * @param arena the arena of the competition
+     * @param competition the competition to check
+     * @param size the size of the party
+     * @return whether the competition has room for the party
+     */
+    static boolean hasRoom(Arena arena, Competition<?> competition, int size) {
+        if (competition.getMaxPlayers() - competition.getAlivePlayerCount() < size) {
+            return false;
+        }
+
+        if (!keepsPartiesTogether(arena) || !(competition instanceof LiveCompetition<?> liveCompetition)) {
+            return true;
+        }
+
+        TeamManager teamManager = liveCompetition.getTeamManager();
+        int largestTeam = 0;
+        for (ArenaTeam team : arena.getTeams().getAvailableTeams()) {
+            int maxSize = teamManager.getMaximumTeamSize(team);
+            if (maxSize - teamManager.getNumberOfPlayersOnTeam(team) >= size) {
+                return true;
+            }
+
+            largestTeam = Math.max(largestTeam, maxSize);
+        }
+
+        return size > largestTeam;
+    }
+
+    private static boolean keepsPartiesTogether(Arena arena) {
+        Teams teams = arena.getTeams();
+        return !teams.isNonTeamGame() && teams.getTeamSelection() == TeamSelection.RANDOM;
+    }
+
+    private static List<MatchmakingQueue.Party> getParties(MatchmakingQueue queue, @Nullable String map) {
+        List<MatchmakingQueue.Party> parties = new ArrayList<>();
+        for (MatchmakingQueue.Party party : queue.getParties()) {
+            if (Objects.equals(party.getMap(), map)) {
+                parties.add(party);
+            }
+        }
+
+        return parties;
+    }
+
+    private static int getMinPlayers(Arena arena) {
+        Teams teams = arena.getTeams();
+        return Math.max(1, teams.getTeamAmount().getMin() * teams.getTeamSize().getMin());
+    }
+}
@@ -0,0 +1,177 @@
+package org.battleplugins.arena.competition;
+
+import org.battleplugins.arena.Arena;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The queue of {@link Party parties} waiting to be placed into a
+ * {@link Competition} of an {@link Arena} by the {@link Matchmaker}.
+ * <p>
+ * Parties are kept in the order they were queued in.
+ */
+public final class MatchmakingQueue {
+    private final Arena arena;
+
+    private final Set<Party> parties = new LinkedHashSet<>();
+    private final Map<UUID, Party> partiesByPlayer = new HashMap<>();
+
+    MatchmakingQueue(Arena arena) {
+        this.arena = arena;
+    }
+
+    /**
+     * Returns the {@link Arena} this queue is for.
+     *
+     * @return the arena this queue is for
+     */
+    public Arena getArena() {
+        return this.arena;
+    }
+
+    /**
+     * Returns the queued parties, in the order they were queued in.
+     *
+     * @return the queued parties
+     */
+    public List<Party> getParties() {
+        return List.copyOf(this.parties);
+    }
+
+    /**
+     * Returns the number of players in this queue.
+     *
+     * @return the number of players in this queue
+     */
+    public int getPlayerCount() {
+        return this.partiesByPlayer.size();
+    }
+
+    /**
+     * Returns whether the given player is in this queue.
+     *
+     * @param player the player
+     * @return whether the player is in this queue
+     */
+    public boolean isQueued(Player player) {
+        return this.partiesByPlayer.containsKey(player.getUniqueId());
+    }
+
+    /**
+     * Returns the {@link Party} the given player is queued with.
+     *
+     * @param player the player
+     * @return the party the player is queued with, or null if the player is not queued
+     */
+    @Nullable
+    public Party getParty(Player player) {
+        return this.partiesByPlayer.get(player.getUniqueId());
+    }
+
+    /**
+     * Returns whether no parties are left in this queue.
+     *
+     * @return whether this queue is empty
+     */
+    public boolean isEmpty() {
+        return this.parties.isEmpty();
+    }
+
+    void add(Party party) {
+        this.parties.add(party);
+        for (Player player : party.getPlayers()) {
+            this.partiesByPlayer.put(player.getUniqueId(), party);
+        }
+    }
+
+    void remove(Party party) {
+        this.parties.remove(party);
+        for (Player player : party.getPlayers()) {
+            this.partiesByPlayer.remove(player.getUniqueId(), party);
+        }
+    }
+
+    /**
+     * Removes the given player from their party, removing the
+     * party as well if no players are left in it.
+     *
+     * @param player the player to remove
+     * @return whether the player was queued
+     */
+    boolean remove(Player player) {
+        Party party = this.partiesByPlayer.remove(player.getUniqueId());
+        if (party == null) {
+            return false;
+        }
+
+        party.players.remove(player);
+        if (party.players.isEmpty()) {
+            this.parties.remove(party);
+        }
+
+        return true;
+    }
+
+    /**
+     * A group of players who are placed into the same competition,
+     * and onto the same team where the arena picks teams for players.
+     */
+    public static final class Party {
+        private final List<Player> players;
+        private final String map;
+        private final long queuedAt;
+
+        Party(Collection<Player> players, @Nullable String map) {
+            this.players = new ArrayList<>(players);
+            this.map = map;
+            this.queuedAt = System.currentTimeMillis();
+        }
+
+        /**
+         * Returns the players in this party.
+         *
+         * @return the players in this party
+         */
+        public List<Player> getPlayers() {
+            return List.copyOf(this.players);
+        }
+
+        /**
+         * Returns the name of the map this party wants to play on.
+         *
+         * @return the name of the map, or null for any map
+         */
+        @Nullable
+        public String getMap() {
+            return this.map;
+        }
+
+        /**
+         * Returns the time this party was queued at, in
+         * milliseconds since the epoch.
+         *
+         * @return the time this party was queued at
+         */
+        public long getQueuedAt() {
+            return this.queuedAt;
+        }
+
+        /**
+         * Returns the number of players in this party.
+         *
+         * @return the number of players in this party
+         */
+        public int size() {
+            return this.players.size();
+        }
+    }
+}
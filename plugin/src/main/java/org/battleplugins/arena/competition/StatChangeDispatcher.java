@@ -0,0 +1,151 @@
+package org.battleplugins.arena.competition;
+
+import org.battleplugins.arena.event.player.ArenaStatChangeEvent;
+import org.battleplugins.arena.options.ArenaOptionType;
+import org.battleplugins.arena.options.types.StatCoalescingArenaOption;
+import org.battleplugins.arena.stat.ArenaStat;
+import org.battleplugins.arena.stat.StatHolder;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Dispatches {@link ArenaStatChangeEvent stat change events} for
+ * a {@link LiveCompetition}.
+ * <p>
+ * By default, every stat change calls an event immediately. When the
+ * {@link ArenaOptionType#COALESCE_STAT_CHANGES} option is enabled, changes
+ * are instead recorded against their holder and stat, and flushed once
+ * on the next tick as a single event carrying the value before the
+ * first change and the value after the last one. If a listener changes
+ * the new value of a coalesced event, that value is set on the holder
+ * after the event has been called.
+ */
+public final class StatChangeDispatcher {
+    private final LiveCompetition<?> competition;
+
+    private final Map<PendingKey, PendingChange> pendingChanges = new LinkedHashMap<>();
+
+    @Nullable
+    private BukkitTask flushTask;
+    private boolean applying;
+
+    StatChangeDispatcher(LiveCompetition<?> competition) {
+        this.competition = competition;
+    }
+
+    /**
+     * Dispatches a change of the given stat.
+     *
+     * @param holder the holder of the stat
+     * @param stat the stat that changed
+     * @param oldValue the old value of the stat
+     * @param newValue the new value of the stat
+     * @param <T> the type of the stat
+     * @return the value the stat should be set to
+     */
+    public <T> T statChange(StatHolder holder, ArenaStat<T> stat, T oldValue, T newValue) {
+        // Values set by listeners of a coalesced event have already been
+        // dispatched, so they are applied without calling another event
+        if (this.applying) {
+            return newValue;
+        }
+
+        StatCoalescingArenaOption option = this.competition.getOption(ArenaOptionType.COALESCE_STAT_CHANGES);
+        if (option == null || !option.isCoalesced(stat)) {
+            ArenaStatChangeEvent<T> event = new ArenaStatChangeEvent<>(this.competition, holder, stat, oldValue, newValue);
+            this.competition.getArena().getEventManager().callEvent(event);
+            return event.getNewValue();
+        }
+
+        PendingChange change = this.pendingChanges.get(new PendingKey(holder, stat));
+        if (change == null) {
+            this.pendingChanges.put(new PendingKey(holder, stat), new PendingChange(oldValue, newValue));
+        } else {
+            change.newValue = newValue;
+        }
+
+        if (this.flushTask == null) {
+            this.flushTask = Bukkit.getScheduler().runTask(this.competition.getArena().getPlugin(), this::flush);
+        }
+
+        return newValue;
+    }
+
+    /**
+     * Calls the events for all pending stat changes.
+     * <p>
+     * Changes whose value ended up the same as it was before
+     * the first change do not call an event.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void flush() {
+        this.cancelTask();
+        if (this.pendingChanges.isEmpty()) {
+            return;
+        }
+
+        // Copy the pending changes, since listeners may change stats again
+        Map<PendingKey, PendingChange> changes = new LinkedHashMap<>(this.pendingChanges);
+        this.pendingChanges.clear();
+
+        for (Map.Entry<PendingKey, PendingChange> entry : changes.entrySet()) {
+            PendingChange change = entry.getValue();
+            if (Objects.equals(change.oldValue, change.newValue)) {
+                continue;
+            }
+
+            PendingKey key = entry.getKey();
+            ArenaStatChangeEvent event = new ArenaStatChangeEvent(this.competition, key.holder(), key.stat(), change.oldValue, change.newValue);
+            this.competition.getArena().getEventManager().callEvent(event);
+
+            // The stat already holds the coalesced value, so only apply the value
+            // from the event if a listener changed it and the stat was not
+            // changed again in the meantime
+            if (!Objects.equals(event.getNewValue(), change.newValue) && Objects.equals(key.holder().getStat(key.stat()), change.newValue)) {
+                this.apply(key.holder(), (ArenaStat) key.stat(), event.getNewValue());
+            }
+        }
+    }
+
+    private <T> void apply(StatHolder holder, ArenaStat<T> stat, T value) {
+        this.applying = true;
+        try {
+            holder.setStat(stat, value);
+        } finally {
+            this.applying = false;
+        }
+    }
+
+    /**
+     * Discards all pending stat changes without calling their events.
+     */
+    public void discard() {
+        this.cancelTask();
+        this.pendingChanges.clear();
+    }
+
+    private void cancelTask() {
+        if (this.flushTask != null) {
+            this.flushTask.cancel();
+            this.flushTask = null;
+        }
+    }
+
+    private record PendingKey(StatHolder holder, ArenaStat<?> stat) {
+    }
+
+    private static final class PendingChange {
+        private final Object oldValue;
+        private Object newValue;
+
+        PendingChange(Object oldValue, Object newValue) {
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+    }
+}
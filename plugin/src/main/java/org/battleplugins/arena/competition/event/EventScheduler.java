@@ -10,9 +10,11 @@ import org.bukkit.Bukkit;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -23,6 +25,7 @@ import java.util.concurrent.ThreadLocalRandom;
 public class EventScheduler {
     private final Map<Arena, ScheduledEvent> scheduledEvents = new HashMap<>();
     private final Map<Arena, Competition<?>> activeEvents = new HashMap<>();
+    private final Set<Arena> startingEvents = new HashSet<>();
 
     /**
      * Schedules an event in the given {@link Arena}.
@@ -52,7 +55,7 @@ public class EventScheduler {
      * @param options the options for the event
      */
     public void startEvent(Arena arena, EventOptions options) {
-        if (this.activeEvents.containsKey(arena)) {
+        if (this.activeEvents.containsKey(arena) || this.startingEvents.contains(arena)) {
             arena.getPlugin().warn("An event is already running in arena {}, failed to start!", arena.getName());
             return;
         }
@@ -66,17 +69,48 @@ public class EventScheduler {
 
         // Get a random map
         LiveCompetitionMap map = maps.get(ThreadLocalRandom.current().nextInt(maps.size()));
-        Competition<?> competition = map.getType() == MapType.DYNAMIC ? map.createDynamicCompetition(arena) : map.createCompetition(arena);
-
-        // Create the competition
-        arena.getPlugin().addCompetition(arena, competition);
-
-        this.activeEvents.put(arena, competition);
-
-        // Broadcast that the event has started
-        if (options.getMessage() != null && !Component.empty().equals(options.getMessage())) {
-            Bukkit.broadcast(options.getMessage());
-        }
+        CompletableFuture<? extends Competition<?>> future = map.getType() == MapType.DYNAMIC
+                ? map.createDynamicCompetitionAsync(arena)
+                : CompletableFuture.completedFuture(map.createCompetition(arena));
+
+        // Dynamic maps are copied over a few ticks before the event can start
+        this.startingEvents.add(arena);
+        future.whenComplete((competition, e) -> {
+            if (e != null) {
+                this.startingEvents.remove(arena);
+                arena.getPlugin().error("Failed to create competition for map {} in arena {}, failed to start event!", map.getName(), arena.getName(), e);
+                return;
+            }
+
+            if (!this.startingEvents.remove(arena)) {
+                // The event was stopped in the meantime, so free up the
+                // dynamic map. A world of its own is deleted on the next startup
+                if (competition != null && competition.getMap().getType() == MapType.DYNAMIC && competition.getMap() instanceof LiveCompetitionMap liveMap) {
+                    if (liveMap.getPlot() != null) {
+                        arena.getPlugin().getPlotAllocator().release(liveMap.getPlot());
+                    } else {
+                        Bukkit.unloadWorld(liveMap.getWorld(), false);
+                    }
+                }
+
+                return;
+            }
+
+            if (competition == null) {
+                arena.getPlugin().warn("Failed to create competition for map {} in arena {}, failed to start event!", map.getName(), arena.getName());
+                return;
+            }
+
+            // Create the competition
+            arena.getPlugin().addCompetition(arena, competition);
+
+            this.activeEvents.put(arena, competition);
+
+            // Broadcast that the event has started
+            if (options.getMessage() != null && !Component.empty().equals(options.getMessage())) {
+                Bukkit.broadcast(options.getMessage());
+            }
+        });
     }
 
     /**
@@ -91,6 +125,8 @@ public class EventScheduler {
             this.scheduledEvents.remove(arena);
         }
 
+        this.startingEvents.remove(arena);
+
         Competition<?> competition = this.activeEvents.remove(arena);
         if (competition == null) {
             return;
@@ -140,6 +176,7 @@ public class EventScheduler {
 
         this.scheduledEvents.clear();
         this.activeEvents.clear();
+        this.startingEvents.clear();
     }
 
     /**
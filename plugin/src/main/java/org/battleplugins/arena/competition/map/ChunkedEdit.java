@@ -0,0 +1,115 @@
+package org.battleplugins.arena.competition.map;
+
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.WorldEditException;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.battleplugins.arena.BattleArena;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Edits or reads a region of a world one chunk at a time, spending at
+ * most a few milliseconds of each tick on it.
+ */
+final class ChunkedEdit implements Consumer<BukkitTask> {
+    private static final long BUDGET = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+    private final List<CuboidRegion> chunks = new ArrayList<>();
+
+    private final World world;
+    private final ChunkEditor editor;
+    private final Consumer<EditSession> finisher;
+
+    private int nextChunk;
+
+    private ChunkedEdit(World world, BlockVector3 min, BlockVector3 max, ChunkEditor editor, Consumer<EditSession> finisher) {
+        this.world = world;
+        this.editor = editor;
+        this.finisher = finisher;
+
+        // Split the region up along chunk borders, so each
+        // chunk of the world is only written to once
+        for (int chunkX = min.getX() >> 4; chunkX <= max.getX() >> 4; chunkX++) {
+            for (int chunkZ = min.getZ() >> 4; chunkZ <= max.getZ() >> 4; chunkZ++) {
+                this.chunks.add(new CuboidRegion(
+                        BlockVector3.at(Math.max(min.getX(), chunkX << 4), min.getY(), Math.max(min.getZ(), chunkZ << 4)),
+                        BlockVector3.at(Math.min(max.getX(), (chunkX << 4) + 15), max.getY(), Math.min(max.getZ(), (chunkZ << 4) + 15))
+                ));
+            }
+        }
+    }
+
+    /**
+     * Starts editing the region between the given points. Must be
+     * called on the main thread, and the returned future is completed
+     * on the main thread as well.
+     *
+     * @param world the world to edit
+     * @param min the minimum point of the region
+     * @param max the maximum point of the region
+     * @param editor the editor applied to each chunk of the region
+     * @param finisher called once every chunk has been edited
+     * @return a future completed with whether the region was edited, or
+     *         completed exceptionally if the editor threw an unexpected exception
+     */
+    static CompletableFuture<Boolean> run(World world, BlockVector3 min, BlockVector3 max, ChunkEditor editor, Consumer<EditSession> finisher) {
+        ChunkedEdit edit = new ChunkedEdit(world, min, max, editor, finisher);
+        Bukkit.getScheduler().runTaskTimer(BattleArena.getInstance(), edit, 1, 1);
+        return edit.future;
+    }
+
+    @Override
+    public void accept(BukkitTask task) {
+        // World was unloaded before the edit could finish
+        if (Bukkit.getWorld(this.world.getUID()) == null) {
+            task.cancel();
+            this.future.complete(false);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try (EditSession session = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(this.world))) {
+            while (this.nextChunk < this.chunks.size() && System.nanoTime() - start < BUDGET) {
+                this.editor.edit(session, this.chunks.get(this.nextChunk++));
+
+                session.flushSession();
+            }
+
+            if (this.nextChunk == this.chunks.size()) {
+                this.finisher.accept(session);
+            }
+        } catch (WorldEditException e) {
+            BattleArena.getInstance().error("Failed to edit region in world {}!", this.world.getName(), e);
+
+            task.cancel();
+            this.future.complete(false);
+            return;
+        } catch (RuntimeException e) {
+            task.cancel();
+            this.future.completeExceptionally(e);
+            return;
+        }
+
+        if (this.nextChunk == this.chunks.size()) {
+            task.cancel();
+            this.future.complete(true);
+        }
+    }
+
+    @FunctionalInterface
+    interface ChunkEditor {
+
+        void edit(EditSession session, CuboidRegion chunk) throws WorldEditException;
+    }
+}
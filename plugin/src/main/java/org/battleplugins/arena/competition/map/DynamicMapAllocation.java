@@ -0,0 +1,19 @@
+package org.battleplugins.arena.competition.map;
+
+/**
+ * Represents how copies of {@link MapType#DYNAMIC dynamic} maps
+ * are placed.
+ */
+public enum DynamicMapAllocation {
+    /**
+     * Each copy is placed in a world of its own, which is
+     * deleted once the copy is no longer used.
+     */
+    WORLD,
+    /**
+     * Copies are placed next to each other on plots in a few
+     * shared worlds. Plots are cleared and reused once a copy
+     * is no longer used, rather than deleting a world.
+     */
+    PLOT
+}
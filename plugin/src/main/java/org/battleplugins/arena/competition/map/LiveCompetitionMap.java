@@ -1,5 +1,6 @@
 package org.battleplugins.arena.competition.map;
 
+import com.sk89q.worldedit.math.BlockVector3;
 import net.kyori.adventure.util.TriState;
 import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.ArenaLike;
@@ -25,9 +26,11 @@ import org.jetbrains.annotations.Nullable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents a map for a competition which is live on this server.
@@ -56,6 +59,11 @@ public class LiveCompetitionMap implements ArenaLike, CompetitionMap, PostProces
     private World mapWorld;
     private World parentWorld;
 
+    private CompletableFuture<MapSnapshot> snapshot;
+    private int snapshotVersion;
+    private CompletableFuture<Void> snapshotWrite = CompletableFuture.completedFuture(null);
+    private Plot plot;
+
     public LiveCompetitionMap() {
     }
 
@@ -91,6 +99,9 @@ public class LiveCompetitionMap implements ArenaLike, CompetitionMap, PostProces
     }
 
     public void save() throws ParseException, IOException {
+        // The map may have been edited, so read it again next time it is copied
+        this.invalidateSnapshot();
+
         Path mapsPath = this.arena.getMapPath();
         if (Files.notExists(mapsPath)) {
             Files.createDirectories(mapsPath);
@@ -171,6 +182,19 @@ public class LiveCompetitionMap implements ArenaLike, CompetitionMap, PostProces
         return this.parentWorld == null ? this.mapWorld : this.parentWorld;
     }
 
+    /**
+     * Gets the {@link Plot} this map has been copied onto.
+     * <p>
+     * This is only set for dynamic maps placed in a shared world
+     * by the {@link PlotAllocator}.
+     *
+     * @return the plot of this map, or null if the map is not on a plot
+     */
+    @Nullable
+    public final Plot getPlot() {
+        return this.plot;
+    }
+
     /**
      * Gets the {@link Bounds} of the map.
      *
@@ -197,6 +221,145 @@ public class LiveCompetitionMap implements ArenaLike, CompetitionMap, PostProces
      */
     public final void setBounds(Bounds bounds) {
         this.bounds = bounds;
+        this.invalidateSnapshot();
+    }
+
+    /**
+     * Gets the {@link MapSnapshot} of the blocks within the bounds
+     * of this map, which dynamic copies of this map are pasted from.
+     * <p>
+     * The snapshot is loaded the first time it is needed, and kept
+     * until it is {@link #invalidateSnapshot() invalidated}. It is read
+     * from the {@link #getSnapshotPath() snapshot file} of this map if
+     * the world has not been saved since the file was written, and
+     * read from the world over multiple ticks otherwise, after which
+     * the file is written again in the background.
+     * <p>
+     * This snapshot is only a cache of the map. Maps are restored from
+     * a snapshot of their own, which the arena restoration module keeps
+     * beside their schematic.
+     * <p>
+     * Must be called on the main thread, and the returned future is
+     * completed on the main thread as well.
+     *
+     * @return a future completed with the snapshot of this map, or null
+     *         if it could not be created
+     */
+    public final CompletableFuture<MapSnapshot> getSnapshot() {
+        if (this.bounds == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (this.snapshot == null) {
+            CompletableFuture<MapSnapshot> snapshot = this.loadSnapshot();
+            this.snapshot = snapshot;
+
+            // Try again the next time around if the snapshot could not be created
+            snapshot.whenComplete((loaded, e) -> {
+                if (loaded == null && this.snapshot == snapshot) {
+                    this.snapshot = null;
+                }
+            });
+        }
+
+        return this.snapshot;
+    }
+
+    /**
+     * Discards the {@link MapSnapshot} of this map, so it is read
+     * again the next time this map is copied.
+     * <p>
+     * This should be called whenever the blocks within the bounds
+     * of this map have been changed.
+     */
+    public final void invalidateSnapshot() {
+        this.snapshot = null;
+        this.snapshotVersion++;
+
+        // Dynamic copies share the snapshot file with the map they were copied from
+        if (this.parentWorld != null) {
+            return;
+        }
+
+        // Delete the file after any write still in progress, so the old snapshot is not written back
+        Path path = this.getSnapshotPath();
+        this.snapshotWrite = this.snapshotWrite.thenRun(() -> {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                this.arena.getPlugin().error("Failed to delete snapshot of map {} in arena {}!", this.name, this.arena.getName(), e);
+            }
+        });
+    }
+
+    /**
+     * Gets the path of the file the {@link MapSnapshot} of this
+     * map is written to.
+     *
+     * @return the path of the snapshot file
+     */
+    public final Path getSnapshotPath() {
+        return this.arena.getPlugin().getSnapshotsPath()
+                .resolve(this.arena.getName().toLowerCase(Locale.ROOT))
+                .resolve(this.name.toLowerCase(Locale.ROOT) + "." + MapSnapshot.FILE_EXTENSION);
+    }
+
+    private CompletableFuture<MapSnapshot> loadSnapshot() {
+        Path path = this.getSnapshotPath();
+        if (Files.exists(path)) {
+            try {
+                if (this.isSnapshotUpToDate(path)) {
+                    MapSnapshot snapshot = MapSnapshot.read(path);
+                    if (snapshot.covers(this.bounds)) {
+                        return CompletableFuture.completedFuture(snapshot);
+                    }
+                }
+            } catch (IOException e) {
+                this.arena.getPlugin().warn("Failed to read snapshot of map {} in arena {}, reading it from the world instead.", this.name, this.arena.getName(), e);
+            }
+        }
+
+        int version = this.snapshotVersion;
+        return MapSnapshot.capture(this.mapWorld, this.bounds).thenApply(snapshot -> {
+            // The map was changed while it was being read, so the snapshot is already out of date
+            if (snapshot == null || this.snapshotVersion != version) {
+                return snapshot;
+            }
+
+            // Compressing a large snapshot takes a while, so write it off the main thread
+            this.snapshotWrite = this.snapshotWrite.thenRunAsync(() -> {
+                try {
+                    snapshot.write(path);
+                } catch (IOException e) {
+                    this.arena.getPlugin().error("Failed to write snapshot of map {} in arena {}!", this.name, this.arena.getName(), e);
+                }
+            });
+
+            return snapshot;
+        });
+    }
+
+    private boolean isSnapshotUpToDate(Path path) throws IOException {
+        Path regionFolder = this.mapWorld.getWorldFolder().toPath();
+        regionFolder = switch (this.mapWorld.getEnvironment()) {
+            case NETHER -> regionFolder.resolve("DIM-1");
+            case THE_END -> regionFolder.resolve("DIM1");
+            default -> regionFolder;
+        };
+
+        // Any changes to the map since the snapshot was written
+        // have been saved into the region files covering it
+        FileTime snapshotTime = Files.getLastModifiedTime(path);
+        for (int regionX = this.bounds.getMinX() >> 9; regionX <= this.bounds.getMaxX() >> 9; regionX++) {
+            for (int regionZ = this.bounds.getMinZ() >> 9; regionZ <= this.bounds.getMaxZ() >> 9; regionZ++) {
+                Path regionPath = regionFolder.resolve("region").resolve("r." + regionX + "." + regionZ + ".mca");
+                if (Files.exists(regionPath) && Files.getLastModifiedTime(regionPath).compareTo(snapshotTime) > 0) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -228,38 +391,135 @@ public class LiveCompetitionMap implements ArenaLike, CompetitionMap, PostProces
     }
 
     /**
-     * Creates a new dynamic competition for this map.
+     * Creates a new dynamic competition for this map, copying the
+     * map over to its own world within the current tick.
      * <p>
      * This is only supported for maps with a {@link MapType}
      * of type {@link MapType#DYNAMIC}.
      *
      * @param arena the arena to create the competition for
-     * @return the created dynamic competition
+     * @return the created dynamic competition, or null if it could not be created
+     * @deprecated copying a large map within a single tick stalls the
+     *             server. Use {@link #createDynamicCompetitionAsync(Arena)}
+     *             instead, which copies the map over multiple ticks.
      */
     @Nullable
+    @Deprecated
     public final LiveCompetition<?> createDynamicCompetition(Arena arena) {
         if (this.type != MapType.DYNAMIC) {
             throw new IllegalStateException("Cannot create dynamic competition for non-dynamic map!");
         }
 
         String worldName = "ba-dynamic-" + UUID.randomUUID();
-        World world = Bukkit.createWorld(WorldCreator.name(worldName)
-                .generator(VoidChunkGenerator.INSTANCE)
-                .environment(World.Environment.NORMAL)
-                .generateStructures(false)
-                .keepSpawnLoaded(TriState.FALSE)
-                .type(WorldType.NORMAL)
-        );
-
+        World world = createVoidWorld(worldName);
         if (world == null) {
             return null;
         }
 
         if (!BlockUtil.copyToWorld(this.mapWorld, world, this.bounds)) {
-            return null; // Failed to copy
+            // Failed to copy, the world folder is deleted on the next startup
+            Bukkit.unloadWorld(world, false);
+            return null;
         }
 
-        LiveCompetitionMap copy = arena.getMapFactory().create(this.name, arena, this.type, worldName, this.bounds, this.spawns);
+        return this.createCopy(arena, world, this.bounds, this.spawns).createCompetition(arena);
+    }
+
+    /**
+     * Creates a new dynamic competition for this map.
+     * <p>
+     * This is only supported for maps with a {@link MapType}
+     * of type {@link MapType#DYNAMIC}.
+     * <p>
+     * The competition is only created once the map has been copied
+     * over to its world, which is done over multiple ticks. The
+     * returned future is completed on the main thread.
+     *
+     * @param arena the arena to create the competition for
+     * @return a future completed with the created dynamic competition,
+     *         or null if it could not be created
+     */
+    public final CompletableFuture<LiveCompetition<?>> createDynamicCompetitionAsync(Arena arena) {
+        return this.createDynamicMap(arena).thenApply(copy -> copy == null ? null : copy.createCompetition(arena));
+    }
+
+    /**
+     * Creates a new copy of this map in its own world, which a
+     * dynamic competition can be created for.
+     * <p>
+     * This is only supported for maps with a {@link MapType}
+     * of type {@link MapType#DYNAMIC}.
+     * <p>
+     * The blocks of this map are pasted from its {@link #getSnapshot() snapshot}
+     * over multiple ticks. The returned future is completed on the main thread.
+     *
+     * @param arena the arena to create the map for
+     * @return a future completed with the created map, or null if
+     *         it could not be created
+     */
+    public final CompletableFuture<LiveCompetitionMap> createDynamicMap(Arena arena) {
+        if (this.type != MapType.DYNAMIC) {
+            throw new IllegalStateException("Cannot create dynamic map for non-dynamic map!");
+        }
+
+        return this.getSnapshot().thenCompose(snapshot -> {
+            if (snapshot == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            return this.createDynamicMap(arena, snapshot);
+        });
+    }
+
+    private CompletableFuture<LiveCompetitionMap> createDynamicMap(Arena arena, MapSnapshot snapshot) {
+        if (arena.getPlugin().getMainConfig().getDynamicMapAllocation() == DynamicMapAllocation.PLOT) {
+            PlotAllocator plotAllocator = arena.getPlugin().getPlotAllocator();
+            Plot plot = plotAllocator.allocate(this.bounds);
+            if (plot != null) {
+                return this.createPlotMap(arena, snapshot, plot);
+            }
+
+            // Map is too large for a plot, give it a world of its own instead
+            arena.getPlugin().debug("Map {} in arena {} does not fit on a plot, copying it into its own world.", this.name, arena.getName());
+        }
+
+        String worldName = "ba-dynamic-" + UUID.randomUUID();
+        World world = createVoidWorld(worldName);
+        if (world == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return snapshot.paste(world).whenComplete((copied, e) -> {
+            if (!Boolean.TRUE.equals(copied)) {
+                // Failed to copy, the world folder is deleted on the next startup
+                Bukkit.unloadWorld(world, false);
+            }
+        }).thenApply(copied -> copied ? this.createCopy(arena, world, this.bounds, this.spawns) : null);
+    }
+
+    private CompletableFuture<LiveCompetitionMap> createPlotMap(Arena arena, MapSnapshot snapshot, Plot plot) {
+        int offsetX = plot.getBounds().getMinX() - this.bounds.getMinX();
+        int offsetZ = plot.getBounds().getMinZ() - this.bounds.getMinZ();
+        return snapshot.paste(plot.getWorld(), BlockVector3.at(offsetX, 0, offsetZ)).whenComplete((copied, e) -> {
+            if (!Boolean.TRUE.equals(copied)) {
+                arena.getPlugin().getPlotAllocator().release(plot);
+            }
+        }).thenApply(copied -> {
+            if (!copied) {
+                return null;
+            }
+
+            // Spawns are moved onto the plot along with the blocks. Custom
+            // positions of custom map types are copied as they are
+            Spawns spawns = this.spawns == null ? null : this.spawns.offset(offsetX, 0, offsetZ);
+            LiveCompetitionMap copy = this.createCopy(arena, plot.getWorld(), plot.getBounds(), spawns);
+            copy.plot = plot;
+            return copy;
+        });
+    }
+
+    private LiveCompetitionMap createCopy(Arena arena, World world, Bounds bounds, @Nullable Spawns spawns) {
+        LiveCompetitionMap copy = arena.getMapFactory().create(this.name, arena, this.type, world.getName(), bounds, spawns);
         // Copy additional fields for custom maps
         if (copy.getClass() != LiveCompetitionMap.class) {
             Util.copyFields(this, copy);
@@ -269,7 +529,18 @@ public class LiveCompetitionMap implements ArenaLike, CompetitionMap, PostProces
         copy.parentWorld = this.mapWorld;
         copy.postProcess();
 
-        return copy.createCompetition(arena);
+        return copy;
+    }
+
+    @Nullable
+    static World createVoidWorld(String name) {
+        return Bukkit.createWorld(WorldCreator.name(name)
+                .generator(VoidChunkGenerator.INSTANCE)
+                .environment(World.Environment.NORMAL)
+                .generateStructures(false)
+                .keepSpawnLoaded(TriState.FALSE)
+                .type(WorldType.NORMAL)
+        );
     }
 
     /**
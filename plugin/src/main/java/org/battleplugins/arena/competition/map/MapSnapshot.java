@@ -0,0 +1,385 @@
+package org.battleplugins.arena.competition.map;
+
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.WorldEditException;
+import com.sk89q.worldedit.entity.BaseEntity;
+import com.sk89q.worldedit.entity.Entity;
+import com.sk89q.worldedit.extent.Extent;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.math.Vector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.regions.Region;
+import com.sk89q.worldedit.util.Location;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.entity.EntityTypes;
+import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.competition.map.options.Bounds;
+import org.bukkit.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An in-memory copy of the blocks and entities within the
+ * {@link Bounds} of a map.
+ * <p>
+ * Blocks are stored as indices into a palette of the distinct
+ * blocks in the region, using two bytes per block. A snapshot is
+ * never modified after it has been created, so it can be pasted
+ * any number of times without reading the source world again.
+ * <p>
+ * Snapshots can be {@link #write(Path) written} to and {@link #read(Path) read}
+ * from a compact file, so they do not have to be read from the world
+ * again after a restart.
+ */
+public final class MapSnapshot {
+    /**
+     * The file extension of written snapshots.
+     */
+    public static final String FILE_EXTENSION = "bamap";
+
+    static final int MAX_PALETTE_SIZE = 1 << 16;
+
+    private final BlockVector3 min;
+    private final BlockVector3 max;
+    private final List<BaseBlock> palette;
+    private final char[] blocks;
+    private final List<EntitySnapshot> entities;
+
+    MapSnapshot(BlockVector3 min, BlockVector3 max, List<BaseBlock> palette, char[] blocks, List<EntitySnapshot> entities) {
+        this.min = min;
+        this.max = max;
+        this.palette = palette;
+        this.blocks = blocks;
+        this.entities = entities;
+    }
+
+    /**
+     * Reads the blocks and entities within the given {@link Bounds}
+     * of the given world into a new snapshot.
+     * <p>
+     * The region is read one chunk at a time, spending at most a few
+     * milliseconds each tick. Must be called on the main thread, and
+     * the returned future is completed on the main thread as well.
+     *
+     * @param world the world to read from
+     * @param bounds the bounds of the region to read
+     * @return a future completed with the snapshot, or null if the region
+     *         has too many distinct blocks or could not be read
+     */
+    public static CompletableFuture<MapSnapshot> capture(World world, Bounds bounds) {
+        BlockVector3 min = BlockVector3.at(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ());
+        BlockVector3 max = BlockVector3.at(bounds.getMaxX(), bounds.getMaxY(), bounds.getMaxZ());
+
+        Reader reader = new Reader(min, max, "world " + world.getName());
+        return ChunkedEdit.run(
+                world,
+                min,
+                max,
+                (session, chunk) -> reader.readBlocks(session, chunk.getMinimumPoint(), chunk.getMaximumPoint()),
+                reader::readEntities
+        ).thenApply(read -> read ? reader.build() : null);
+    }
+
+    /**
+     * Reads the blocks and entities of the given {@link Clipboard}
+     * into a new snapshot, such as one loaded from a schematic.
+     * <p>
+     * Blocks keep the position they have in the clipboard, so the
+     * snapshot is pasted relative to the minimum point of the
+     * clipboard rather than its origin.
+     *
+     * @param clipboard the clipboard to read from
+     * @return the snapshot, or null if the clipboard has too many distinct blocks
+     */
+    @Nullable
+    public static MapSnapshot create(Clipboard clipboard) {
+        Region region = clipboard.getRegion();
+        return create(clipboard, region.getMinimumPoint(), region.getMaximumPoint(), "clipboard");
+    }
+
+    /**
+     * Reads a snapshot from the given file, which was written
+     * using {@link #write(Path)}.
+     *
+     * @param path the path of the file to read
+     * @return the snapshot
+     * @throws IOException if the file could not be read, or is not a valid snapshot
+     */
+    public static MapSnapshot read(Path path) throws IOException {
+        return MapSnapshotFormat.read(path);
+    }
+
+    @Nullable
+    private static MapSnapshot create(Extent extent, BlockVector3 min, BlockVector3 max, String source) {
+        Reader reader = new Reader(min, max, source);
+        reader.readBlocks(extent, min, max);
+        reader.readEntities(extent);
+        return reader.build();
+    }
+
+    /**
+     * Writes this snapshot to the given file, replacing it if it
+     * already exists.
+     * <p>
+     * Blocks are stored per 16x16x16 section, packed into as few
+     * bits as the distinct blocks of each section need, and the
+     * file is compressed as a whole.
+     *
+     * @param path the path of the file to write
+     * @throws IOException if the file could not be written
+     */
+    public void write(Path path) throws IOException {
+        MapSnapshotFormat.write(this, path);
+    }
+
+    /**
+     * Returns whether this snapshot covers exactly the given
+     * {@link Bounds}.
+     *
+     * @param bounds the bounds to check
+     * @return whether the snapshot covers the bounds
+     */
+    public boolean covers(Bounds bounds) {
+        return this.min.equals(BlockVector3.at(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ()))
+                && this.max.equals(BlockVector3.at(bounds.getMaxX(), bounds.getMaxY(), bounds.getMaxZ()));
+    }
+
+    /**
+     * Returns the minimum point of this snapshot.
+     *
+     * @return the minimum point
+     */
+    public BlockVector3 getMinimumPoint() {
+        return this.min;
+    }
+
+    /**
+     * Returns the maximum point of this snapshot.
+     *
+     * @return the maximum point
+     */
+    public BlockVector3 getMaximumPoint() {
+        return this.max;
+    }
+
+    /**
+     * Returns the block at the given index of this snapshot.
+     * <p>
+     * Blocks are ordered along the x axis first, then the z
+     * axis and finally the y axis.
+     *
+     * @param index the index of the block
+     * @return the block at the index
+     * @see #getPosition(int)
+     */
+    public BaseBlock getBlock(int index) {
+        return this.palette.get(this.blocks[index]);
+    }
+
+    /**
+     * Returns the position of the block at the given index
+     * of this snapshot.
+     *
+     * @param index the index of the block
+     * @return the position of the block
+     * @see #getBlock(int)
+     */
+    public BlockVector3 getPosition(int index) {
+        int width = this.max.getX() - this.min.getX() + 1;
+        int length = this.max.getZ() - this.min.getZ() + 1;
+        return this.min.add(index % width, index / (width * length), index / width % length);
+    }
+
+    /**
+     * Returns the number of distinct blocks in this snapshot.
+     *
+     * @return the number of distinct blocks
+     */
+    public int getPaletteSize() {
+        return this.palette.size();
+    }
+
+    /**
+     * Returns the number of blocks in this snapshot.
+     *
+     * @return the number of blocks
+     */
+    public int getBlockCount() {
+        return this.blocks.length;
+    }
+
+    /**
+     * Pastes this snapshot into the given world, at the position
+     * it was read from.
+     *
+     * @param world the world to paste into
+     * @return a future completed with whether the snapshot was pasted
+     * @see #paste(World, BlockVector3)
+     */
+    public CompletableFuture<Boolean> paste(World world) {
+        return this.paste(world, BlockVector3.ZERO);
+    }
+
+    /**
+     * Pastes this snapshot into the given world, moved by the given
+     * offset from the position it was read from.
+     * <p>
+     * The snapshot is pasted one chunk at a time, spending at most a
+     * few milliseconds each tick. Air is not written, so the region is
+     * expected to be empty, as is the case for the void worlds dynamic
+     * maps are copied into. Must be called on the main thread, and the
+     * returned future is completed on the main thread as well.
+     *
+     * @param world the world to paste into
+     * @param offset the offset to move the snapshot by
+     * @return a future completed with whether the snapshot was pasted
+     */
+    public CompletableFuture<Boolean> paste(World world, BlockVector3 offset) {
+        return ChunkedEdit.run(
+                world,
+                this.min.add(offset),
+                this.max.add(offset),
+                (session, chunk) -> this.pasteChunk(session, chunk, offset),
+                // Entities are placed last, so they have blocks to stand on
+                session -> this.pasteEntities(session, offset)
+        );
+    }
+
+    private void pasteChunk(EditSession session, CuboidRegion chunk, BlockVector3 offset) throws WorldEditException {
+        BlockVector3 chunkMin = chunk.getMinimumPoint().subtract(offset);
+        BlockVector3 chunkMax = chunk.getMaximumPoint().subtract(offset);
+
+        int width = this.max.getX() - this.min.getX() + 1;
+        int length = this.max.getZ() - this.min.getZ() + 1;
+        for (int y = chunkMin.getY(); y <= chunkMax.getY(); y++) {
+            for (int z = chunkMin.getZ(); z <= chunkMax.getZ(); z++) {
+                int index = ((y - this.min.getY()) * length + (z - this.min.getZ())) * width + (chunkMin.getX() - this.min.getX());
+                for (int x = chunkMin.getX(); x <= chunkMax.getX(); x++) {
+                    BaseBlock block = this.palette.get(this.blocks[index++]);
+                    if (block.getBlockType().getMaterial().isAir()) {
+                        continue;
+                    }
+
+                    session.setBlock(BlockVector3.at(x + offset.getX(), y + offset.getY(), z + offset.getZ()), block);
+                }
+            }
+        }
+    }
+
+    /**
+     * Places the entities of this snapshot, moved by the given
+     * offset from the position they were read from.
+     *
+     * @param session the edit session to place the entities with
+     * @param offset the offset to move the entities by
+     */
+    public void pasteEntities(EditSession session, BlockVector3 offset) {
+        for (EntitySnapshot entity : this.entities) {
+            session.createEntity(new Location(session, entity.position().add(offset.toVector3()), entity.yaw(), entity.pitch()), entity.state());
+        }
+    }
+
+    List<BaseBlock> getPalette() {
+        return this.palette;
+    }
+
+    char[] getBlocks() {
+        return this.blocks;
+    }
+
+    List<EntitySnapshot> getEntities() {
+        return this.entities;
+    }
+
+    record EntitySnapshot(Vector3 position, float yaw, float pitch, BaseEntity state) {
+    }
+
+    /**
+     * Reads a region into a snapshot, which can be done a part
+     * of the region at a time.
+     */
+    private static final class Reader {
+        private final BlockVector3 min;
+        private final BlockVector3 max;
+        private final String source;
+
+        private final List<BaseBlock> palette = new ArrayList<>();
+        private final Map<BaseBlock, Character> paletteIndices = new HashMap<>();
+        private final char[] blocks;
+        private final List<EntitySnapshot> entities = new ArrayList<>();
+
+        private boolean paletteFull;
+
+        Reader(BlockVector3 min, BlockVector3 max, String source) {
+            this.min = min;
+            this.max = max;
+            this.source = source;
+
+            int width = max.getX() - min.getX() + 1;
+            int length = max.getZ() - min.getZ() + 1;
+            int height = max.getY() - min.getY() + 1;
+            this.blocks = new char[width * length * height];
+        }
+
+        void readBlocks(Extent extent, BlockVector3 from, BlockVector3 to) {
+            // No snapshot can be created anymore, so skip reading the rest
+            if (this.paletteFull) {
+                return;
+            }
+
+            int width = this.max.getX() - this.min.getX() + 1;
+            int length = this.max.getZ() - this.min.getZ() + 1;
+            for (int y = from.getY(); y <= to.getY(); y++) {
+                for (int z = from.getZ(); z <= to.getZ(); z++) {
+                    int index = ((y - this.min.getY()) * length + (z - this.min.getZ())) * width + (from.getX() - this.min.getX());
+                    for (int x = from.getX(); x <= to.getX(); x++) {
+                        BaseBlock block = extent.getFullBlock(BlockVector3.at(x, y, z));
+                        Character paletteIndex = this.paletteIndices.get(block);
+                        if (paletteIndex == null) {
+                            if (this.palette.size() >= MAX_PALETTE_SIZE) {
+                                BattleArena.getInstance().error("Region in {} has more than {} distinct blocks! Cannot create a snapshot of it.", this.source, MAX_PALETTE_SIZE);
+                                this.paletteFull = true;
+                                return;
+                            }
+
+                            paletteIndex = (char) this.palette.size();
+                            this.paletteIndices.put(block, paletteIndex);
+                            this.palette.add(block);
+                        }
+
+                        this.blocks[index++] = paletteIndex;
+                    }
+                }
+            }
+        }
+
+        void readEntities(Extent extent) {
+            for (Entity entity : extent.getEntities(new CuboidRegion(this.min, this.max))) {
+                BaseEntity state = entity.getState();
+                if (state == null || state.getType() == EntityTypes.PLAYER) {
+                    continue;
+                }
+
+                Location location = entity.getLocation();
+                this.entities.add(new EntitySnapshot(location.toVector(), location.getYaw(), location.getPitch(), state));
+            }
+        }
+
+        @Nullable
+        MapSnapshot build() {
+            if (this.paletteFull) {
+                return null;
+            }
+
+            return new MapSnapshot(this.min, this.max, List.copyOf(this.palette), this.blocks, List.copyOf(this.entities));
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package org.battleplugins.arena.competition.map;
+
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.jnbt.NBTInputStream;
+import com.sk89q.jnbt.NBTOutputStream;
+import com.sk89q.jnbt.Tag;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.entity.BaseEntity;
+import com.sk89q.worldedit.extension.input.InputParseException;
+import com.sk89q.worldedit.extension.input.ParserContext;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.math.Vector3;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.entity.EntityType;
+import com.sk89q.worldedit.world.entity.EntityTypes;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads and writes {@link MapSnapshot map snapshots} from and to files.
+ * <p>
+ * A file starts with a magic number and the format version, followed
+ * by the deflate-compressed body. The body holds the bounds of the
+ * snapshot, its palette, then each 16x16x16 section of the region,
+ * and finally its entities. Sections made up of a single block only
+ * store its palette index. Other sections store a palette of their
+ * own, and pack the index of each block into that palette into
+ * longs, using as few bits as the section palette needs.
+ */
+final class MapSnapshotFormat {
+    private static final int MAGIC = 0x42414D53; // BAMS
+    private static final int VERSION = 1;
+
+    private static final int SECTION_SIZE = 16;
+    private static final int SECTION_VOLUME = SECTION_SIZE * SECTION_SIZE * SECTION_SIZE;
+
+    private MapSnapshotFormat() {
+    }
+
+    static void write(MapSnapshot snapshot, Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+
+        // Write to a separate file first, so a snapshot is never left half written
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(tempPath))) {
+            DataOutputStream header = new DataOutputStream(file);
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+
+            try (DataOutputStream body = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(file)))) {
+                writeBody(snapshot, body);
+            }
+        }
+
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static MapSnapshot read(Path path) throws IOException {
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path))) {
+            DataInputStream header = new DataInputStream(file);
+            int magic;
+            try {
+                magic = header.readInt();
+            } catch (EOFException e) {
+                throw new IOException("File " + path + " is not a map snapshot!", e);
+            }
+
+            if (magic != MAGIC) {
+                throw new IOException("File " + path + " is not a map snapshot!");
+            }
+
+            int version = header.readInt();
+            if (version != VERSION) {
+                throw new IOException("Map snapshot " + path + " has unsupported version " + version + "!");
+            }
+
+            try (DataInputStream body = new DataInputStream(new BufferedInputStream(new InflaterInputStream(file)))) {
+                return readBody(body);
+            }
+        }
+    }
+
+    private static void writeBody(MapSnapshot snapshot, DataOutputStream out) throws IOException {
+        BlockVector3 min = snapshot.getMinimumPoint();
+        BlockVector3 max = snapshot.getMaximumPoint();
+        writeVector(out, min);
+        writeVector(out, max);
+
+        List<BaseBlock> palette = snapshot.getPalette();
+        out.writeInt(palette.size());
+        for (BaseBlock block : palette) {
+            out.writeUTF(block.toImmutableState().getAsString());
+            writeNbt(out, block.getNbtData());
+        }
+
+        int width = max.getX() - min.getX() + 1;
+        int length = max.getZ() - min.getZ() + 1;
+        int height = max.getY() - min.getY() + 1;
+        char[] blocks = snapshot.getBlocks();
+
+        // Maps palette indices to section palette indices, reset after each section
+        int[] sectionIndices = new int[palette.size()];
+        Arrays.fill(sectionIndices, -1);
+
+        char[] section = new char[SECTION_VOLUME];
+        List<Character> sectionPalette = new ArrayList<>();
+        for (int sectionY = 0; sectionY < height; sectionY += SECTION_SIZE) {
+            for (int sectionZ = 0; sectionZ < length; sectionZ += SECTION_SIZE) {
+                for (int sectionX = 0; sectionX < width; sectionX += SECTION_SIZE) {
+                    // Blocks outside the region are stored as the first block of the section
+                    int sectionIndex = 0;
+                    for (int y = sectionY; y < sectionY + SECTION_SIZE; y++) {
+                        for (int z = sectionZ; z < sectionZ + SECTION_SIZE; z++) {
+                            for (int x = sectionX; x < sectionX + SECTION_SIZE; x++) {
+                                if (x >= width || y >= height || z >= length) {
+                                    section[sectionIndex++] = 0;
+                                    continue;
+                                }
+
+                                char paletteIndex = blocks[(y * length + z) * width + x];
+                                if (sectionIndices[paletteIndex] == -1) {
+                                    sectionIndices[paletteIndex] = sectionPalette.size();
+                                    sectionPalette.add(paletteIndex);
+                                }
+
+                                section[sectionIndex++] = (char) sectionIndices[paletteIndex];
+                            }
+                        }
+                    }
+
+                    writeSection(out, section, sectionPalette);
+
+                    for (char paletteIndex : sectionPalette) {
+                        sectionIndices[paletteIndex] = -1;
+                    }
+
+                    sectionPalette.clear();
+                }
+            }
+        }
+
+        List<MapSnapshot.EntitySnapshot> entities = snapshot.getEntities();
+        out.writeInt(entities.size());
+        for (MapSnapshot.EntitySnapshot entity : entities) {
+            out.writeDouble(entity.position().getX());
+            out.writeDouble(entity.position().getY());
+            out.writeDouble(entity.position().getZ());
+            out.writeFloat(entity.yaw());
+            out.writeFloat(entity.pitch());
+            out.writeUTF(entity.state().getType().getId());
+            writeNbt(out, entity.state().getNbtData());
+        }
+    }
+
+    private static void writeSection(DataOutputStream out, char[] section, List<Character> sectionPalette) throws IOException {
+        int bits = bitsFor(sectionPalette.size());
+        out.writeByte(bits);
+        if (bits == 0) {
+            out.writeChar(sectionPalette.get(0));
+            return;
+        }
+
+        out.writeChar(sectionPalette.size());
+        for (char paletteIndex : sectionPalette) {
+            out.writeChar(paletteIndex);
+        }
+
+        // Entries do not span across longs, so each can be read from a single long
+        int entriesPerLong = Long.SIZE / bits;
+        long[] data = new long[(SECTION_VOLUME + entriesPerLong - 1) / entriesPerLong];
+        for (int i = 0; i < SECTION_VOLUME; i++) {
+            data[i / entriesPerLong] |= (long) section[i] << ((i % entriesPerLong) * bits);
+        }
+
+        for (long value : data) {
+            out.writeLong(value);
+        }
+    }
+
+    private static MapSnapshot readBody(DataInputStream in) throws IOException {
+        BlockVector3 min = readVector(in);
+        BlockVector3 max = readVector(in);
+
+        int paletteSize = in.readInt();
+        if (paletteSize <= 0 || paletteSize > MapSnapshot.MAX_PALETTE_SIZE) {
+            throw new IOException("Map snapshot has an invalid palette size of " + paletteSize + "!");
+        }
+
+        ParserContext context = new ParserContext();
+        context.setRestricted(false);
+        context.setTryLegacy(false);
+        context.setPreferringWildcard(false);
+
+        List<BaseBlock> palette = new ArrayList<>(paletteSize);
+        for (int i = 0; i < paletteSize; i++) {
+            String state = in.readUTF();
+            CompoundTag nbt = readNbt(in);
+            try {
+                BlockState blockState = WorldEdit.getInstance().getBlockFactory().parseFromInput(state, context).toImmutableState();
+                palette.add(nbt == null ? blockState.toBaseBlock() : blockState.toBaseBlock(nbt));
+            } catch (InputParseException e) {
+                throw new IOException("Map snapshot has an invalid block " + state + "!", e);
+            }
+        }
+
+        int width = max.getX() - min.getX() + 1;
+        int length = max.getZ() - min.getZ() + 1;
+        int height = max.getY() - min.getY() + 1;
+        char[] blocks = new char[width * length * height];
+
+        char[] section = new char[SECTION_VOLUME];
+        for (int sectionY = 0; sectionY < height; sectionY += SECTION_SIZE) {
+            for (int sectionZ = 0; sectionZ < length; sectionZ += SECTION_SIZE) {
+                for (int sectionX = 0; sectionX < width; sectionX += SECTION_SIZE) {
+                    readSection(in, section, paletteSize);
+
+                    int sectionIndex = 0;
+                    for (int y = sectionY; y < sectionY + SECTION_SIZE; y++) {
+                        for (int z = sectionZ; z < sectionZ + SECTION_SIZE; z++) {
+                            for (int x = sectionX; x < sectionX + SECTION_SIZE; x++) {
+                                char paletteIndex = section[sectionIndex++];
+                                if (x < width && y < height && z < length) {
+                                    blocks[(y * length + z) * width + x] = paletteIndex;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        int entityCount = in.readInt();
+        List<MapSnapshot.EntitySnapshot> entities = new ArrayList<>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            Vector3 position = Vector3.at(in.readDouble(), in.readDouble(), in.readDouble());
+            float yaw = in.readFloat();
+            float pitch = in.readFloat();
+            String type = in.readUTF();
+            CompoundTag nbt = readNbt(in);
+
+            EntityType entityType = EntityTypes.get(type);
+            if (entityType == null) {
+                continue; // Entity type no longer exists
+            }
+
+            entities.add(new MapSnapshot.EntitySnapshot(position, yaw, pitch, new BaseEntity(entityType, nbt)));
+        }
+
+        return new MapSnapshot(min, max, List.copyOf(palette), blocks, List.copyOf(entities));
+    }
+
+    private static void readSection(DataInputStream in, char[] section, int paletteSize) throws IOException {
+        int bits = in.readByte();
+        if (bits == 0) {
+            Arrays.fill(section, checkIndex(in.readChar(), paletteSize));
+            return;
+        }
+
+        int sectionPaletteSize = in.readChar();
+        if (bits != bitsFor(sectionPaletteSize)) {
+            throw new IOException("Map snapshot has a section with " + bits + " bits for " + sectionPaletteSize + " blocks!");
+        }
+
+        char[] sectionPalette = new char[sectionPaletteSize];
+        for (int i = 0; i < sectionPaletteSize; i++) {
+            sectionPalette[i] = checkIndex(in.readChar(), paletteSize);
+        }
+
+        int entriesPerLong = Long.SIZE / bits;
+        long mask = (1L << bits) - 1;
+        long value = 0;
+        for (int i = 0; i < SECTION_VOLUME; i++) {
+            if (i % entriesPerLong == 0) {
+                value = in.readLong();
+            }
+
+            int sectionIndex = (int) ((value >>> ((i % entriesPerLong) * bits)) & mask);
+            if (sectionIndex >= sectionPaletteSize) {
+                throw new IOException("Map snapshot has a block outside of its section palette!");
+            }
+
+            section[i] = sectionPalette[sectionIndex];
+        }
+    }
+
+    private static char checkIndex(char paletteIndex, int paletteSize) throws IOException {
+        if (paletteIndex >= paletteSize) {
+            throw new IOException("Map snapshot has a block outside of its palette!");
+        }
+
+        return paletteIndex;
+    }
+
+    private static int bitsFor(int paletteSize) {
+        return paletteSize <= 1 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(paletteSize - 1);
+    }
+
+    private static void writeVector(DataOutputStream out, BlockVector3 vector) throws IOException {
+        out.writeInt(vector.getX());
+        out.writeInt(vector.getY());
+        out.writeInt(vector.getZ());
+    }
+
+    private static BlockVector3 readVector(DataInputStream in) throws IOException {
+        return BlockVector3.at(in.readInt(), in.readInt(), in.readInt());
+    }
+
+    private static void writeNbt(DataOutputStream out, @Nullable CompoundTag nbt) throws IOException {
+        if (nbt == null) {
+            out.writeInt(0);
+            return;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (NBTOutputStream nbtOut = new NBTOutputStream(bytes)) {
+            nbtOut.writeNamedTag("", nbt);
+        }
+
+        out.writeInt(bytes.size());
+        bytes.writeTo(out);
+    }
+
+    @Nullable
+    private static CompoundTag readNbt(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size == 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[size];
+        in.readFully(bytes);
+        try (NBTInputStream nbtIn = new NBTInputStream(new ByteArrayInputStream(bytes))) {
+            Tag tag = nbtIn.readNamedTag().getTag();
+            if (!(tag instanceof CompoundTag compoundTag)) {
+                throw new IOException("Map snapshot has invalid NBT data!");
+            }
+
+            return compoundTag;
+        }
+    }
+}
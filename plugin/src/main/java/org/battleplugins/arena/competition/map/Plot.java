@@ -0,0 +1,74 @@
+package org.battleplugins.arena.competition.map;
+
+import org.battleplugins.arena.competition.map.options.Bounds;
+import org.bukkit.World;
+
+/**
+ * A plot in one of the shared worlds of the {@link PlotAllocator},
+ * holding a copy of a dynamic map.
+ */
+public final class Plot {
+    private final World world;
+    private final int index;
+    private final int x;
+    private final int z;
+
+    private Bounds bounds;
+
+    Plot(World world, int index, int x, int z) {
+        this.world = world;
+        this.index = index;
+        this.x = x;
+        this.z = z;
+    }
+
+    /**
+     * Returns the world this plot is in.
+     *
+     * @return the world this plot is in
+     */
+    public World getWorld() {
+        return this.world;
+    }
+
+    /**
+     * Returns the index of this plot, which is unique among
+     * the plots of the {@link PlotAllocator}.
+     *
+     * @return the index of this plot
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Returns the X coordinate of the corner of this plot.
+     *
+     * @return the X coordinate of the corner of this plot
+     */
+    public int getX() {
+        return this.x;
+    }
+
+    /**
+     * Returns the Z coordinate of the corner of this plot.
+     *
+     * @return the Z coordinate of the corner of this plot
+     */
+    public int getZ() {
+        return this.z;
+    }
+
+    /**
+     * Returns the bounds of the map copy on this plot.
+     *
+     * @return the bounds of the map copy on this plot
+     */
+    public Bounds getBounds() {
+        return this.bounds;
+    }
+
+    void setBounds(Bounds bounds) {
+        this.bounds = bounds;
+    }
+}
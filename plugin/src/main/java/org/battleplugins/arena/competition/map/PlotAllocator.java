@@ -0,0 +1,186 @@
+package org.battleplugins.arena.competition.map;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.competition.map.options.Bounds;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.util.BoundingBox;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Places copies of dynamic maps on plots in a few shared void worlds,
+ * when the {@link DynamicMapAllocation} is {@link DynamicMapAllocation#PLOT}.
+ * <p>
+ * Plots are laid out in a grid in each world, and worlds are only
+ * created once every plot in the previous worlds is taken. Plots which
+ * are no longer used are cleared and reused, so creating and deleting
+ * worlds is kept out of the lifecycle of a competition.
+ */
+public final class PlotAllocator {
+    private static final String WORLD_PREFIX = "ba-dynamic-plots-";
+    private static final int PLOTS_PER_ROW = 8;
+    private static final int PLOTS_PER_WORLD = PLOTS_PER_ROW * PLOTS_PER_ROW;
+    private static final int PLOT_SPACING = 64;
+
+    private final BattleArena plugin;
+
+    private final List<World> worlds = new ArrayList<>();
+    private final Deque<Plot> freePlots = new ArrayDeque<>();
+
+    private int nextIndex;
+
+    public PlotAllocator(BattleArena plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Returns whether a map with the given {@link Bounds} fits on a plot.
+     *
+     * @param bounds the bounds of the map
+     * @return whether the map fits on a plot
+     */
+    public boolean fits(Bounds bounds) {
+        int plotSize = this.getPlotSize();
+        return bounds.getMaxX() - bounds.getMinX() < plotSize && bounds.getMaxZ() - bounds.getMinZ() < plotSize;
+    }
+
+    /**
+     * Takes a free plot for a copy of a map with the given {@link Bounds}.
+     * <p>
+     * The bounds of the returned plot are the given bounds, moved
+     * onto the plot.
+     *
+     * @param bounds the bounds of the map
+     * @return the plot, or null if the map does not fit on a plot or
+     *         no world could be created for it
+     */
+    @Nullable
+    public Plot allocate(Bounds bounds) {
+        if (!this.fits(bounds)) {
+            return null;
+        }
+
+        Plot plot = this.freePlots.poll();
+        if (plot == null) {
+            plot = this.createPlot();
+            if (plot == null) {
+                return null;
+            }
+        }
+
+        plot.setBounds(bounds.offset(plot.getX() - bounds.getMinX(), 0, plot.getZ() - bounds.getMinZ()));
+        return plot;
+    }
+
+    /**
+     * Clears the given {@link Plot} over the following ticks, after
+     * which it can be allocated again.
+     *
+     * @param plot the plot to release
+     */
+    public void release(Plot plot) {
+        World world = plot.getWorld();
+
+        // Remove anything left behind on the plot, such as dropped items
+        int plotSize = this.getPlotSize();
+        BoundingBox box = new BoundingBox(
+                plot.getX() - PLOT_SPACING / 2.0, world.getMinHeight(), plot.getZ() - PLOT_SPACING / 2.0,
+                plot.getX() + plotSize + PLOT_SPACING / 2.0, world.getMaxHeight(), plot.getZ() + plotSize + PLOT_SPACING / 2.0
+        );
+
+        for (Entity entity : world.getNearbyEntities(box)) {
+            if (!(entity instanceof Player)) {
+                entity.remove();
+            }
+        }
+
+        Bounds bounds = plot.getBounds();
+        ChunkedEdit.run(
+                world,
+                BlockVector3.at(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ()),
+                BlockVector3.at(bounds.getMaxX(), bounds.getMaxY(), bounds.getMaxZ()),
+                (session, chunk) -> session.setBlocks(chunk, BlockTypes.AIR.getDefaultState()),
+                session -> {
+                }
+        ).thenAccept(cleared -> {
+            // Plots which could not be cleared are not reused, and the
+            // world may have been removed while the plot was cleared
+            if (!cleared || !this.worlds.contains(world)) {
+                return;
+            }
+
+            plot.setBounds(null);
+            this.freePlots.add(plot);
+        });
+    }
+
+    /**
+     * Creates the first shared world ahead of time, so the first
+     * dynamic competition does not have to wait for it.
+     */
+    public void prepare() {
+        if (this.worlds.isEmpty()) {
+            this.createWorld();
+        }
+    }
+
+    /**
+     * Unloads every shared world and forgets about all plots.
+     * <p>
+     * The world folders are deleted along with other dynamic maps.
+     */
+    public void clear() {
+        for (World world : this.worlds) {
+            Bukkit.unloadWorld(world, false);
+        }
+
+        this.worlds.clear();
+        this.freePlots.clear();
+        this.nextIndex = 0;
+    }
+
+    @Nullable
+    private Plot createPlot() {
+        int index = this.nextIndex;
+        int worldIndex = index / PLOTS_PER_WORLD;
+        if (worldIndex >= this.worlds.size() && this.createWorld() == null) {
+            return null;
+        }
+
+        this.nextIndex++;
+
+        // Round up to whole chunks, so no chunk is shared between plots
+        int stride = ((this.getPlotSize() + 15) >> 4 << 4) + PLOT_SPACING;
+        int plotIndex = index % PLOTS_PER_WORLD;
+        return new Plot(this.worlds.get(worldIndex), index, (plotIndex % PLOTS_PER_ROW) * stride, (plotIndex / PLOTS_PER_ROW) * stride);
+    }
+
+    @Nullable
+    private World createWorld() {
+        // Names are unique, since folders of previous plot worlds
+        // may still be deleted in the background
+        String worldName = WORLD_PREFIX + UUID.randomUUID();
+        World world = LiveCompetitionMap.createVoidWorld(worldName);
+        if (world == null) {
+            this.plugin.error("Failed to create world {} for dynamic map plots!", worldName);
+            return null;
+        }
+
+        this.worlds.add(world);
+        return world;
+    }
+
+    private int getPlotSize() {
+        return this.plugin.getMainConfig().getDynamicPlotSize();
+    }
+}
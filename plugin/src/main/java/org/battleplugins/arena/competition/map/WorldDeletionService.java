@@ -0,0 +1,146 @@
+package org.battleplugins.arena.competition.map;
+
+import org.battleplugins.arena.util.LoggerHolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Deletes the folders of unloaded worlds on a background thread.
+ * <p>
+ * Folders are recorded in a tombstone file before they are deleted,
+ * and removed from it once they are gone. Folders which were not fully
+ * deleted when the server stopped are deleted again on the next start.
+ */
+public final class WorldDeletionService {
+    private final Path tombstonePath;
+    private final LoggerHolder logger;
+
+    private final BlockingQueue<Path> folders = new LinkedBlockingQueue<>();
+    private final Thread deletionThread;
+
+    // Only accessed from the deletion thread
+    private final Set<Path> tombstones = new LinkedHashSet<>();
+
+    private volatile boolean running = true;
+
+    public WorldDeletionService(Path tombstonePath, LoggerHolder logger) {
+        this.tombstonePath = tombstonePath;
+        this.logger = logger;
+
+        this.deletionThread = new Thread(this::run, "BattleArena World Deletion");
+        this.deletionThread.setDaemon(true);
+        this.deletionThread.start();
+    }
+
+    /**
+     * Deletes the given world folder in the background.
+     * <p>
+     * The world must already be unloaded.
+     *
+     * @param folder the world folder to delete
+     */
+    public void delete(Path folder) {
+        if (!this.running) {
+            return;
+        }
+
+        this.folders.offer(folder.toAbsolutePath());
+    }
+
+    /**
+     * Stops the deletion thread after it has deleted all
+     * pending folders.
+     * <p>
+     * Folders which are still pending after waiting for the
+     * thread are deleted on the next start.
+     */
+    public void close() {
+        this.running = false;
+
+        try {
+            this.deletionThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (this.deletionThread.isAlive()) {
+            this.logger.warn("World deletion did not finish within 10 seconds. Remaining worlds will be deleted on the next start.");
+        }
+    }
+
+    private void run() {
+        // Resume deleting folders from the previous run
+        if (Files.exists(this.tombstonePath)) {
+            try {
+                for (String line : Files.readAllLines(this.tombstonePath)) {
+                    if (!line.isBlank()) {
+                        this.folders.offer(Path.of(line));
+                    }
+                }
+            } catch (IOException e) {
+                this.logger.error("Failed to read world tombstones from {}!", this.tombstonePath, e);
+            }
+        }
+
+        while (this.running || !this.folders.isEmpty()) {
+            try {
+                Path folder = this.folders.poll(1, TimeUnit.SECONDS);
+                if (folder != null) {
+                    this.process(folder);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    private void process(Path folder) {
+        try {
+            if (this.tombstones.add(folder)) {
+                this.writeTombstones();
+            }
+
+            deleteFolder(folder);
+
+            this.tombstones.remove(folder);
+            this.writeTombstones();
+        } catch (IOException e) {
+            // Tombstone is kept, so deleting the folder is retried on the next start
+            this.logger.error("Failed to delete world folder {}!", folder, e);
+        }
+    }
+
+    private void writeTombstones() throws IOException {
+        if (this.tombstones.isEmpty()) {
+            Files.deleteIfExists(this.tombstonePath);
+            return;
+        }
+
+        Files.createDirectories(this.tombstonePath.getParent());
+        Files.write(this.tombstonePath, this.tombstones.stream().map(Path::toString).toList());
+    }
+
+    private static void deleteFolder(Path folder) throws IOException {
+        if (Files.notExists(folder)) {
+            return;
+        }
+
+        try (Stream<Path> pathsToDelete = Files.walk(folder)) {
+            List<Path> paths = pathsToDelete.sorted(Comparator.reverseOrder()).toList();
+            for (Path path : paths) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -127,6 +127,10 @@ public class Bounds {
         return x >= this.minX && x <= this.maxX && z >= this.minZ && z <= this.maxZ;
     }
 
+    public Bounds offset(int x, int y, int z) {
+        return new Bounds(this.minX + x, this.minY + y, this.minZ + z, this.maxX + x, this.maxY + y, this.maxZ + z);
+    }
+
     public BoundingBox toBoundingBox() {
         return new BoundingBox(
                 this.minX,
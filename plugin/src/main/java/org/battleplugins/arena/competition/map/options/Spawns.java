@@ -4,6 +4,7 @@ import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.util.PositionWithRotation;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -43,6 +44,22 @@ public class Spawns {
         return this.teamSpawns;
     }
 
+    public final Spawns offset(double x, double y, double z) {
+        Map<String, TeamSpawns> teamSpawns = null;
+        if (this.teamSpawns != null) {
+            teamSpawns = new HashMap<>(this.teamSpawns.size());
+            for (Map.Entry<String, TeamSpawns> entry : this.teamSpawns.entrySet()) {
+                teamSpawns.put(entry.getKey(), entry.getValue().offset(x, y, z));
+            }
+        }
+
+        return new Spawns(
+                this.waitroomSpawn == null ? null : this.waitroomSpawn.offset(x, y, z),
+                this.spectatorSpawn == null ? null : this.spectatorSpawn.offset(x, y, z),
+                teamSpawns
+        );
+    }
+
     public final int getSpawnPointCount() {
         if (this.teamSpawns == null) {
             return 0;
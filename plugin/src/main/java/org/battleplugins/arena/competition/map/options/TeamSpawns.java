@@ -4,6 +4,7 @@ import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.util.PositionWithRotation;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -25,4 +26,17 @@ public class TeamSpawns {
     public final List<PositionWithRotation> getSpawns() {
         return this.spawns;
     }
+
+    public final TeamSpawns offset(double x, double y, double z) {
+        if (this.spawns == null) {
+            return new TeamSpawns(null);
+        }
+
+        List<PositionWithRotation> spawns = new ArrayList<>(this.spawns.size());
+        for (PositionWithRotation spawn : this.spawns) {
+            spawns.add(spawn.offset(x, y, z));
+        }
+
+        return new TeamSpawns(spawns);
+    }
 }
@@ -1,5 +1,6 @@
 package org.battleplugins.arena.competition.phase;
 
+import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.competition.Competition;
 import org.battleplugins.arena.competition.CompetitionLike;
 import org.battleplugins.arena.config.ArenaOption;
@@ -14,6 +15,9 @@ import org.battleplugins.arena.options.ArenaOptionType;
 import org.battleplugins.arena.util.Describable;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -51,6 +55,8 @@ public abstract class CompetitionPhase<T extends Competition<T>> implements Comp
     )
     protected Map<ArenaOptionType<?>, org.battleplugins.arena.options.ArenaOption> options;
 
+    private Map<ArenaEventType<?>, List<EventAction>> actionChains;
+
     // API methods
 
     /**
@@ -103,7 +109,53 @@ public abstract class CompetitionPhase<T extends Competition<T>> implements Comp
      * @return the event actions for this phase
      */
     public final Map<ArenaEventType<?>, List<EventAction>> getEventActions() {
-        return Map.copyOf(this.eventActions);
+        return this.eventActions == null ? Map.of() : Collections.unmodifiableMap(this.eventActions);
+    }
+
+    /**
+     * Gets the {@link EventAction actions} to run for the given
+     * {@link ArenaEventType} while this phase is active.
+     * <p>
+     * This is the actions of the {@link Arena}, followed by the
+     * actions of this phase. The chain is assembled once when the
+     * phase starts.
+     *
+     * @param eventType the event type
+     * @return the actions to run for the event type
+     */
+    public final List<EventAction> getActionChain(ArenaEventType<?> eventType) {
+        if (this.actionChains == null) {
+            return List.of();
+        }
+
+        return this.actionChains.getOrDefault(eventType, List.of());
+    }
+
+    /**
+     * Assembles the action chains of this phase for the given {@link Arena}.
+     *
+     * @param arena the arena this phase is running in
+     */
+    final void buildActionChains(Arena arena) {
+        Map<ArenaEventType<?>, List<EventAction>> actionChains = new HashMap<>();
+        appendActions(actionChains, arena.getEventActions());
+        appendActions(actionChains, this.eventActions);
+
+        Map<ArenaEventType<?>, List<EventAction>> compiledChains = new HashMap<>();
+        actionChains.forEach((eventType, actions) -> compiledChains.put(eventType, List.copyOf(actions)));
+        this.actionChains = Map.copyOf(compiledChains);
+    }
+
+    private static void appendActions(Map<ArenaEventType<?>, List<EventAction>> actionChains, @Nullable Map<ArenaEventType<?>, List<EventAction>> eventActions) {
+        if (eventActions == null) {
+            return;
+        }
+
+        eventActions.forEach((eventType, actions) -> {
+            if (actions != null && !actions.isEmpty()) {
+                actionChains.computeIfAbsent(eventType, key -> new ArrayList<>()).addAll(actions);
+            }
+        });
     }
 
     /**
@@ -2,6 +2,7 @@ package org.battleplugins.arena.competition.phase;
 
 import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.competition.Competition;
+import org.battleplugins.arena.competition.LiveCompetition;
 
 /**
  * Manages the phases of a competition.
@@ -38,6 +39,7 @@ public class PhaseManager<T extends Competition<T>> {
         this.end(complete);
 
         this.currentPhase = this.arena.createPhase(phaseType, this.competition);
+        this.currentPhase.buildActionChains(this.arena);
         this.arena.getEventManager().registerEvents(this.currentPhase);
         this.currentPhase.start();
     }
@@ -49,6 +51,11 @@ public class PhaseManager<T extends Competition<T>> {
      */
     public void end(boolean complete) {
         if (this.currentPhase != null) {
+            // Coalesced stat changes belong to the phase they happened in
+            if (this.competition instanceof LiveCompetition<?> liveCompetition) {
+                liveCompetition.getStatChangeDispatcher().flush();
+            }
+
             if (complete) {
                 this.currentPhase.complete();
             }
@@ -132,7 +132,7 @@ public class VictoryManager<T extends Competition<T>> implements ArenaListener,
     public Resolver resolve() {
         Resolver.Builder builder = Resolver.builder();
         for (VictoryCondition<?> value : this.victoryConditions.values()) {
-            value.resolve().mergeInto(builder);
+            builder.inherit(value);
         }
 
         return builder.build();
@@ -10,11 +10,11 @@ import org.battleplugins.arena.event.player.ArenaStatChangeEvent;
 import org.battleplugins.arena.stat.ArenaStat;
 import org.battleplugins.arena.stat.ArenaStats;
 import org.battleplugins.arena.stat.StatHolder;
+import org.battleplugins.arena.stat.StatLeaderboard;
 import org.battleplugins.arena.team.ArenaTeam;
 
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class HighestStatCondition<T extends LiveCompetition<T>> extends VictoryCondition<T> {
 
@@ -100,25 +100,21 @@ public class HighestStatCondition<T extends LiveCompetition<T>> extends VictoryC
 
     @Override
     public Set<ArenaPlayer> identifyPotentialVictors() {
-        return this.competition.getPlayers().stream()
-                .sorted((player1, player2) ->
-                        player2.stat(this.stat).orElse(0).intValue() - player1.stat(this.stat).orElse(0).intValue()
-                )
-                // No need to check win after here, since it will be done earlier if they should win
-                .filter(player -> (int) player.stat(this.stat).orElse(0) > 0)
-                .limit(1) // Limit number of victors to 1
-                .flatMap(player -> {
-                    // Still need to check if the player is on a team, since we grant
-                    // the victory based on whether the team won. If the player is to
-                    // win individually, their team should just contain them, or be empty.
-                    ArenaTeam team = player.getTeam();
-                    if (team == null || this.getCompetition().getArena().getTeams().isNonTeamGame()) {
-                        return Stream.of(player);
-                    }
+        // No need to check win after here, since it will be done earlier if they should win
+        List<StatLeaderboard.Entry> top = this.competition.getLeaderboards().get(this.stat).getTop(1, false);
+        if (top.isEmpty() || top.get(0).getValue().intValue() <= 0) {
+            return Set.of();
+        }
+
+        // Still need to check if the player is on a team, since we grant
+        // the victory based on whether the team won. If the player is to
+        // win individually, their team should just contain them, or be empty.
+        ArenaPlayer player = top.get(0).getPlayer();
+        ArenaTeam team = player.getTeam();
+        if (team == null || this.getCompetition().getArena().getTeams().isNonTeamGame()) {
+            return Set.of(player);
+        }
 
-                    Set<ArenaPlayer> playersOnTeam = this.competition.getTeamManager().getPlayersOnTeam(team);
-                    return playersOnTeam.stream();
-                })
-                .collect(Collectors.toSet());
+        return Set.copyOf(this.competition.getTeamManager().getPlayersOnTeam(team));
     }
 }
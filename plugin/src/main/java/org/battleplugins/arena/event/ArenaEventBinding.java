@@ -0,0 +1,36 @@
+package org.battleplugins.arena.event;
+
+import org.battleplugins.arena.competition.Competition;
+import org.battleplugins.arena.competition.CompetitionLike;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a single {@link ArenaEventHandler} method bound
+ * to the {@link ArenaListener} it was registered from.
+ *
+ * @param listener the listener the handler belongs to
+ * @param invoker the invoker for the handler method
+ * @param eventClass the event class the handler listens for
+ * @param priority the priority of the handler
+ * @param ignoreCancelled whether the handler ignores cancelled events
+ * @param competition the competition the handler is scoped to, or null
+ *                    if the handler listens for the whole arena
+ * @param order the order the handler was registered in, relative
+ *              to the other handlers of the arena
+ */
+record ArenaEventBinding(
+        ArenaListener listener,
+        ArenaEventInvoker invoker,
+        Class<? extends Event> eventClass,
+        EventPriority priority,
+        boolean ignoreCancelled,
+        @Nullable Competition<?> competition,
+        long order
+) {
+
+    ArenaEventBinding(ArenaListener listener, ArenaEventInvoker invoker, Class<? extends Event> eventClass, EventPriority priority, boolean ignoreCancelled, long order) {
+        this(listener, invoker, eventClass, priority, ignoreCancelled, listener instanceof CompetitionLike<?> like ? like.getCompetition() : null, order);
+    }
+}
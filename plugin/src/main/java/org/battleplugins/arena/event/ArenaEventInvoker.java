@@ -0,0 +1,117 @@
+package org.battleplugins.arena.event;
+
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.competition.Competition;
+import org.battleplugins.arena.event.player.ArenaPlayerEvent;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Invokes an {@link ArenaEventHandler} method.
+ * <p>
+ * Invokers are created once when a listener is registered, and are
+ * specialised for the signature of the handler method. This means that
+ * no reflection or parameter inspection occurs when an event is called.
+ */
+@FunctionalInterface
+interface ArenaEventInvoker {
+
+    /**
+     * Invokes the handler method for the given event.
+     *
+     * @param event the event
+     * @param competition the competition the event occurred in
+     * @throws Throwable if the handler method throws an exception
+     */
+    void invoke(Event event, @Nullable Competition<?> competition) throws Throwable;
+
+    /**
+     * Creates an invoker for a handler method with the signature
+     * {@code (Event)}.
+     *
+     * @param listener the listener the method belongs to
+     * @param method the handler method
+     * @return the invoker
+     * @throws IllegalAccessException if the method cannot be accessed
+     */
+    static ArenaEventInvoker event(ArenaListener listener, Method method) throws IllegalAccessException {
+        MethodHandle handle = bind(listener, method, MethodType.methodType(void.class, Event.class));
+        return (event, competition) -> handle.invokeExact(event);
+    }
+
+    /**
+     * Creates an invoker for a handler method with the signature
+     * {@code (Event, Competition)}.
+     *
+     * @param listener the listener the method belongs to
+     * @param method the handler method
+     * @return the invoker
+     * @throws IllegalAccessException if the method cannot be accessed
+     */
+    static ArenaEventInvoker eventCompetition(ArenaListener listener, Method method) throws IllegalAccessException {
+        MethodHandle handle = bind(listener, method, MethodType.methodType(void.class, Event.class, Competition.class));
+        return (event, competition) -> handle.invokeExact(event, competition);
+    }
+
+    /**
+     * Creates an invoker for a handler method with the signature
+     * {@code (ArenaPlayerEvent, ArenaPlayer)}.
+     *
+     * @param listener the listener the method belongs to
+     * @param method the handler method
+     * @return the invoker
+     * @throws IllegalAccessException if the method cannot be accessed
+     */
+    static ArenaEventInvoker arenaPlayerEvent(ArenaListener listener, Method method) throws IllegalAccessException {
+        MethodHandle handle = bind(listener, method, MethodType.methodType(void.class, Event.class, ArenaPlayer.class));
+        return (event, competition) -> handle.invokeExact(event, ((ArenaPlayerEvent) event).getArenaPlayer());
+    }
+
+    /**
+     * Creates an invoker for a handler method with the signature
+     * {@code (Event, ArenaPlayer)}, where the event is a Bukkit
+     * event containing a {@link Player}.
+     *
+     * @param listener the listener the method belongs to
+     * @param method the handler method
+     * @param playerResolver the resolver for the player in the event
+     * @param missingPlayer called with a description of the failure if
+     *                      the player could not be resolved
+     * @return the invoker
+     * @throws IllegalAccessException if the method cannot be accessed
+     */
+    static ArenaEventInvoker playerEvent(ArenaListener listener, Method method, Function<Event, Player> playerResolver, Consumer<String> missingPlayer) throws IllegalAccessException {
+        MethodHandle handle = bind(listener, method, MethodType.methodType(void.class, Event.class, ArenaPlayer.class));
+        return (event, competition) -> {
+            Player player = playerResolver.apply(event);
+            if (player == null) {
+                missingPlayer.accept("player");
+                return;
+            }
+
+            ArenaPlayer arenaPlayer = ArenaPlayer.getArenaPlayer(player);
+            if (arenaPlayer == null) {
+                missingPlayer.accept("ArenaPlayer");
+                return;
+            }
+
+            handle.invokeExact(event, arenaPlayer);
+        };
+    }
+
+    private static MethodHandle bind(ArenaListener listener, Method method, MethodType type) throws IllegalAccessException {
+        method.setAccessible(true);
+        return MethodHandles.lookup()
+                .unreflect(method)
+                .bindTo(listener)
+                .asType(type);
+    }
+}
@@ -5,7 +5,6 @@ import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.ArenaPlayer;
 import org.battleplugins.arena.BattleArena;
 import org.battleplugins.arena.competition.Competition;
-import org.battleplugins.arena.competition.CompetitionLike;
 import org.battleplugins.arena.competition.LiveCompetition;
 import org.battleplugins.arena.event.action.EventAction;
 import org.battleplugins.arena.event.action.types.DelayAction;
@@ -17,8 +16,9 @@ import org.battleplugins.arena.util.PolymorphicHashMap;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
-import org.bukkit.event.EventException;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockCanBuildEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
@@ -32,7 +32,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -73,7 +72,12 @@ public class ArenaEventManager {
         }
     };
 
-    private final List<ArenaListener> trackedListeners = new ArrayList<>();
+    private final Map<ArenaListener, List<ArenaEventBinding>> trackedListeners = new HashMap<>();
+    private final Map<RouteKey, ArenaEventRoute> routes = new HashMap<>();
+    private long nextBindingOrder;
+    private Map<ArenaEventType<?>, List<EventAction>> arenaActionChains;
+    private final Listener routeListener = new Listener() {
+    };
     private final Arena arena;
 
     public ArenaEventManager(Arena arena) {
@@ -120,6 +124,17 @@ public class ArenaEventManager {
             }
 
             Competition<?> competition = event.getCompetition();
+            List<EventAction> actions;
+            if (competition instanceof LiveCompetition<?> liveCompetition) {
+                actions = liveCompetition.getPhaseManager().getCurrentPhase().getActionChain(eventType);
+            } else {
+                actions = this.getArenaActionChain(eventType);
+            }
+
+            if (actions.isEmpty()) {
+                return event;
+            }
+
             Collection<ArenaPlayer> players;
             if (event instanceof ArenaPlayerEvent arenaPlayerEvent) {
                 players = List.of(arenaPlayerEvent.getArenaPlayer());
@@ -131,34 +146,35 @@ public class ArenaEventManager {
                 players = List.of();
             }
 
-            List<EventAction> actions = new ArrayList<>();
-            List<EventAction> arenaActions = this.arena.getEventActions().get(eventType);
-            if (arenaActions != null) {
-                actions.addAll(arenaActions);
-            }
+            this.pollActions(event, competition, actions, 0, players);
+        }
 
-            if (competition instanceof LiveCompetition<?> liveCompetition) {
-                List<EventAction> competitionActions = liveCompetition.getPhaseManager().getCurrentPhase().getEventActions().get(eventType);
-                if (competitionActions != null) {
-                    actions.addAll(competitionActions);
-                }
-            }
+        return event;
+    }
 
-            if (actions.isEmpty()) {
-                return event;
+    private List<EventAction> getArenaActionChain(ArenaEventType<?> eventType) {
+        if (this.arenaActionChains == null) {
+            Map<ArenaEventType<?>, List<EventAction>> actionChains = new HashMap<>();
+            if (this.arena.getEventActions() != null) {
+                this.arena.getEventActions().forEach((type, actions) -> {
+                    if (actions != null && !actions.isEmpty()) {
+                        actionChains.put(type, List.copyOf(actions));
+                    }
+                });
             }
 
-            this.pollActions(event, competition, actions.iterator(), players);
+            this.arenaActionChains = Map.copyOf(actionChains);
         }
 
-        return event;
+        return this.arenaActionChains.getOrDefault(eventType, List.of());
     }
 
-    private <T extends Event & ArenaEvent> void pollActions(T event, Competition<?> competition, Iterator<EventAction> iterator, Collection<ArenaPlayer> players) {
-        while (iterator.hasNext()) {
-            EventAction action = iterator.next();
+    private <T extends Event & ArenaEvent> void pollActions(T event, Competition<?> competition, List<EventAction> actions, int startIndex, Collection<ArenaPlayer> players) {
+        for (int i = startIndex; i < actions.size(); i++) {
+            EventAction action = actions.get(i);
             if (!Bukkit.isStopping() && action instanceof DelayAction delayAction) {
-                Bukkit.getScheduler().runTaskLater(BattleArena.getInstance(), () -> this.pollActions(event, competition, iterator, players), delayAction.getTicks());
+                int nextIndex = i + 1;
+                Bukkit.getScheduler().runTaskLater(BattleArena.getInstance(), () -> this.pollActions(event, competition, actions, nextIndex, players), delayAction.getTicks());
                 return;
             }
 
@@ -169,13 +185,16 @@ public class ArenaEventManager {
                 return;
             }
 
+            Resolver eventResolver = event.resolve();
             for (ArenaPlayer player : new HashSet<>(players)) {
                 // Resolve with ArenaPlayer context
-                Resolver.Builder resolver = player.resolve().toBuilder();
-                event.resolve().mergeInto(resolver);
+                Resolver resolver = Resolver.builder()
+                        .inherit(player)
+                        .inherit(eventResolver)
+                        .build();
 
                 try {
-                    action.call(player, resolver.build());
+                    action.call(player, resolver);
                 } catch (Throwable e) {
                     this.arena.getPlugin().warn("An error occurred calling event action {}", action, e);
                     return;
@@ -197,11 +216,8 @@ public class ArenaEventManager {
      * @param listener the listener to register
      */
     public void registerEvents(ArenaListener listener) {
-        this.trackedListeners.add(listener);
-
+        List<ArenaEventBinding> bindings = new ArrayList<>();
         for (Method method : listener.getClass().getDeclaredMethods()) {
-            method.setAccessible(true);
-
             // Check if the method is an event handler
             if (!method.isAnnotationPresent(ArenaEventHandler.class)) {
                 continue;
@@ -220,85 +236,25 @@ public class ArenaEventManager {
                 continue;
             }
 
-            Bukkit.getPluginManager().registerEvent((Class<? extends Event>) eventClass, listener, eventHandler.priority(), (eventListener, event) -> {
-                Pair<Arena, Competition<?>> pair = this.extractContext(event);
-                if (pair == null) {
-                    return;
-                }
-
-                Arena arena = pair.getKey();
-                Competition<?> competition = pair.getValue();
-
-                // Only call the event if the arena matches
-                if (!arena.equals(this.arena)) {
-                    return;
-                }
-
-                // We are listening in a Competition, so only call the event if the Competition matches
-                if (listener instanceof CompetitionLike<?> like && !like.getCompetition().equals(competition)) {
-                    return;
-                }
+            ArenaEventInvoker invoker;
+            try {
+                invoker = this.createInvoker(listener, method, eventClass);
+            } catch (IllegalAccessException e) {
+                this.arena.getPlugin().warn("Event method {} in {} could not be accessed. Not registering.", method.getName(), listener.getClass(), e);
+                continue;
+            }
 
-                // Ensure args are the same
-                if (!eventClass.isAssignableFrom(event.getClass())) {
-                    return;
-                }
+            if (invoker == null) {
+                this.arena.getPlugin().warn("Event method {} in {} has unsupported parameters. Not registering.", method.getName(), listener.getClass());
+                continue;
+            }
 
-                if (method.getParameterCount() == 1) {
-                    try {
-                        method.invoke(eventListener, event);
-                    } catch (Exception e) {
-                        throw new EventException(e, "Error executing ArenaEvent: " + eventClass);
-                    }
-                } else if (method.getParameterCount() == 2) {
-                    // BattleArena offers a bit of flexibility with the second parameter.
-                    // Events that are just normal ArenaEvents can have a second parameter be
-                    // a Competition, whereas a ArenaPlayerEvent can have a second parameter be
-                    // an ArenaPlayer or a Competition.
-                    Class<?> parameterType = method.getParameterTypes()[1];
-                    if (Competition.class.isAssignableFrom(parameterType)) {
-                        try {
-                            method.invoke(eventListener, event, competition);
-                        } catch (Exception e) {
-                            throw new EventException(e, "Error executing ArenaEvent: " + eventClass);
-                        }
-                    } else if (ArenaPlayer.class.isAssignableFrom(parameterType)) {
-                        if (ArenaPlayerEvent.class.isAssignableFrom(eventClass)) {
-                            try {
-                                method.invoke(eventListener, event, ((ArenaPlayerEvent) event).getArenaPlayer());
-                                return;
-                            } catch (Exception e) {
-                                throw new EventException(e, "Error executing ArenaPlayerEvent: " + eventClass);
-                            }
-                        }
-
-                        Function<Event, Player> eventPlayerFunction = PLAYER_EVENT_RESOLVERS.get(eventClass);
-                        if (eventPlayerFunction == null) {
-                            this.arena.getPlugin().warn("Could not find event player function for event {}", eventClass);
-                            return;
-                        }
-
-                        Player player = eventPlayerFunction.apply(event);
-                        if (player == null) {
-                            this.arena.getPlugin().warn("Could not find player for event {}", eventClass);
-                            return;
-                        }
-
-                        ArenaPlayer arenaPlayer = ArenaPlayer.getArenaPlayer(player);
-                        if (arenaPlayer == null) {
-                            this.arena.getPlugin().warn("Could not find ArenaPlayer for event {}", eventClass);
-                            return;
-                        }
-
-                        try {
-                            method.invoke(eventListener, event, arenaPlayer);
-                        } catch (Exception e) {
-                            throw new EventException(e, "Error executing ArenaPlayerEvent: " + eventClass);
-                        }
-                    }
-                }
-            }, BattleArena.getInstance(), eventHandler.ignoreCancelled());
+            ArenaEventBinding binding = new ArenaEventBinding(listener, invoker, (Class<? extends Event>) eventClass, eventHandler.priority(), eventHandler.ignoreCancelled(), this.nextBindingOrder++);
+            this.getOrCreateRoute(binding.eventClass(), binding.priority()).add(binding);
+            bindings.add(binding);
         }
+
+        this.trackedListeners.put(listener, bindings);
     }
 
     /**
@@ -307,19 +263,112 @@ public class ArenaEventManager {
      * @param listener the listener to unregister
      */
     public void unregisterEvents(ArenaListener listener) {
+        // Also unregister any standard Bukkit handlers the listener may have
         HandlerList.unregisterAll(listener);
-        this.trackedListeners.remove(listener);
+
+        List<ArenaEventBinding> bindings = this.trackedListeners.remove(listener);
+        if (bindings == null) {
+            return;
+        }
+
+        for (ArenaEventBinding binding : bindings) {
+            ArenaEventRoute route = this.routes.get(new RouteKey(binding.eventClass(), binding.priority()));
+            if (route != null) {
+                route.remove(binding);
+            }
+        }
     }
 
     /**
      * Unregisters all listeners from listening for events.
      */
     public void unregisterAll() {
-        for (ArenaListener listener : this.trackedListeners) {
+        for (ArenaListener listener : this.trackedListeners.keySet()) {
             HandlerList.unregisterAll(listener);
         }
 
+        HandlerList.unregisterAll(this.routeListener);
+
         this.trackedListeners.clear();
+        this.routes.clear();
+    }
+
+    private ArenaEventRoute getOrCreateRoute(Class<? extends Event> eventClass, EventPriority priority) {
+        RouteKey key = new RouteKey(eventClass, priority);
+        ArenaEventRoute route = this.routes.get(key);
+        if (route != null) {
+            return route;
+        }
+
+        ArenaEventRoute newRoute = new ArenaEventRoute();
+        this.routes.put(key, newRoute);
+
+        // A single Bukkit registration is made per event class and priority. The
+        // competition is resolved once, and the event is then only handed to the
+        // listeners bound to the arena or to that specific competition.
+        Bukkit.getPluginManager().registerEvent(eventClass, this.routeListener, priority, (eventListener, event) -> {
+            // Bukkit shares handler lists between an event and its subclasses,
+            // so ensure the event is actually the type this route is for
+            if (!eventClass.isInstance(event)) {
+                return;
+            }
+
+            if (newRoute.isEmpty()) {
+                return;
+            }
+
+            Pair<Arena, Competition<?>> pair = this.extractContext(event);
+            if (pair == null) {
+                return;
+            }
+
+            // Only call the event if the arena matches
+            if (!this.arena.equals(pair.getKey())) {
+                return;
+            }
+
+            newRoute.dispatch(this, event, pair.getValue());
+        }, BattleArena.getInstance(), false);
+
+        return newRoute;
+    }
+
+    @Nullable
+    private ArenaEventInvoker createInvoker(ArenaListener listener, Method method, Class<?> eventClass) throws IllegalAccessException {
+        if (method.getParameterCount() == 1) {
+            return ArenaEventInvoker.event(listener, method);
+        }
+
+        if (method.getParameterCount() != 2) {
+            return null;
+        }
+
+        // BattleArena offers a bit of flexibility with the second parameter.
+        // Events that are just normal ArenaEvents can have a second parameter be
+        // a Competition, whereas a ArenaPlayerEvent can have a second parameter be
+        // an ArenaPlayer or a Competition.
+        Class<?> parameterType = method.getParameterTypes()[1];
+        if (Competition.class.isAssignableFrom(parameterType)) {
+            return ArenaEventInvoker.eventCompetition(listener, method);
+        }
+
+        if (!ArenaPlayer.class.isAssignableFrom(parameterType)) {
+            return null;
+        }
+
+        if (ArenaPlayerEvent.class.isAssignableFrom(eventClass)) {
+            return ArenaEventInvoker.arenaPlayerEvent(listener, method);
+        }
+
+        Function<Event, Player> eventPlayerFunction = PLAYER_EVENT_RESOLVERS.get(eventClass);
+        if (eventPlayerFunction == null) {
+            this.arena.getPlugin().warn("Could not find event player function for event {}", eventClass);
+            return null;
+        }
+
+        return ArenaEventInvoker.playerEvent(listener, method, eventPlayerFunction, missing ->
+                this.arena.getPlugin().warn("Could not find {} for event {}", missing, eventClass)
+        );
     }
 
     @Nullable
@@ -361,4 +410,7 @@ public class ArenaEventManager {
 
         return null;
     }
+
+    private record RouteKey(Class<? extends Event> eventClass, EventPriority priority) {
+    }
 }
@@ -0,0 +1,110 @@
+package org.battleplugins.arena.event;
+
+import org.battleplugins.arena.competition.Competition;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routes a single event class at a single priority to the
+ * {@link ArenaEventBinding bindings} interested in it.
+ * <p>
+ * Bindings scoped to a {@link Competition} are indexed by their
+ * competition, so dispatching an event only touches the handlers
+ * of the competition the event occurred in, regardless of how many
+ * competitions are currently running.
+ * <p>
+ * Binding arrays are replaced rather than mutated, meaning listeners
+ * may safely register or unregister while an event is being dispatched,
+ * including asynchronous events dispatched off the main thread.
+ * <p>
+ * Handlers are called in the order they were registered in, no matter
+ * whether they are bound to the arena or to a competition, as they
+ * would be if each listener was registered with Bukkit on its own.
+ */
+final class ArenaEventRoute {
+    private static final ArenaEventBinding[] EMPTY = new ArenaEventBinding[0];
+
+    private final Map<Competition<?>, ArenaEventBinding[]> competitionBindings = new ConcurrentHashMap<>();
+    private volatile ArenaEventBinding[] arenaBindings = EMPTY;
+
+    void add(ArenaEventBinding binding) {
+        if (binding.competition() == null) {
+            this.arenaBindings = append(this.arenaBindings, binding);
+        } else {
+            this.competitionBindings.merge(binding.competition(), new ArenaEventBinding[] { binding }, (bindings, added) -> append(bindings, binding));
+        }
+    }
+
+    void remove(ArenaEventBinding binding) {
+        if (binding.competition() == null) {
+            this.arenaBindings = without(this.arenaBindings, binding);
+            return;
+        }
+
+        this.competitionBindings.computeIfPresent(binding.competition(), (competition, bindings) -> {
+            ArenaEventBinding[] remaining = without(bindings, binding);
+            return remaining.length == 0 ? null : remaining;
+        });
+    }
+
+    boolean isEmpty() {
+        return this.arenaBindings.length == 0 && this.competitionBindings.isEmpty();
+    }
+
+    void dispatch(ArenaEventManager eventManager, Event event, @Nullable Competition<?> competition) {
+        ArenaEventBinding[] arenaBindings = this.arenaBindings;
+        ArenaEventBinding[] competitionBindings = competition == null ? EMPTY : this.competitionBindings.getOrDefault(competition, EMPTY);
+
+        // Both arrays are in registration order, so merge them as they are dispatched
+        int arenaIndex = 0;
+        int competitionIndex = 0;
+        while (arenaIndex < arenaBindings.length || competitionIndex < competitionBindings.length) {
+            ArenaEventBinding binding;
+            if (competitionIndex == competitionBindings.length || (arenaIndex < arenaBindings.length && arenaBindings[arenaIndex].order() < competitionBindings[competitionIndex].order())) {
+                binding = arenaBindings[arenaIndex++];
+            } else {
+                binding = competitionBindings[competitionIndex++];
+            }
+
+            this.dispatch(eventManager, binding, event, competition);
+        }
+    }
+
+    private void dispatch(ArenaEventManager eventManager, ArenaEventBinding binding, Event event, @Nullable Competition<?> competition) {
+        if (binding.ignoreCancelled() && event instanceof Cancellable cancellable && cancellable.isCancelled()) {
+            return;
+        }
+
+        try {
+            binding.invoker().invoke(event, competition);
+        } catch (Throwable e) {
+            eventManager.getArena().getPlugin().error("Could not pass event {} to {}", event.getEventName(), binding.listener().getClass().getName(), e);
+        }
+    }
+
+    private static ArenaEventBinding[] append(ArenaEventBinding[] bindings, ArenaEventBinding binding) {
+        ArenaEventBinding[] newBindings = Arrays.copyOf(bindings, bindings.length + 1);
+        newBindings[bindings.length] = binding;
+        return newBindings;
+    }
+
+    private static ArenaEventBinding[] without(ArenaEventBinding[] bindings, ArenaEventBinding binding) {
+        for (int i = 0; i < bindings.length; i++) {
+            if (bindings[i] != binding) {
+                continue;
+            }
+
+            ArenaEventBinding[] newBindings = new ArenaEventBinding[bindings.length - 1];
+            System.arraycopy(bindings, 0, newBindings, 0, i);
+            System.arraycopy(bindings, i + 1, newBindings, i, bindings.length - i - 1);
+            return newBindings;
+        }
+
+        return bindings;
+    }
+}
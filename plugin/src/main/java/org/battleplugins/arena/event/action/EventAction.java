@@ -1,11 +1,15 @@
 package org.battleplugins.arena.event.action;
 
+import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.ArenaPlayer;
 import org.battleplugins.arena.competition.Competition;
+import org.battleplugins.arena.resolver.ComponentTemplate;
 import org.battleplugins.arena.resolver.Resolvable;
+import org.battleplugins.arena.resolver.StringTemplate;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -13,6 +17,8 @@ import java.util.Map;
  */
 public abstract class EventAction {
     private final Map<String, String> params;
+    private final Map<String, StringTemplate> templates = new HashMap<>();
+    private final Map<String, ComponentTemplate> componentTemplates = new HashMap<>();
 
     public EventAction(Map<String, String> params, String... requiredKeys) {
         this.params = params;
@@ -45,6 +51,33 @@ public abstract class EventAction {
         return this.params.getOrDefault(key, defaultValue);
     }
 
+    /**
+     * Gets the parameter with the given key as a {@link StringTemplate}.
+     * <p>
+     * The template is compiled the first time it is requested and
+     * reused afterward.
+     *
+     * @param key the key to get the parameter from
+     * @return the parameter with the given key as a template
+     */
+    public StringTemplate getTemplate(String key) {
+        return this.templates.computeIfAbsent(key, k -> StringTemplate.compile(this.params.getOrDefault(k, "")));
+    }
+
+    /**
+     * Gets the parameter with the given key, deserialized with
+     * {@link MiniMessage}, as a {@link ComponentTemplate}.
+     * <p>
+     * The template is compiled the first time it is requested and
+     * reused afterward.
+     *
+     * @param key the key to get the parameter from
+     * @return the parameter with the given key as a component template
+     */
+    public ComponentTemplate getComponentTemplate(String key) {
+        return this.componentTemplates.computeIfAbsent(key, k -> ComponentTemplate.compile(MiniMessage.miniMessage().deserialize(this.params.getOrDefault(k, ""))));
+    }
+
     /**
      * Called before the action is processed.
      * <p>
@@ -9,6 +9,7 @@ import org.battleplugins.arena.competition.Competition;
 import org.battleplugins.arena.competition.LiveCompetition;
 import org.battleplugins.arena.event.action.EventAction;
 import org.battleplugins.arena.resolver.Resolvable;
+import org.battleplugins.arena.resolver.Resolver;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
@@ -35,7 +36,7 @@ public class BroadcastAction extends EventAction {
             return;
         }
 
-        String message = resolvable.resolve().resolveToString(this.get(MESSAGE_KEY));
+        Resolver resolver = resolvable.resolve();
         MessageType messageType = MessageType.valueOf(this.getOrDefault(TYPE_KEY, MessageType.CHAT.name())
                 .toUpperCase(Locale.ROOT)
         );
@@ -49,8 +50,11 @@ public class BroadcastAction extends EventAction {
             case SERVER -> Bukkit.getOnlinePlayers();
         };
 
+        // Placeholders are filled in before deserializing, so placeholders
+        // within tags, such as click and hover events, are filled in too
+        String message = this.getTemplate(MESSAGE_KEY).resolve(resolver);
+        Component component = resolver.resolveToComponent(MiniMessage.miniMessage().deserialize(message));
         for (Player player : players) {
-            Component component = resolvable.resolve().resolveToComponent(MiniMessage.miniMessage().deserialize(message));
             switch (messageType) {
                 case CHAT -> player.sendMessage(component);
                 case ACTION_BAR -> player.sendActionBar(component);
@@ -17,7 +17,7 @@ public class RunCommandAction extends EventAction {
 
     @Override
     public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
-        String command = resolvable.resolve().resolveToString(this.get(COMMAND_KEY));
+        String command = this.getTemplate(COMMAND_KEY).resolve(resolvable.resolve());
         String source = this.getOrDefault(SOURCE_KEY, "player");
         if (source.equalsIgnoreCase("player")) {
             arenaPlayer.getPlayer().performCommand(command);
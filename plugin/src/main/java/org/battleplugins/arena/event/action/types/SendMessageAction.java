@@ -1,7 +1,6 @@
 package org.battleplugins.arena.event.action.types;
 
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.title.Title;
 import org.battleplugins.arena.ArenaPlayer;
 import org.battleplugins.arena.event.action.EventAction;
@@ -20,12 +19,11 @@ public class SendMessageAction extends EventAction {
 
     @Override
     public void call(ArenaPlayer arenaPlayer, Resolvable resolvable) {
-        String message = this.get(MESSAGE_KEY);
         MessageType messageType = MessageType.valueOf(this.getOrDefault(TYPE_KEY, MessageType.CHAT.name())
                 .toUpperCase(Locale.ROOT)
         );
 
-        Component component = resolvable.resolve().resolveToComponent(MiniMessage.miniMessage().deserialize(message));
+        Component component = this.getComponentTemplate(MESSAGE_KEY).resolve(resolvable.resolve());
         switch (messageType) {
             case CHAT -> arenaPlayer.getPlayer().sendMessage(component);
             case ACTION_BAR -> arenaPlayer.getPlayer().sendActionBar(component);
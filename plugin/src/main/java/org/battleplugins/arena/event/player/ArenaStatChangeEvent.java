@@ -17,6 +17,13 @@ import org.jetbrains.annotations.Nullable;
 
 /**
  * Called when a stat changes.
+ * <p>
+ * If stat changes are coalesced in the competition, this event is
+ * called once per tick for each changed stat, with the value before
+ * the first change and the value after the last change. The stat
+ * already holds the new value when the event is called, and a value
+ * set through {@link #setNewValue(Object)} is applied once all
+ * listeners have run.
  */
 @EventTrigger("on-stat-change")
 public class ArenaStatChangeEvent<T> extends Event implements ArenaEvent {
@@ -26,7 +33,7 @@ public class ArenaStatChangeEvent<T> extends Event implements ArenaEvent {
     private final StatHolder statHolder;
     private final ArenaStat<T> stat;
     private final T oldValue;
-    private final T newValue;
+    private T newValue;
 
     public ArenaStatChangeEvent(LiveCompetition<?> competition, StatHolder statHolder, ArenaStat<T> stat, T oldValue, T newValue) {
         this.competition = competition;
@@ -73,6 +80,15 @@ public class ArenaStatChangeEvent<T> extends Event implements ArenaEvent {
         return this.newValue;
     }
 
+    /**
+     * Sets the new value of the stat.
+     *
+     * @param newValue the new value of the stat
+     */
+    public void setNewValue(T newValue) {
+        this.newValue = newValue;
+    }
+
     @Override
     public Arena getArena() {
         return this.competition.getArena();
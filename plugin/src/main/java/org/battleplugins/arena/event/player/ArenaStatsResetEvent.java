@@ -0,0 +1,30 @@
+package org.battleplugins.arena.event.player;
+
+import org.battleplugins.arena.ArenaPlayer;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called when the stats of a player are cleared, such as when
+ * their state is reset.
+ * <p>
+ * No {@link ArenaStatChangeEvent} is called for the cleared stats.
+ */
+public class ArenaStatsResetEvent extends BukkitArenaPlayerEvent {
+
+    private final static HandlerList HANDLERS = new HandlerList();
+
+    public ArenaStatsResetEvent(ArenaPlayer player) {
+        super(player.getArena(), player);
+    }
+
+    @NotNull
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
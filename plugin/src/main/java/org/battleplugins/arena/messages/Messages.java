@@ -66,6 +66,9 @@ public final class Messages {
     public static final Message ARENA_KICKED_PLAYER = error("arena-kicked-player", "You have been kicked from the arena!");
     public static final Message ARENA_SPECTATE = info("arena-spectate", "You are now spectating <secondary>{}</secondary>!");
     public static final Message ARENA_LEFT = info("arena-left", "You have left <secondary>{}</secondary>!");
+    public static final Message QUEUE_JOINED = info("arena-queue-joined", "You have joined the queue for <secondary>{}</secondary>!");
+    public static final Message QUEUE_LEFT = info("arena-queue-left", "You have left the queue for <secondary>{}</secondary>!");
+    public static final Message ALREADY_IN_QUEUE = error("arena-already-in-queue", "You are already in a queue!");
     public static final Message ARENA_REMOVED = success("arena-removed", "The arena <secondary>{}</secondary> has been removed!");
     public static final Message NOT_EVENT = error("arena-not-event", "The specified arena is not an event!");
     public static final Message MANUAL_EVENT_MESSAGE = info("arena-manual-event-message", "%prefix% A {} event is starting! Run <secondary>/{} join</secondary> to join!");
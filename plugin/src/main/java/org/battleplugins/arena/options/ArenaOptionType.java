@@ -3,6 +3,7 @@ package org.battleplugins.arena.options;
 import org.battleplugins.arena.config.DocumentationSource;
 import org.battleplugins.arena.options.types.BooleanArenaOption;
 import org.battleplugins.arena.options.types.EnumArenaOption;
+import org.battleplugins.arena.options.types.StatCoalescingArenaOption;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
@@ -28,6 +29,7 @@ public final class ArenaOptionType<T extends ArenaOption> {
     public static final ArenaOptionType<BooleanArenaOption> KEEP_EXPERIENCE = new ArenaOptionType<>("keep-experience", BooleanArenaOption::new);
     public static final ArenaOptionType<BooleanArenaOption> HUNGER_DEPLETE = new ArenaOptionType<>("hunger-deplete", BooleanArenaOption::new);
     public static final ArenaOptionType<BooleanArenaOption> TEAM_SELECTION = new ArenaOptionType<>("team-selection", BooleanArenaOption::new);
+    public static final ArenaOptionType<StatCoalescingArenaOption> COALESCE_STAT_CHANGES = new ArenaOptionType<>("coalesce-stat-changes", StatCoalescingArenaOption::new);
 
     public static final ArenaOptionType<EnumArenaOption<DamageOption>> DAMAGE_PLAYERS = new ArenaOptionType<>("damage-players", params -> new EnumArenaOption<>(params, DamageOption.class, "option"));
     public static final ArenaOptionType<EnumArenaOption<DamageOption>> DAMAGE_ENTITIES = new ArenaOptionType<>("damage-entities", params -> new EnumArenaOption<>(params, DamageOption.class, "option"));
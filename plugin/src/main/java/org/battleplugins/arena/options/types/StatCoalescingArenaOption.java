@@ -0,0 +1,46 @@
+package org.battleplugins.arena.options.types;
+
+import org.battleplugins.arena.stat.ArenaStat;
+import org.battleplugins.arena.stat.ArenaStats;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Option controlling whether stat changes are coalesced and
+ * dispatched once per tick rather than as they happen.
+ * <p>
+ * Stats listed under {@code immediate} (comma separated stat keys)
+ * are always dispatched synchronously. {@link ArenaStats#LIVES} is
+ * always dispatched synchronously, since life depletion must be
+ * handled as soon as it happens.
+ */
+public class StatCoalescingArenaOption extends BooleanArenaOption {
+    private static final String IMMEDIATE_KEY = "immediate";
+
+    private final Set<String> immediateStats = new HashSet<>();
+
+    public StatCoalescingArenaOption(Map<String, String> params) {
+        super(params);
+
+        String immediate = this.get(IMMEDIATE_KEY);
+        if (immediate != null) {
+            for (String key : immediate.split(",")) {
+                if (!key.isBlank()) {
+                    this.immediateStats.add(key.trim());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether changes to the given stat should be coalesced.
+     *
+     * @param stat the stat
+     * @return whether changes to the stat should be coalesced
+     */
+    public boolean isCoalesced(ArenaStat<?> stat) {
+        return this.isEnabled() && stat != ArenaStats.LIVES && !this.immediateStats.contains(stat.getKey());
+    }
+}
@@ -0,0 +1,107 @@
+package org.battleplugins.arena.resolver;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link Component} containing {@code %placeholder%} tokens which
+ * has been inspected ahead of time.
+ * <p>
+ * Components without any placeholders are returned as-is when resolved,
+ * and all other components have their placeholders filled from a
+ * {@link Resolver} in a single replacement pass, rather than one pass
+ * for every key the resolver defines.
+ */
+public final class ComponentTemplate {
+    static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("%[\\p{L}\\p{N}_]+%");
+
+    private final Component source;
+    private final Set<String> placeholders;
+
+    private ComponentTemplate(Component source, Set<String> placeholders) {
+        this.source = source;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Gets the source component of this template.
+     *
+     * @return the source component
+     */
+    public Component getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns whether this template contains any placeholders.
+     *
+     * @return whether this template contains any placeholders
+     */
+    public boolean hasPlaceholders() {
+        return !this.placeholders.isEmpty();
+    }
+
+    /**
+     * Gets the placeholders in this template, including
+     * their surrounding {@code %} characters.
+     *
+     * @return the placeholders in this template
+     */
+    public Set<String> getPlaceholders() {
+        return this.placeholders;
+    }
+
+    /**
+     * Resolves this template using the given {@link Resolver}.
+     *
+     * @param resolver the resolver to fill placeholders from
+     * @return the resolved component
+     */
+    public Component resolve(Resolver resolver) {
+        if (this.placeholders.isEmpty()) {
+            return this.source;
+        }
+
+        return replace(this.source, resolver);
+    }
+
+    /**
+     * Compiles the given component into a {@link ComponentTemplate}.
+     *
+     * @param source the source component
+     * @return the compiled template
+     */
+    public static ComponentTemplate compile(Component source) {
+        String text = PlainTextComponentSerializer.plainText().serialize(source);
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(text);
+
+        Set<String> placeholders = new LinkedHashSet<>();
+        while (matcher.find()) {
+            placeholders.add(matcher.group());
+        }
+
+        return new ComponentTemplate(source, Collections.unmodifiableSet(placeholders));
+    }
+
+    static Component replace(Component component, Resolver resolver) {
+        if (!(resolver instanceof ResolverImpl impl)) {
+            return resolver.resolveToComponent(component);
+        }
+
+        return component.replaceText(TextReplacementConfig.builder()
+                .match(PLACEHOLDER_PATTERN)
+                .replacement((result, builder) -> {
+                    ResolverProvider<?> provider = impl.findPlaceholder(result.group());
+                    return provider == null ? builder : provider.toComponent(resolver);
+                })
+                .build()
+        );
+    }
+}
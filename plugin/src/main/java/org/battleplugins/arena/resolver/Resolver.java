@@ -31,6 +31,31 @@ public interface Resolver extends Resolvable {
 
         <T> Builder define(ResolverKey<T> key, ResolverProvider<T> provider);
 
+        /**
+         * Inherits all keys from the given {@link Resolvable} without copying
+         * them. The resolvable is only resolved once one of its keys is needed.
+         * <p>
+         * Keys defined on this builder take precedence over inherited keys, and
+         * later inherited resolvables take precedence over earlier ones.
+         *
+         * @param resolvable the resolvable to inherit from
+         * @return this builder
+         */
+        Builder inherit(Resolvable resolvable);
+
+        /**
+         * Adds a {@link ResolverLookup} which is asked for keys that
+         * are not defined on this builder. Nothing is looked up until
+         * a key is actually resolved.
+         * <p>
+         * Keys defined on this builder take precedence over lookups, and
+         * lookups take precedence over inherited keys.
+         *
+         * @param lookup the lookup to add
+         * @return this builder
+         */
+        Builder lookup(ResolverLookup lookup);
+
         Resolver build();
     }
 }
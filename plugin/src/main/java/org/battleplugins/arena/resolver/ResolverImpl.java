@@ -1,41 +1,65 @@
 package org.battleplugins.arena.resolver;
 
 import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Default {@link Resolver} implementation.
+ * <p>
+ * A resolver holds the providers it defines itself, along with a
+ * list of parent {@link Resolvable layers} it inherits from. Layers
+ * are only resolved the first time they are needed, and keys defined
+ * directly on a resolver take precedence over those of its layers.
+ * Later layers take precedence over earlier ones. Providers are always
+ * called with the resolver the lookup started from.
+ * <p>
+ * Keys which are not defined directly are first asked of the
+ * resolver's {@link ResolverLookup lookups}, which create their
+ * providers on demand, before falling back to its layers.
+ * <p>
+ * Placeholders in strings and components are filled in a single pass
+ * through {@link StringTemplate} and {@link ComponentTemplate}. Each
+ * resolver indexes its providers by placeholder when it is built, so
+ * filling a placeholder is one lookup per layer.
+ */
 class ResolverImpl implements Resolver {
     private final Map<ResolverKey<?>, ResolverProvider<?>> results;
-
-    ResolverImpl(Map<ResolverKey<?>, ResolverProvider<?>> results) {
-        this.results = new HashMap<>(results);
+    private final Map<String, ResolverProvider<?>> placeholders;
+    private final ResolverLookup[] lookups;
+    private final Resolvable[] layers;
+    private final Resolver[] resolvedLayers;
+
+    ResolverImpl(Map<ResolverKey<?>, ResolverProvider<?>> results, Map<String, ResolverProvider<?>> placeholders, ResolverLookup[] lookups, Resolvable[] layers) {
+        this.results = results;
+        this.placeholders = placeholders;
+        this.lookups = lookups;
+        this.layers = layers;
+        this.resolvedLayers = new Resolver[layers.length];
     }
 
     @Override
     public String resolveToString(String string) {
-        for (Map.Entry<ResolverKey<?>, ResolverProvider<?>> entry : this.results.entrySet()) {
-            String key = "%" + entry.getKey().getName().replace("-", "_") + "%";
-            string = string.replace(key, entry.getValue().toString(this));
+        if (string.indexOf('%') == -1) {
+            return string;
         }
 
-        return string;
+        return StringTemplate.cached(string).resolve(this);
     }
 
     @Override
     public Component resolveToComponent(Component component) {
-        for (Map.Entry<ResolverKey<?>, ResolverProvider<?>> entry : this.results.entrySet()) {
-            String key = "%" + entry.getKey().getName().replace("-", "_") + "%";
-            component = component.replaceText(builder -> builder.matchLiteral(key).replacement(entry.getValue().toComponent(this)));
-        }
-
-        return component;
+        return ComponentTemplate.replace(component, this);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> T resolve(ResolverKey<T> key) {
-        ResolverProvider<?> provider = this.results.get(key);
+        ResolverProvider<?> provider = this.findProvider(key);
         if (provider == null) {
             throw new IllegalArgumentException("No provider defined for key " + key);
         }
@@ -45,7 +69,7 @@ class ResolverImpl implements Resolver {
 
     @Override
     public <T> String resolveToString(ResolverKey<T> key) {
-        ResolverProvider<?> provider = this.results.get(key);
+        ResolverProvider<?> provider = this.findProvider(key);
         if (provider == null) {
             throw new IllegalArgumentException("No provider defined for key " + key);
         }
@@ -55,33 +79,154 @@ class ResolverImpl implements Resolver {
 
     @Override
     public boolean has(ResolverKey<?> key) {
-        return this.results.containsKey(key);
+        return this.findProvider(key) != null;
     }
 
     @Override
     public void mergeInto(Builder builder) {
-        ((BuilderImpl) builder).results.putAll(this.results);
+        ((BuilderImpl) builder).inherit(this);
     }
 
     @Override
     public Builder toBuilder() {
-        BuilderImpl builder = new BuilderImpl();
-        builder.results.putAll(this.results);
-        return builder;
+        return new BuilderImpl().inherit(this);
+    }
+
+    @Nullable
+    private ResolverProvider<?> findProvider(ResolverKey<?> key) {
+        ResolverProvider<?> provider = this.results.get(key);
+        if (provider != null) {
+            return provider;
+        }
+
+        for (int i = this.lookups.length - 1; i >= 0; i--) {
+            provider = this.lookups[i].lookup(key);
+            if (provider != null) {
+                return provider;
+            }
+        }
+
+        for (int i = this.layers.length - 1; i >= 0; i--) {
+            Resolver layer = this.layer(i);
+            if (layer instanceof ResolverImpl impl) {
+                provider = impl.findProvider(key);
+                if (provider != null) {
+                    return provider;
+                }
+            } else if (layer.has(key)) {
+                return new LayerProvider<>(layer, key);
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable
+    ResolverProvider<?> findPlaceholder(String placeholder) {
+        ResolverProvider<?> found = this.placeholders.get(placeholder);
+        if (found != null) {
+            return found;
+        }
+
+        for (int i = this.lookups.length - 1; i >= 0; i--) {
+            found = this.lookups[i].lookup(placeholder);
+            if (found != null) {
+                return found;
+            }
+        }
+
+        for (int i = this.layers.length - 1; i >= 0; i--) {
+            Resolver layer = this.layer(i);
+            if (layer instanceof ResolverImpl impl) {
+                ResolverProvider<?> provider = impl.findPlaceholder(placeholder);
+                if (provider != null) {
+                    return provider;
+                }
+            } else {
+                String resolved = layer.resolveToString(placeholder);
+                if (!resolved.equals(placeholder)) {
+                    return ResolverProvider.simple(resolved, () -> resolved);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private Resolver layer(int index) {
+        Resolver layer = this.resolvedLayers[index];
+        if (layer == null) {
+            layer = this.layers[index].resolve();
+            this.resolvedLayers[index] = layer;
+        }
+
+        return layer;
+    }
+
+    private record LayerProvider<T>(Resolver layer, ResolverKey<T> key) implements ResolverProvider<T> {
+
+        @Override
+        public T resolve(Resolver resolver) {
+            return this.layer.resolve(this.key);
+        }
+
+        @Override
+        public String toString(Resolver resolver) {
+            return this.layer.resolveToString(this.key);
+        }
+
+        @Override
+        public Component toComponent(Resolver resolver) {
+            return Component.text(this.toString(resolver));
+        }
     }
 
     static class BuilderImpl implements Resolver.Builder {
-        private final Map<ResolverKey<?>, ResolverProvider<?>> results = new HashMap<>();
+        private static final ResolverLookup[] NO_LOOKUPS = new ResolverLookup[0];
+        private static final Resolvable[] NO_LAYERS = new Resolvable[0];
+
+        private Map<ResolverKey<?>, ResolverProvider<?>> results = new HashMap<>();
+        private Map<String, ResolverProvider<?>> placeholders = new HashMap<>();
+        private final List<ResolverLookup> lookups = new ArrayList<>(1);
+        private final List<Resolvable> layers = new ArrayList<>(2);
+
+        private boolean built;
 
         @Override
         public <T> Builder define(ResolverKey<T> key, ResolverProvider<T> provider) {
+            if (this.built) {
+                // The previous maps are now owned by a built resolver
+                this.results = new HashMap<>(this.results);
+                this.placeholders = new HashMap<>(this.placeholders);
+                this.built = false;
+            }
+
             this.results.put(key, provider);
+            this.placeholders.put(key.getPlaceholder(), provider);
+            return this;
+        }
+
+        @Override
+        public Builder inherit(Resolvable resolvable) {
+            this.layers.add(resolvable);
+            return this;
+        }
+
+        @Override
+        public Builder lookup(ResolverLookup lookup) {
+            this.lookups.add(lookup);
             return this;
         }
 
         @Override
         public Resolver build() {
-            return new ResolverImpl(this.results);
+            this.built = true;
+            return new ResolverImpl(
+                    this.results,
+                    this.placeholders,
+                    this.lookups.isEmpty() ? NO_LOOKUPS : this.lookups.toArray(ResolverLookup[]::new),
+                    this.layers.isEmpty() ? NO_LAYERS : this.layers.toArray(Resolvable[]::new)
+            );
         }
     }
 }
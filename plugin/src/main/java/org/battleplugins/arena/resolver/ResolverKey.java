@@ -5,15 +5,16 @@ import org.battleplugins.arena.util.TypeToken;
 public final class ResolverKey<T> {
     private final String name;
     private final TypeToken<T> type;
+    private final String placeholder;
 
     ResolverKey(String name, Class<T> type) {
-        this.name = name;
-        this.type = TypeToken.of(type);
+        this(name, TypeToken.of(type));
     }
 
     ResolverKey(String name, TypeToken<T> type) {
         this.name = name;
         this.type = type;
+        this.placeholder = "%" + name.replace("-", "_") + "%";
     }
 
     public String getName() {
@@ -24,6 +25,10 @@ public final class ResolverKey<T> {
         return this.type;
     }
 
+    public String getPlaceholder() {
+        return this.placeholder;
+    }
+
     public static <T> ResolverKey<T> create(String name, Class<T> type) {
         return new ResolverKey<>(name, type);
     }
@@ -7,17 +7,24 @@ import org.battleplugins.arena.competition.map.CompetitionMap;
 import org.battleplugins.arena.competition.phase.CompetitionPhase;
 import org.battleplugins.arena.competition.victory.VictoryConditionType;
 import org.battleplugins.arena.stat.ArenaStat;
+import org.battleplugins.arena.stat.ArenaStats;
 import org.battleplugins.arena.stat.StatHolder;
 import org.battleplugins.arena.team.ArenaTeam;
 import org.battleplugins.arena.util.TypeToken;
+import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class ResolverKeys {
     private static final Map<String, ResolverKey<?>> RESOLVER_KEYS = new HashMap<>();
+    private static final Map<ArenaStat<?>, ResolverKey<Object>> STAT_KEYS = new ConcurrentHashMap<>();
+    private static final Map<ResolverKey<?>, ArenaStat<?>> STATS_BY_KEY = new ConcurrentHashMap<>();
+    private static final Map<String, ArenaStat<?>> STATS_BY_PLACEHOLDER = new ConcurrentHashMap<>();
+    private static final String STAT_PLACEHOLDER_PREFIX = "%stat_";
     
     public static final ResolverKey<Arena> ARENA = register("arena", Arena.class);
     public static final ResolverKey<Integer> ALIVE_PLAYERS = register("alive-players", Integer.class);
@@ -54,6 +61,68 @@ public final class ResolverKeys {
         return key;
     }
 
+    /**
+     * Gets the {@link ResolverKey} for the given {@link ArenaStat}.
+     * <p>
+     * Stat keys are created once per stat and reused afterward.
+     *
+     * @param stat the stat
+     * @return the resolver key for the stat
+     */
+    public static ResolverKey<Object> stat(ArenaStat<?> stat) {
+        return STAT_KEYS.computeIfAbsent(stat, key -> {
+            ResolverKey<Object> resolverKey = ResolverKey.create("stat_" + key.getKey(), Object.class);
+            STATS_BY_KEY.put(resolverKey, key);
+            STATS_BY_PLACEHOLDER.put(resolverKey.getPlaceholder(), key);
+            return resolverKey;
+        });
+    }
+
+    /**
+     * Gets the {@link ArenaStat} the given {@link ResolverKey} was
+     * created for through {@link #stat(ArenaStat)}.
+     *
+     * @param key the resolver key
+     * @return the stat for the key, or null if the key is not a stat key
+     */
+    @Nullable
+    public static ArenaStat<?> getStat(ResolverKey<?> key) {
+        return STATS_BY_KEY.get(key);
+    }
+
+    /**
+     * Gets the {@link ArenaStat} for the given stat placeholder,
+     * such as {@code %stat_kills%}.
+     *
+     * @param placeholder the placeholder
+     * @return the stat for the placeholder, or null if the placeholder is not a stat placeholder
+     */
+    @Nullable
+    public static ArenaStat<?> getStat(String placeholder) {
+        ArenaStat<?> known = STATS_BY_PLACEHOLDER.get(placeholder);
+        if (known != null) {
+            return known;
+        }
+
+        if (!placeholder.startsWith(STAT_PLACEHOLDER_PREFIX) || !placeholder.endsWith("%")) {
+            return null;
+        }
+
+        // Placeholders replace dashes in the stat key with underscores,
+        // so try both forms of the name
+        String name = placeholder.substring(STAT_PLACEHOLDER_PREFIX.length(), placeholder.length() - 1);
+        ArenaStat<?> stat = ArenaStats.get(name);
+        if (stat == null && name.indexOf('_') != -1) {
+            stat = ArenaStats.get(name.replace('_', '-'));
+        }
+
+        if (stat == null || !stat(stat).getPlaceholder().equals(placeholder)) {
+            return null;
+        }
+
+        return stat;
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> ResolverKey<T> get(String name) {
         return (ResolverKey<T>) RESOLVER_KEYS.get(name);
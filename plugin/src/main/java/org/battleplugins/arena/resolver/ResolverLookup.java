@@ -0,0 +1,33 @@
+package org.battleplugins.arena.resolver;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Looks up {@link ResolverProvider providers} on demand.
+ * <p>
+ * Unlike keys defined on a {@link Resolver.Builder}, a lookup does
+ * not create any providers up front. It is only asked for a provider
+ * once a key or placeholder is actually resolved, which makes it
+ * suitable for sources with many possible keys, such as stats.
+ */
+public interface ResolverLookup {
+
+    /**
+     * Looks up the provider for the given {@link ResolverKey}.
+     *
+     * @param key the key to look up
+     * @return the provider for the key, or null if this lookup does not provide it
+     */
+    @Nullable
+    ResolverProvider<?> lookup(ResolverKey<?> key);
+
+    /**
+     * Looks up the provider for the given placeholder, such
+     * as {@code %stat_kills%}.
+     *
+     * @param placeholder the placeholder to look up
+     * @return the provider for the placeholder, or null if this lookup does not provide it
+     */
+    @Nullable
+    ResolverProvider<?> lookup(String placeholder);
+}
@@ -0,0 +1,154 @@
+package org.battleplugins.arena.resolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A string containing {@code %placeholder%} tokens which has been
+ * parsed ahead of time.
+ * <p>
+ * Resolving a template fills every placeholder from a {@link Resolver}
+ * in a single pass, rather than scanning the whole string once for
+ * every key the resolver defines. Placeholders that the resolver does
+ * not define are left as they are.
+ */
+public final class StringTemplate {
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+    private static final Map<String, StringTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private final String source;
+    private final String[] literals;
+    private final String[] placeholders;
+
+    private StringTemplate(String source, String[] literals, String[] placeholders) {
+        this.source = source;
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Gets the source string of this template.
+     *
+     * @return the source string
+     */
+    public String getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns whether this template contains any placeholders.
+     *
+     * @return whether this template contains any placeholders
+     */
+    public boolean hasPlaceholders() {
+        return this.placeholders.length > 0;
+    }
+
+    /**
+     * Resolves this template using the given {@link Resolver}.
+     *
+     * @param resolver the resolver to fill placeholders from
+     * @return the resolved string
+     */
+    public String resolve(Resolver resolver) {
+        if (this.placeholders.length == 0) {
+            return this.source;
+        }
+
+        if (!(resolver instanceof ResolverImpl impl)) {
+            return resolver.resolveToString(this.source);
+        }
+
+        StringBuilder builder = new StringBuilder(this.source.length() + 16);
+        for (int i = 0; i < this.placeholders.length; i++) {
+            builder.append(this.literals[i]);
+
+            String placeholder = this.placeholders[i];
+            ResolverProvider<?> provider = impl.findPlaceholder(placeholder);
+            builder.append(provider == null ? placeholder : provider.toString(resolver));
+        }
+
+        return builder.append(this.literals[this.placeholders.length]).toString();
+    }
+
+    /**
+     * Compiles the given string into a {@link StringTemplate}.
+     *
+     * @param source the source string
+     * @return the compiled template
+     */
+    public static StringTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+
+        int literalStart = 0;
+        int start = source.indexOf('%');
+        while (start != -1) {
+            int end = source.indexOf('%', start + 1);
+            if (end == -1) {
+                break;
+            }
+
+            if (!isPlaceholderName(source, start + 1, end)) {
+                // Not a placeholder (i.e. "50% off"), so the closing
+                // percent may instead be the start of a placeholder
+                start = end;
+                continue;
+            }
+
+            literals.add(source.substring(literalStart, start));
+            placeholders.add(source.substring(start, end + 1));
+
+            literalStart = end + 1;
+            start = source.indexOf('%', literalStart);
+        }
+
+        literals.add(source.substring(literalStart));
+        return new StringTemplate(source, literals.toArray(String[]::new), placeholders.toArray(String[]::new));
+    }
+
+    /**
+     * Gets the compiled template for the given string, compiling
+     * it only if it has not been compiled recently.
+     *
+     * @param source the source string
+     * @return the compiled template
+     */
+    static StringTemplate cached(String source) {
+        StringTemplate template = CACHE.get(source);
+        if (template != null) {
+            return template;
+        }
+
+        // Strings built at runtime would otherwise grow the cache forever
+        if (CACHE.size() >= MAX_CACHED_TEMPLATES) {
+            CACHE.clear();
+        }
+
+        template = compile(source);
+        CACHE.put(source, template);
+        return template;
+    }
+
+    static boolean isPlaceholderName(String source, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return this.source;
+    }
+}
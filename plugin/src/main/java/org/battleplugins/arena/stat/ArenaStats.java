@@ -2,12 +2,15 @@ package org.battleplugins.arena.stat;
 
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
 public final class ArenaStats {
     private static final Map<String, ArenaStat<?>> STATS = new HashMap<>();
+    private static final Map<ArenaStat<?>, Integer> IDS = new HashMap<>();
+    private static volatile ArenaStat<?>[] statsById = new ArenaStat<?>[0];
 
     public static final ArenaStat<Integer> DEATHS = register(new SimpleArenaStat<>("deaths", "Deaths", 0, Integer.class));
     public static final ArenaStat<Integer> LIVES = register(new SimpleArenaStat<>("lives", "Lives", 1, Integer.class));
@@ -16,8 +19,24 @@ public final class ArenaStats {
     private ArenaStats() {
     }
 
-    public static <T extends ArenaStat<?>> T register(T stat) {
+    public static synchronized <T extends ArenaStat<?>> T register(T stat) {
         STATS.put(stat.getKey(), stat);
+
+        // Assign each registered stat a dense id so stat holders
+        // can store values in arrays rather than maps
+        if (!IDS.containsKey(stat)) {
+            int id = statsById.length;
+            IDS.put(stat, id);
+
+            ArenaStat<?>[] newStats = Arrays.copyOf(statsById, id + 1);
+            newStats[id] = stat;
+            statsById = newStats;
+
+            if (stat instanceof SimpleArenaStat<?> simpleStat) {
+                simpleStat.id = id;
+            }
+        }
+
         return stat;
     }
 
@@ -29,4 +48,42 @@ public final class ArenaStats {
     public static Set<ArenaStat<?>> values() {
         return Set.copyOf(STATS.values());
     }
+
+    /**
+     * Gets the id of the given {@link ArenaStat}.
+     * <p>
+     * Ids are assigned in registration order, starting at zero.
+     *
+     * @param stat the stat to get the id of
+     * @return the id of the stat, or -1 if the stat is not registered
+     */
+    public static int getId(ArenaStat<?> stat) {
+        if (stat instanceof SimpleArenaStat<?> simpleStat && simpleStat.id >= 0) {
+            return simpleStat.id;
+        }
+
+        synchronized (ArenaStats.class) {
+            return IDS.getOrDefault(stat, -1);
+        }
+    }
+
+    /**
+     * Gets the {@link ArenaStat} with the given id.
+     *
+     * @param id the id of the stat
+     * @return the stat with the given id
+     */
+    public static ArenaStat<?> getById(int id) {
+        return statsById[id];
+    }
+
+    /**
+     * Gets the number of registered stats, which is
+     * also one greater than the highest stat id.
+     *
+     * @return the number of registered stats
+     */
+    public static int size() {
+        return statsById.length;
+    }
 }
@@ -6,6 +6,8 @@ public class SimpleArenaStat<T> implements ArenaStat<T> {
     private final T defaultValue;
     private final Class<T> type;
 
+    int id = -1;
+
     public SimpleArenaStat(String key, String name, T defaultValue, Class<T> type) {
         this.key = key;
         this.name = name;
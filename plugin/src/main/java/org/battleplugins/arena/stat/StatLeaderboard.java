@@ -0,0 +1,151 @@
+package org.battleplugins.arena.stat;
+
+import org.battleplugins.arena.ArenaPlayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * An index of {@link ArenaPlayer players} ordered by the value
+ * of a numeric {@link ArenaStat}.
+ * <p>
+ * The index is kept up to date as stats change, so reading the top
+ * entries does not require sorting every player. Players with the same
+ * value are ordered by who reached that value first.
+ */
+public final class StatLeaderboard {
+    private final ArenaStat<? extends Number> stat;
+
+    private final NavigableSet<Entry> entries = new TreeSet<>();
+    private final Map<ArenaPlayer, Entry> entriesByPlayer = new HashMap<>();
+
+    private long sequence;
+
+    StatLeaderboard(ArenaStat<? extends Number> stat) {
+        this.stat = stat;
+    }
+
+    /**
+     * Returns the stat this leaderboard is ordered by.
+     *
+     * @return the stat this leaderboard is ordered by
+     */
+    public ArenaStat<? extends Number> getStat() {
+        return this.stat;
+    }
+
+    /**
+     * Returns the top entries of this leaderboard.
+     *
+     * @param count the maximum number of entries to return
+     * @param ascending whether the lowest values should be first
+     * @return the top entries of this leaderboard
+     */
+    public List<Entry> getTop(int count, boolean ascending) {
+        if (count <= 0 || this.entries.isEmpty()) {
+            return List.of();
+        }
+
+        List<Entry> top = new ArrayList<>(Math.min(count, this.entries.size()));
+        Iterator<Entry> iterator = ascending ? this.entries.descendingIterator() : this.entries.iterator();
+        while (iterator.hasNext() && top.size() < count) {
+            top.add(iterator.next());
+        }
+
+        return Collections.unmodifiableList(top);
+    }
+
+    /**
+     * Returns the number of players in this leaderboard.
+     *
+     * @return the number of players in this leaderboard
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    void update(ArenaPlayer player) {
+        Number value = player.getStat(this.stat);
+        if (value == null) {
+            value = this.stat.getDefaultValue();
+        }
+
+        // Players without a value for the stat are not ranked
+        if (value == null) {
+            this.remove(player);
+            return;
+        }
+
+        Entry oldEntry = this.entriesByPlayer.get(player);
+        if (oldEntry != null) {
+            if (oldEntry.value.equals(value)) {
+                return;
+            }
+
+            this.entries.remove(oldEntry);
+        }
+
+        Entry entry = new Entry(player, value, this.sequence++);
+        this.entries.add(entry);
+        this.entriesByPlayer.put(player, entry);
+    }
+
+    void remove(ArenaPlayer player) {
+        Entry entry = this.entriesByPlayer.remove(player);
+        if (entry != null) {
+            this.entries.remove(entry);
+        }
+    }
+
+    /**
+     * An entry in a {@link StatLeaderboard}.
+     */
+    public static final class Entry implements Comparable<Entry> {
+        private final ArenaPlayer player;
+        private final Number value;
+        private final double sortValue;
+        private final long sequence;
+
+        Entry(ArenaPlayer player, Number value, long sequence) {
+            this.player = player;
+            this.value = value;
+            this.sortValue = value.doubleValue();
+            this.sequence = sequence;
+        }
+
+        /**
+         * Returns the player of this entry.
+         *
+         * @return the player of this entry
+         */
+        public ArenaPlayer getPlayer() {
+            return this.player;
+        }
+
+        /**
+         * Returns the value of the stat for the player.
+         *
+         * @return the value of the stat for the player
+         */
+        public Number getValue() {
+            return this.value;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            // Highest values first, then whoever reached the value first
+            int compare = Double.compare(other.sortValue, this.sortValue);
+            if (compare != 0) {
+                return compare;
+            }
+
+            return Long.compare(this.sequence, other.sequence);
+        }
+    }
+}
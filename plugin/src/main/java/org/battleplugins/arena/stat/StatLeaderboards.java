@@ -0,0 +1,97 @@
+package org.battleplugins.arena.stat;
+
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.competition.LiveCompetition;
+import org.battleplugins.arena.competition.PlayerRole;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@link StatLeaderboard leaderboards} of a {@link LiveCompetition}.
+ * <p>
+ * Leaderboards are created the first time they are requested, and
+ * only contain players who are {@link PlayerRole#PLAYING playing}.
+ */
+public final class StatLeaderboards {
+    private final LiveCompetition<?> competition;
+    private final Map<ArenaStat<?>, StatLeaderboard> leaderboards = new HashMap<>();
+
+    public StatLeaderboards(LiveCompetition<?> competition) {
+        this.competition = competition;
+    }
+
+    /**
+     * Gets the leaderboard for the given stat.
+     *
+     * @param stat the stat to get the leaderboard for
+     * @return the leaderboard for the given stat
+     */
+    public StatLeaderboard get(ArenaStat<? extends Number> stat) {
+        StatLeaderboard leaderboard = this.leaderboards.get(stat);
+        if (leaderboard == null) {
+            leaderboard = new StatLeaderboard(stat);
+            for (ArenaPlayer player : this.competition.getPlayers()) {
+                leaderboard.update(player);
+            }
+
+            this.leaderboards.put(stat, leaderboard);
+        }
+
+        return leaderboard;
+    }
+
+    /**
+     * Updates the position of the given player in the
+     * leaderboard for the given stat.
+     *
+     * @param player the player whose stat changed
+     * @param stat the stat that changed
+     */
+    public void update(ArenaPlayer player, ArenaStat<?> stat) {
+        StatLeaderboard leaderboard = this.leaderboards.get(stat);
+        if (leaderboard == null) {
+            return;
+        }
+
+        if (this.isRanked(player)) {
+            leaderboard.update(player);
+        } else {
+            leaderboard.remove(player);
+        }
+    }
+
+    /**
+     * Updates the position of the given player in every leaderboard,
+     * such as after they join, change role or have their stats reset.
+     *
+     * @param player the player to update
+     */
+    public void update(ArenaPlayer player) {
+        boolean ranked = this.isRanked(player);
+        for (StatLeaderboard leaderboard : this.leaderboards.values()) {
+            if (ranked) {
+                leaderboard.update(player);
+            } else {
+                leaderboard.remove(player);
+            }
+        }
+    }
+
+    /**
+     * Removes the given player from every leaderboard.
+     *
+     * @param player the player to remove
+     */
+    public void remove(ArenaPlayer player) {
+        for (StatLeaderboard leaderboard : this.leaderboards.values()) {
+            leaderboard.remove(player);
+        }
+    }
+
+    private boolean isRanked(ArenaPlayer player) {
+        // Stats may still change after a player has left, such as when their
+        // state is reset on leave, which should not add them back
+        return player.getRole() == PlayerRole.PLAYING && this.competition.getPlayers().contains(player);
+    }
+}
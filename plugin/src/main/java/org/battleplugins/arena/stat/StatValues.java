@@ -0,0 +1,249 @@
+package org.battleplugins.arena.stat;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Stores the values of {@link ArenaStat stats} for a {@link StatHolder}.
+ * <p>
+ * Values are stored in slots indexed by the id assigned to each stat in
+ * {@link ArenaStats}. Integer, short and byte stats are stored in an
+ * {@code int[]}, long stats in a {@code long[]} and float and double
+ * stats in a {@code double[]}, so only non-numeric stats are boxed.
+ * Stats which were never registered fall back to a map.
+ */
+public final class StatValues {
+    private static final byte UNSET = 0;
+    private static final byte SET = 1;
+    private static final byte REMOVED = 2;
+
+    private boolean defaults;
+
+    private byte[] states = new byte[0];
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+    private Object[] objects;
+
+    private Map<ArenaStat<?>, Object> unregistered;
+
+    /**
+     * Creates a new stat storage.
+     *
+     * @param defaults whether stats which have not been set should
+     *                 return the {@link ArenaStat#getDefaultValue() default value}
+     */
+    public StatValues(boolean defaults) {
+        this.defaults = defaults;
+    }
+
+    /**
+     * Gets the value of the given stat.
+     *
+     * @param stat the stat
+     * @param <T> the type of the stat
+     * @return the value of the stat, or null if the stat has no value
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(ArenaStat<T> stat) {
+        int id = ArenaStats.getId(stat);
+        if (id < 0) {
+            return this.unregistered == null ? null : (T) this.unregistered.get(stat);
+        }
+
+        byte state = id < this.states.length ? this.states[id] : UNSET;
+        if (state == UNSET) {
+            return this.defaults ? stat.getDefaultValue() : null;
+        }
+
+        if (state == REMOVED) {
+            return null;
+        }
+
+        Class<T> type = stat.getType();
+        if (type == Integer.class) {
+            return (T) Integer.valueOf(this.ints[id]);
+        } else if (type == Long.class) {
+            return (T) Long.valueOf(this.longs[id]);
+        } else if (type == Double.class) {
+            return (T) Double.valueOf(this.doubles[id]);
+        } else if (type == Float.class) {
+            return (T) Float.valueOf((float) this.doubles[id]);
+        } else if (type == Short.class) {
+            return (T) Short.valueOf((short) this.ints[id]);
+        } else if (type == Byte.class) {
+            return (T) Byte.valueOf((byte) this.ints[id]);
+        }
+
+        return (T) this.objects[id];
+    }
+
+    /**
+     * Gets the value of the given numeric stat as an int,
+     * without boxing.
+     *
+     * @param stat the stat
+     * @param defaultValue the value to return if the stat has no value
+     * @return the value of the stat as an int
+     */
+    public int getInt(ArenaStat<? extends Number> stat, int defaultValue) {
+        int id = ArenaStats.getId(stat);
+        if (id >= 0 && id < this.states.length && this.states[id] == SET && isIntType(stat.getType())) {
+            return this.ints[id];
+        }
+
+        Number value = this.get(stat);
+        return value == null ? defaultValue : value.intValue();
+    }
+
+    /**
+     * Returns whether the given stat has been explicitly set.
+     *
+     * @param stat the stat
+     * @return whether the stat has been explicitly set
+     */
+    public boolean isSet(ArenaStat<?> stat) {
+        int id = ArenaStats.getId(stat);
+        if (id < 0) {
+            return this.unregistered != null && this.unregistered.containsKey(stat);
+        }
+
+        return id < this.states.length && this.states[id] == SET;
+    }
+
+    /**
+     * Sets the value of the given stat.
+     *
+     * @param stat the stat
+     * @param value the value, or null to remove the stat
+     * @param <T> the type of the stat
+     */
+    public <T> void set(ArenaStat<T> stat, @Nullable T value) {
+        int id = ArenaStats.getId(stat);
+        if (id < 0) {
+            if (value == null) {
+                if (this.unregistered != null) {
+                    this.unregistered.remove(stat);
+                }
+            } else {
+                if (this.unregistered == null) {
+                    this.unregistered = new HashMap<>();
+                }
+
+                this.unregistered.put(stat, value);
+            }
+
+            return;
+        }
+
+        this.ensureCapacity(id);
+        if (value == null) {
+            this.states[id] = REMOVED;
+            if (this.objects != null) {
+                this.objects[id] = null;
+            }
+
+            return;
+        }
+
+        Class<T> type = stat.getType();
+        if (isIntType(type)) {
+            this.ints = ensureCapacity(this.ints, id);
+            this.ints[id] = ((Number) value).intValue();
+        } else if (type == Long.class) {
+            this.longs = ensureCapacity(this.longs, id);
+            this.longs[id] = ((Number) value).longValue();
+        } else if (type == Double.class || type == Float.class) {
+            this.doubles = ensureCapacity(this.doubles, id);
+            this.doubles[id] = ((Number) value).doubleValue();
+        } else {
+            this.objects = ensureCapacity(this.objects, id);
+            this.objects[id] = value;
+        }
+
+        this.states[id] = SET;
+    }
+
+    /**
+     * Clears all stats. Stats which have been cleared no
+     * longer return their default value.
+     */
+    public void clear() {
+        this.defaults = false;
+
+        Arrays.fill(this.states, UNSET);
+        if (this.objects != null) {
+            Arrays.fill(this.objects, null);
+        }
+
+        this.unregistered = null;
+    }
+
+    /**
+     * Calls the given consumer for every stat which has a value.
+     *
+     * @param consumer the consumer
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void forEach(BiConsumer<ArenaStat<?>, Object> consumer) {
+        int size = ArenaStats.size();
+        for (int id = 0; id < size; id++) {
+            ArenaStat stat = ArenaStats.getById(id);
+            Object value = this.get(stat);
+            if (value != null) {
+                consumer.accept(stat, value);
+            }
+        }
+
+        if (this.unregistered != null) {
+            this.unregistered.forEach(consumer);
+        }
+    }
+
+    private void ensureCapacity(int id) {
+        if (id >= this.states.length) {
+            this.states = Arrays.copyOf(this.states, Math.max(id + 1, ArenaStats.size()));
+        }
+    }
+
+    private static boolean isIntType(Class<?> type) {
+        return type == Integer.class || type == Short.class || type == Byte.class;
+    }
+
+    private static int[] ensureCapacity(int[] array, int id) {
+        if (array == null) {
+            return new int[Math.max(id + 1, ArenaStats.size())];
+        }
+
+        return id < array.length ? array : Arrays.copyOf(array, Math.max(id + 1, ArenaStats.size()));
+    }
+
+    private static long[] ensureCapacity(long[] array, int id) {
+        if (array == null) {
+            return new long[Math.max(id + 1, ArenaStats.size())];
+        }
+
+        return id < array.length ? array : Arrays.copyOf(array, Math.max(id + 1, ArenaStats.size()));
+    }
+
+    private static double[] ensureCapacity(double[] array, int id) {
+        if (array == null) {
+            return new double[Math.max(id + 1, ArenaStats.size())];
+        }
+
+        return id < array.length ? array : Arrays.copyOf(array, Math.max(id + 1, ArenaStats.size()));
+    }
+
+    private static Object[] ensureCapacity(Object[] array, int id) {
+        if (array == null) {
+            return new Object[Math.max(id + 1, ArenaStats.size())];
+        }
+
+        return id < array.length ? array : Arrays.copyOf(array, Math.max(id + 1, ArenaStats.size()));
+    }
+}
@@ -0,0 +1,334 @@
+package org.battleplugins.arena.stat.store;
+
+import org.battleplugins.arena.util.LoggerHolder;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * The on-disk storage behind a {@link StatStore}.
+ * <p>
+ * Stat deltas are appended to a journal made up of numbered segments.
+ * Once a segment is full, it is compacted into per-player snapshot files
+ * and deleted. Each snapshot records the last segment it includes, so a
+ * segment which was only partially compacted before a crash is not applied
+ * twice. The last compacted segment is also recorded beside the snapshots,
+ * so new segments are always numbered after it, even if the journal folder
+ * was emptied. This class is not thread safe, and is only used from the writer
+ * thread of the {@link StatStore}.
+ */
+final class StatJournal {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_SUFFIX = ".stats";
+    private static final String SEGMENT_HEADER = "segment=";
+    private static final String LAST_SEGMENT_FILE = "last-segment";
+
+    private final Path journalPath;
+    private final Path playersPath;
+    private final LoggerHolder logger;
+
+    private long segment;
+    private BufferedWriter writer;
+    private int entries;
+
+    StatJournal(Path path, LoggerHolder logger) {
+        this.journalPath = path.resolve("journal");
+        this.playersPath = path.resolve("players");
+        this.logger = logger;
+    }
+
+    /**
+     * Opens the journal, compacting any segments left
+     * behind by a previous run.
+     */
+    void open() throws IOException {
+        Files.createDirectories(this.journalPath);
+        Files.createDirectories(this.playersPath);
+
+        List<Long> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(this.journalPath)) {
+            files.forEach(file -> {
+                long segment = parseSegment(file.getFileName().toString());
+                if (segment >= 0) {
+                    segments.add(segment);
+                }
+            });
+        }
+
+        // Snapshots may include segments numbered higher than any left in the
+        // journal, whose deltas would be skipped if their numbers were reused
+        this.segment = this.readLastSegment();
+
+        segments.sort(null);
+        for (long segment : segments) {
+            this.compact(segment);
+            this.segment = Math.max(this.segment, segment);
+        }
+
+        this.openSegment(this.segment + 1);
+    }
+
+    void append(UUID uuid, String arena, Map<String, Number> deltas) throws IOException {
+        StringBuilder builder = new StringBuilder(64)
+                .append(uuid)
+                .append('\t')
+                .append(arena)
+                .append('\t');
+
+        boolean first = true;
+        for (Map.Entry<String, Number> entry : deltas.entrySet()) {
+            if (!first) {
+                builder.append(';');
+            }
+
+            builder.append(entry.getKey()).append('=').append(entry.getValue());
+            first = false;
+        }
+
+        this.writer.write(builder.toString());
+        this.writer.newLine();
+        this.entries++;
+    }
+
+    void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    int getEntries() {
+        return this.entries;
+    }
+
+    /**
+     * Closes the current segment, compacts it into the
+     * player snapshots and starts a new segment.
+     */
+    void rotate() throws IOException {
+        this.writer.close();
+        this.compact(this.segment);
+        this.openSegment(this.segment + 1);
+    }
+
+    void close() throws IOException {
+        // The open segment is compacted when the journal is next opened
+        this.writer.close();
+    }
+
+    /**
+     * Reads the totals of the given player, including deltas
+     * which have not yet been compacted.
+     *
+     * @param uuid the unique id of the player
+     * @return the totals of the player, keyed by arena and stat key
+     */
+    Map<String, Map<String, Number>> readTotals(UUID uuid) throws IOException {
+        this.flush();
+
+        Map<String, Map<String, Number>> totals = new HashMap<>();
+        this.readSnapshot(uuid, totals);
+
+        String prefix = uuid + "\t";
+        try (BufferedReader reader = Files.newBufferedReader(this.segmentPath(this.segment), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith(prefix)) {
+                    continue;
+                }
+
+                try {
+                    this.applyLine(line, totals);
+                } catch (IllegalArgumentException e) {
+                    // Malformed entries are reported when the segment is compacted
+                }
+            }
+        }
+
+        return totals;
+    }
+
+    private void openSegment(long segment) throws IOException {
+        this.segment = segment;
+        this.entries = 0;
+        this.writer = Files.newBufferedWriter(this.segmentPath(segment), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void compact(long segment) throws IOException {
+        Path segmentPath = this.segmentPath(segment);
+
+        // Segments are bounded in size, so grouping a whole
+        // segment in memory is bounded as well
+        Map<UUID, Map<String, Map<String, Number>>> deltas = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(segmentPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf('\t');
+                if (separator < 0) {
+                    continue;
+                }
+
+                try {
+                    UUID uuid = UUID.fromString(line.substring(0, separator));
+                    this.applyLine(line, deltas.computeIfAbsent(uuid, k -> new HashMap<>()));
+                } catch (IllegalArgumentException e) {
+                    this.logger.warn("Skipping malformed stat journal entry in {}: {}", segmentPath.getFileName(), line);
+                }
+            }
+        }
+
+        for (Map.Entry<UUID, Map<String, Map<String, Number>>> entry : deltas.entrySet()) {
+            Map<String, Map<String, Number>> totals = new HashMap<>();
+            long lastSegment = this.readSnapshot(entry.getKey(), totals);
+            if (lastSegment >= segment) {
+                // Already compacted before the previous run stopped
+                continue;
+            }
+
+            entry.getValue().forEach((arena, stats) -> {
+                Map<String, Number> arenaTotals = totals.computeIfAbsent(arena, k -> new HashMap<>());
+                stats.forEach((key, value) -> arenaTotals.merge(key, value, StatTotals::add));
+            });
+
+            this.writeSnapshot(entry.getKey(), totals, segment);
+        }
+
+        // Recorded before the segment is deleted, so the number is never lost
+        this.writeLastSegment(Math.max(this.segment, segment));
+        Files.deleteIfExists(segmentPath);
+    }
+
+    private long readLastSegment() throws IOException {
+        Path lastSegmentPath = this.playersPath.resolve(LAST_SEGMENT_FILE);
+        if (Files.exists(lastSegmentPath)) {
+            try {
+                return Long.parseLong(Files.readString(lastSegmentPath, StandardCharsets.UTF_8).trim());
+            } catch (NumberFormatException e) {
+                this.logger.warn("Last stat journal segment is corrupted! Reading it from the player snapshots.");
+            }
+        }
+
+        // Find the highest segment any snapshot includes instead
+        long lastSegment = 0;
+        try (Stream<Path> files = Files.walk(this.playersPath)) {
+            for (Path file : files.filter(file -> file.getFileName().toString().endsWith(SNAPSHOT_SUFFIX)).toList()) {
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    String line = reader.readLine();
+                    if (line != null && line.startsWith(SEGMENT_HEADER)) {
+                        lastSegment = Math.max(lastSegment, Long.parseLong(line.substring(SEGMENT_HEADER.length())));
+                    }
+                } catch (NumberFormatException e) {
+                    this.logger.warn("Skipping malformed stat snapshot {}.", file);
+                }
+            }
+        }
+
+        return lastSegment;
+    }
+
+    private void writeLastSegment(long segment) throws IOException {
+        Path lastSegmentPath = this.playersPath.resolve(LAST_SEGMENT_FILE);
+        Path tempPath = this.playersPath.resolve(LAST_SEGMENT_FILE + ".tmp");
+        Files.writeString(tempPath, Long.toString(segment), StandardCharsets.UTF_8);
+        Files.move(tempPath, lastSegmentPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void applyLine(String line, Map<String, Map<String, Number>> totals) {
+        String[] parts = line.split("\t", 3);
+        if (parts.length < 3) {
+            throw new IllegalArgumentException("Expected 3 parts, got " + parts.length);
+        }
+
+        Map<String, Number> arenaTotals = totals.computeIfAbsent(parts[1], k -> new HashMap<>());
+        for (String stat : parts[2].split(";")) {
+            int separator = stat.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+
+            arenaTotals.merge(stat.substring(0, separator), StatTotals.parse(stat.substring(separator + 1)), StatTotals::add);
+        }
+    }
+
+    private long readSnapshot(UUID uuid, Map<String, Map<String, Number>> totals) throws IOException {
+        Path snapshotPath = this.snapshotPath(uuid);
+        if (Files.notExists(snapshotPath)) {
+            return -1;
+        }
+
+        long lastSegment = -1;
+        try (BufferedReader reader = Files.newBufferedReader(snapshotPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(SEGMENT_HEADER)) {
+                    lastSegment = Long.parseLong(line.substring(SEGMENT_HEADER.length()));
+                    continue;
+                }
+
+                String[] parts = line.split("\t", 3);
+                if (parts.length < 3) {
+                    continue;
+                }
+
+                totals.computeIfAbsent(parts[0], k -> new HashMap<>()).put(parts[1], StatTotals.parse(parts[2]));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed stat snapshot " + snapshotPath, e);
+        }
+
+        return lastSegment;
+    }
+
+    private void writeSnapshot(UUID uuid, Map<String, Map<String, Number>> totals, long segment) throws IOException {
+        Path snapshotPath = this.snapshotPath(uuid);
+        Files.createDirectories(snapshotPath.getParent());
+
+        Path tempPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+            writer.write(SEGMENT_HEADER + segment);
+            writer.newLine();
+
+            for (Map.Entry<String, Map<String, Number>> arenaEntry : totals.entrySet()) {
+                for (Map.Entry<String, Number> statEntry : arenaEntry.getValue().entrySet()) {
+                    writer.write(arenaEntry.getKey() + "\t" + statEntry.getKey() + "\t" + statEntry.getValue());
+                    writer.newLine();
+                }
+            }
+        }
+
+        Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path segmentPath(long segment) {
+        return this.journalPath.resolve(SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+    }
+
+    private Path snapshotPath(UUID uuid) {
+        // Shard snapshots by the first two characters of the id so no
+        // single directory holds every player
+        String id = uuid.toString();
+        return this.playersPath.resolve(id.substring(0, 2)).resolve(id + SNAPSHOT_SUFFIX);
+    }
+
+    private static long parseSegment(String fileName) {
+        if (!fileName.startsWith(SEGMENT_PREFIX) || !fileName.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package org.battleplugins.arena.stat.store;
+
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.stat.ArenaStat;
+import org.battleplugins.arena.stat.ArenaStats;
+import org.battleplugins.arena.util.LoggerHolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists the lifetime stats of players, keyed by player
+ * and arena.
+ * <p>
+ * Stat deltas and match results are handed to a background writer
+ * thread, which appends them to a local journal. The journal is
+ * periodically compacted into per-player snapshots. Recording never
+ * blocks the calling thread, and queries complete on the writer thread.
+ */
+public final class StatStore {
+    public static final String WINS = "wins";
+    public static final String LOSSES = "losses";
+    public static final String DRAWS = "draws";
+
+    private static final int MAX_PENDING_OPERATIONS = 65_536;
+    private static final int MAX_SEGMENT_ENTRIES = 10_000;
+    private static final long COMPACTION_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+
+    private final LoggerHolder logger;
+    private final StatJournal journal;
+
+    private final BlockingQueue<Operation> operations = new LinkedBlockingQueue<>(MAX_PENDING_OPERATIONS);
+    private final Thread writerThread;
+
+    private volatile boolean running = true;
+    private volatile boolean warnedFull;
+
+    // Only accessed from the writer thread
+    private long lastCompaction = System.currentTimeMillis();
+
+    public StatStore(Path path, LoggerHolder logger) {
+        this.logger = logger;
+        this.journal = new StatJournal(path, logger);
+
+        this.writerThread = new Thread(this::run, "BattleArena Stat Writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Records the stats the given {@link ArenaPlayer} has gained
+     * in their current competition.
+     * <p>
+     * Only numeric stats are recorded, as the difference between
+     * their current and default value. {@link ArenaStats#LIVES} is
+     * not recorded, since it only has meaning within a competition.
+     *
+     * @param player the player to record the stats of
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void recordStats(ArenaPlayer player) {
+        Map<String, Number> deltas = new HashMap<>();
+        for (ArenaStat stat : ArenaStats.values()) {
+            if (stat == ArenaStats.LIVES || !Number.class.isAssignableFrom(stat.getType())) {
+                continue;
+            }
+
+            Number value = (Number) player.getStat(stat);
+            if (value == null) {
+                continue;
+            }
+
+            Number defaultValue = (Number) stat.getDefaultValue();
+            Number delta = defaultValue == null ? value : subtract(value, defaultValue);
+            if (delta.doubleValue() != 0) {
+                deltas.put(stat.getKey(), delta);
+            }
+        }
+
+        if (!deltas.isEmpty()) {
+            this.record(player.getPlayer().getUniqueId(), player.getArena().getName(), deltas);
+        }
+    }
+
+    /**
+     * Records the given stat deltas for a player.
+     * <p>
+     * This method does not block. If the writer has fallen too
+     * far behind, the deltas are dropped and a warning is logged.
+     *
+     * @param uuid the unique id of the player
+     * @param arena the name of the arena the deltas were gained in
+     * @param deltas the stat deltas, keyed by stat key
+     */
+    public void record(UUID uuid, String arena, Map<String, Number> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Map<String, Number> copy = Map.copyOf(deltas);
+        this.submit(journal -> journal.append(uuid, arena, copy));
+    }
+
+    /**
+     * Gets the lifetime stat totals of the given player.
+     * <p>
+     * The returned future is completed on the writer thread.
+     *
+     * @param uuid the unique id of the player
+     * @return a future completed with the totals of the player
+     */
+    public CompletableFuture<StatTotals> getTotals(UUID uuid) {
+        CompletableFuture<StatTotals> future = new CompletableFuture<>();
+        boolean submitted = this.submit(journal -> {
+            try {
+                future.complete(new StatTotals(uuid, journal.readTotals(uuid)));
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        if (!submitted) {
+            future.completeExceptionally(new IllegalStateException("Stat store is not accepting operations"));
+        }
+
+        return future;
+    }
+
+    /**
+     * Stops the writer thread after it has written all
+     * pending operations.
+     */
+    public void close() {
+        // Wake the writer thread up, rather than interrupting it, since
+        // interrupting a thread closes any file channel it is writing to
+        this.operations.offer(journal -> {
+        });
+
+        this.running = false;
+
+        try {
+            this.writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (this.writerThread.isAlive()) {
+            this.logger.warn("Stat writer did not finish within 10 seconds. Some stats may not have been saved.");
+        }
+    }
+
+    private boolean submit(Operation operation) {
+        if (!this.running) {
+            return false;
+        }
+
+        if (!this.operations.offer(operation)) {
+            if (!this.warnedFull) {
+                this.warnedFull = true;
+                this.logger.warn("Stat writer is falling behind! Stats are being dropped.");
+            }
+
+            return false;
+        }
+
+        return true;
+    }
+
+    private void run() {
+        try {
+            this.journal.open();
+        } catch (IOException e) {
+            this.logger.error("Failed to open stat journal! Stats will not be saved.", e);
+            this.running = false;
+            this.operations.clear();
+            return;
+        }
+
+        while (this.running || !this.operations.isEmpty()) {
+            try {
+                Operation operation = this.operations.poll(1, TimeUnit.SECONDS);
+                if (operation != null) {
+                    operation.run(this.journal);
+
+                    // Drain whatever else is pending before flushing, so
+                    // bursts of operations share a single write
+                    while ((operation = this.operations.poll()) != null) {
+                        operation.run(this.journal);
+                    }
+
+                    this.journal.flush();
+                    this.warnedFull = false;
+                }
+
+                long now = System.currentTimeMillis();
+                boolean intervalElapsed = now - this.lastCompaction >= COMPACTION_INTERVAL && this.journal.getEntries() > 0;
+                if (this.journal.getEntries() >= MAX_SEGMENT_ENTRIES || intervalElapsed) {
+                    this.journal.rotate();
+                    this.lastCompaction = now;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException | RuntimeException e) {
+                this.logger.error("An error occurred writing stats!", e);
+            }
+        }
+
+        try {
+            this.journal.close();
+        } catch (IOException e) {
+            this.logger.error("Failed to close stat journal!", e);
+        }
+    }
+
+    private static Number subtract(Number first, Number second) {
+        if (StatTotals.isIntegral(first) && StatTotals.isIntegral(second)) {
+            return first.longValue() - second.longValue();
+        }
+
+        return first.doubleValue() - second.doubleValue();
+    }
+
+    private interface Operation {
+
+        void run(StatJournal journal) throws IOException;
+    }
+}
@@ -0,0 +1,57 @@
+package org.battleplugins.arena.stat.store;
+
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.competition.LiveCompetition;
+import org.battleplugins.arena.event.arena.ArenaDrawEvent;
+import org.battleplugins.arena.event.arena.ArenaLoseEvent;
+import org.battleplugins.arena.event.arena.ArenaVictoryEvent;
+import org.battleplugins.arena.event.player.ArenaLeaveEvent;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Records match results and player stats in the {@link StatStore}.
+ */
+public class StatStoreListener implements Listener {
+    private static final Map<String, Number> WIN = Map.of(StatStore.WINS, 1L);
+    private static final Map<String, Number> LOSS = Map.of(StatStore.LOSSES, 1L);
+    private static final Map<String, Number> DRAW = Map.of(StatStore.DRAWS, 1L);
+
+    private final StatStore store;
+
+    public StatStoreListener(StatStore store) {
+        this.store = store;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onVictory(ArenaVictoryEvent event) {
+        this.recordResult(event.getVictors(), WIN);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLose(ArenaLoseEvent event) {
+        this.recordResult(event.getLosers(), LOSS);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDraw(ArenaDrawEvent event) {
+        if (event.getCompetition() instanceof LiveCompetition<?> competition) {
+            this.recordResult(competition.getPlayers(), DRAW);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLeave(ArenaLeaveEvent event) {
+        event.getArenaPlayer().recordStats();
+    }
+
+    private void recordResult(Collection<ArenaPlayer> players, Map<String, Number> result) {
+        for (ArenaPlayer player : players) {
+            this.store.record(player.getPlayer().getUniqueId(), player.getArena().getName(), result);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.battleplugins.arena.stat.store;
+
+import org.battleplugins.arena.stat.ArenaStat;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The lifetime stat totals of a player, as persisted
+ * by the {@link StatStore}.
+ */
+public final class StatTotals {
+    private final UUID uuid;
+    private final Map<String, Map<String, Number>> totals;
+
+    StatTotals(UUID uuid, Map<String, Map<String, Number>> totals) {
+        this.uuid = uuid;
+
+        Map<String, Map<String, Number>> copy = new HashMap<>();
+        totals.forEach((arena, stats) -> copy.put(arena, Map.copyOf(stats)));
+        this.totals = Map.copyOf(copy);
+    }
+
+    /**
+     * Returns the unique id of the player these totals belong to.
+     *
+     * @return the unique id of the player
+     */
+    public UUID getUniqueId() {
+        return this.uuid;
+    }
+
+    /**
+     * Returns the names of all arenas the player has stats in.
+     *
+     * @return the names of all arenas the player has stats in
+     */
+    public Set<String> getArenas() {
+        return this.totals.keySet();
+    }
+
+    /**
+     * Returns all the stat totals of the player in the given arena,
+     * keyed by stat key.
+     *
+     * @param arena the name of the arena
+     * @return the stat totals of the player in the arena
+     */
+    public Map<String, Number> getTotals(String arena) {
+        return this.totals.getOrDefault(arena, Map.of());
+    }
+
+    /**
+     * Returns the total of the given stat in the given arena.
+     *
+     * @param arena the name of the arena
+     * @param key the key of the stat
+     * @return the total of the stat, or null if the player has no total for it
+     */
+    @Nullable
+    public Number getTotal(String arena, String key) {
+        return this.getTotals(arena).get(key);
+    }
+
+    /**
+     * Returns the total of the given {@link ArenaStat} in the given arena.
+     *
+     * @param arena the name of the arena
+     * @param stat the stat
+     * @return the total of the stat, or null if the player has no total for it
+     */
+    @Nullable
+    public Number getTotal(String arena, ArenaStat<?> stat) {
+        return this.getTotal(arena, stat.getKey());
+    }
+
+    /**
+     * Returns the total of the given stat across all arenas.
+     *
+     * @param key the key of the stat
+     * @return the total of the stat across all arenas, or null
+     *         if the player has no total for it
+     */
+    @Nullable
+    public Number getTotal(String key) {
+        Number total = null;
+        for (Map<String, Number> stats : this.totals.values()) {
+            Number value = stats.get(key);
+            if (value != null) {
+                total = total == null ? value : add(total, value);
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Returns the total of the given {@link ArenaStat} across all arenas.
+     *
+     * @param stat the stat
+     * @return the total of the stat across all arenas, or null
+     *         if the player has no total for it
+     */
+    @Nullable
+    public Number getTotal(ArenaStat<?> stat) {
+        return this.getTotal(stat.getKey());
+    }
+
+    static Number add(Number first, Number second) {
+        if (isIntegral(first) && isIntegral(second)) {
+            return first.longValue() + second.longValue();
+        }
+
+        return first.doubleValue() + second.doubleValue();
+    }
+
+    static boolean isIntegral(Number number) {
+        return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+    }
+
+    static Number parse(String value) {
+        if (value.indexOf('.') >= 0 || value.indexOf('E') >= 0 || value.indexOf('N') >= 0 || value.indexOf('I') >= 0) {
+            return Double.parseDouble(value);
+        }
+
+        return Long.parseLong(value);
+    }
+}
@@ -12,11 +12,26 @@ import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.session.ClipboardHolder;
 import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.competition.map.MapSnapshot;
 import org.battleplugins.arena.competition.map.options.Bounds;
 import org.bukkit.World;
 
 public final class BlockUtil {
 
+    /**
+     * Copies the blocks within the given {@link Bounds} from one world
+     * to the same position in another world, all within the current tick.
+     *
+     * @param oldWorld the world to copy from
+     * @param newWorld the world to copy to
+     * @param bounds the bounds of the region to copy
+     * @return whether the region was copied
+     * @deprecated copying a large region within a single tick stalls the
+     *             server. Use {@link MapSnapshot#capture(World, Bounds)} and
+     *             {@link MapSnapshot#paste(World)} instead, which spread
+     *             the copy over multiple ticks.
+     */
+    @Deprecated
     public static boolean copyToWorld(World oldWorld, World newWorld, Bounds bounds) {
         CuboidRegion region = new CuboidRegion(BlockVector3.at(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ()), BlockVector3.at(bounds.getMaxX(), bounds.getMaxY(), bounds.getMaxZ()));
         BlockArrayClipboard clipboard = new BlockArrayClipboard(region);
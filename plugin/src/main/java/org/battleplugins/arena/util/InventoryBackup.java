@@ -12,23 +12,21 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.text.SimpleDateFormat;
 import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.UUID;
-import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
 public class InventoryBackup {
     private static final String INVENTORY_TYPE = "inventory";
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss");
+    static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss").withZone(ZoneId.systemDefault());
 
     private final long timestamp;
     private final UUID uuid;
     private final ItemStack[] items;
 
-    private Path path;
-
     public InventoryBackup(UUID uuid, ItemStack[] items) {
         this(System.currentTimeMillis(), uuid, items);
     }
@@ -56,14 +54,10 @@ public class InventoryBackup {
     }
 
     public String getFormattedDate() {
-        return DATE_FORMAT.format(this.timestamp);
+        return DATE_FORMAT.format(this.getTimestamp());
     }
 
-    private void save() {
-        // Save the inventory backup to the specified path
-        Path path = BattleArena.getInstance().getBackupPath(INVENTORY_TYPE)
-                .resolve(this.uuid.toString()).resolve(DATE_FORMAT.format(System.currentTimeMillis()) + ".dat");
-
+    private byte[] serialize() throws IOException {
         try (ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
              DataOutputStream stream = new DataOutputStream(byteStream)) {
             stream.writeLong(this.timestamp);
@@ -81,35 +75,28 @@ public class InventoryBackup {
                 stream.write(itemBytes);
             }
 
-            byte[] data = byteStream.toByteArray();
-
-            Path parent = path.getParent();
-            if (parent != null && Files.notExists(parent)) {
-                Files.createDirectories(parent);
-            }
-
-            Files.write(path, data);
-        } catch (IOException e) {
-            BattleArena.getInstance().error("Failed to save inventory backup for " + this.uuid, e);
+            stream.flush();
+            return byteStream.toByteArray();
         }
     }
 
     public static void save(InventoryBackup backup) {
-        List<InventoryBackup> backups = load(backup.uuid, InventoryBackup::loadShell);
-        if (backups.size() >= BattleArena.getInstance().getMainConfig().getMaxBackups()) {
-            try {
-                Files.delete(backups.get(backups.size() - 1).path);
-            } catch (IOException e) {
-                BattleArena.getInstance().error("Failed to delete oldest inventory backup for " + backup.uuid, e);
-                return;
-            }
+        // Items are serialized on the calling thread, as they are not
+        // safe to touch elsewhere, and written to disk in the background
+        byte[] data;
+        try {
+            data = backup.serialize();
+        } catch (IOException e) {
+            BattleArena.getInstance().error("Failed to save inventory backup for " + backup.uuid, e);
+            return;
         }
 
-        backup.save();
-    }
-
-    public static List<InventoryBackup> load(UUID uuid) {
-        return load(uuid, InventoryBackup::load);
+        BattleArena.getInstance().getInventoryBackupWriter().write(
+                backup.uuid,
+                backup.timestamp,
+                data,
+                BattleArena.getInstance().getMainConfig().getMaxBackups()
+        );
     }
 
     @Nullable
@@ -135,48 +122,14 @@ public class InventoryBackup {
                     }
                 }
 
-                InventoryBackup backup = new InventoryBackup(timestamp, uuid, items);
-                backup.path = path;
-                return backup;
+                return new InventoryBackup(timestamp, uuid, items);
             }
         } catch (IOException e) {
             throw new IllegalArgumentException("Failed to load inventory backup for " + uuid + "! Corrupted file?", e);
         }
     }
 
-    @Nullable
-    private static InventoryBackup loadShell(UUID uuid, Path path) {
-        if (Files.notExists(path)) {
-            return null;
-        }
-
-        try {
-            byte[] data = Files.readAllBytes(path);
-            try (DataInputStream stream = new DataInputStream(new ByteArrayInputStream(data))) {
-                long timestamp = stream.readLong();
-
-                InventoryBackup backup = new InventoryBackup(timestamp, uuid, null) {
-                    private ItemStack[] items;
-
-                    @Override
-                    public ItemStack[] getItems() {
-                        if (items == null) {
-                            items = load(uuid, path).getItems();
-                        }
-
-                        return items;
-                    }
-                };
-
-                backup.path = path;
-                return backup;
-            }
-        } catch (IOException e) {
-            throw new IllegalArgumentException("Failed to load inventory backup for " + uuid + "! Corrupted file?", e);
-        }
-    }
-
-    private static List<InventoryBackup> load(UUID uuid, BiFunction<UUID, Path, InventoryBackup> loader) {
+    public static List<InventoryBackup> load(UUID uuid) {
         // Load all inventory backups for the specified UUID
         Path path = BattleArena.getInstance().getBackupPath(INVENTORY_TYPE).resolve(uuid.toString());
         try {
@@ -186,7 +139,8 @@ public class InventoryBackup {
 
             try (Stream<Path> stream = Files.list(path)) {
                 // Sort based on most recent backup
-                return stream.map(p -> loader.apply(uuid, p))
+                return stream.filter(InventoryBackupWriter::isBackup)
+                        .map(p -> load(uuid, p))
                         .sorted((a, b) -> Long.compare(b.timestamp, a.timestamp))
                         .toList();
             }
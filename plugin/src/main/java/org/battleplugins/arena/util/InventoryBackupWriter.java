@@ -0,0 +1,194 @@
+package org.battleplugins.arena.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Writes {@link InventoryBackup inventory backups} to disk on a
+ * background thread.
+ * <p>
+ * Each player has an index file next to their backups, which holds
+ * the timestamp and file name of each backup. Pruning the oldest
+ * backups only reads the index, rather than listing the backup
+ * folder and reading every backup in it.
+ */
+public final class InventoryBackupWriter {
+    static final String BACKUP_EXTENSION = ".dat";
+
+    private static final String INDEX_FILE = "index.idx";
+
+    private final Path path;
+    private final LoggerHolder logger;
+
+    private final BlockingQueue<PendingBackup> backups = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+
+    private volatile boolean running = true;
+
+    public InventoryBackupWriter(Path path, LoggerHolder logger) {
+        this.path = path;
+        this.logger = logger;
+
+        this.writerThread = new Thread(this::run, "BattleArena Inventory Backup Writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Writes the given serialized backup in the background, and
+     * deletes the oldest backups of the player so at most the
+     * given number of backups are kept.
+     * <p>
+     * If the writer has been closed, the backup is written on
+     * the calling thread instead.
+     *
+     * @param uuid the unique id of the player the backup is for
+     * @param timestamp the time the backup was taken at
+     * @param data the serialized backup
+     * @param maxBackups the maximum number of backups to keep
+     */
+    public void write(UUID uuid, long timestamp, byte[] data, int maxBackups) {
+        PendingBackup backup = new PendingBackup(uuid, timestamp, data, maxBackups);
+        if (!this.running) {
+            this.process(backup);
+            return;
+        }
+
+        this.backups.offer(backup);
+    }
+
+    /**
+     * Stops the writer thread after it has written all
+     * pending backups.
+     */
+    public void close() {
+        this.running = false;
+
+        try {
+            this.writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (this.writerThread.isAlive()) {
+            this.logger.warn("Inventory backup writer did not finish within 10 seconds. Some backups may not have been saved.");
+        }
+    }
+
+    private void run() {
+        while (this.running || !this.backups.isEmpty()) {
+            try {
+                PendingBackup backup = this.backups.poll(1, TimeUnit.SECONDS);
+                if (backup != null) {
+                    this.process(backup);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    private synchronized void process(PendingBackup backup) {
+        Path folder = this.path.resolve(backup.uuid().toString());
+        try {
+            Files.createDirectories(folder);
+
+            List<IndexEntry> index = this.readIndex(folder);
+
+            // Write to a separate file first, so a backup is never left half written
+            String fileName = InventoryBackup.DATE_FORMAT.format(Instant.ofEpochMilli(backup.timestamp())) + BACKUP_EXTENSION;
+            Path tempPath = folder.resolve(fileName + ".tmp");
+            Files.write(tempPath, backup.data());
+            Files.move(tempPath, folder.resolve(fileName), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            // A backup taken within the same second replaces the previous one
+            index.removeIf(entry -> entry.fileName().equals(fileName));
+            index.add(new IndexEntry(backup.timestamp(), fileName));
+            index.sort(Comparator.comparingLong(IndexEntry::timestamp));
+
+            while (index.size() > backup.maxBackups()) {
+                Files.deleteIfExists(folder.resolve(index.remove(0).fileName()));
+            }
+
+            writeIndex(folder, index);
+        } catch (IOException e) {
+            this.logger.error("Failed to save inventory backup for {}!", backup.uuid(), e);
+        }
+    }
+
+    private List<IndexEntry> readIndex(Path folder) throws IOException {
+        Path indexPath = folder.resolve(INDEX_FILE);
+        if (Files.notExists(indexPath)) {
+            return this.createIndex(folder);
+        }
+
+        try (DataInputStream stream = new DataInputStream(Files.newInputStream(indexPath))) {
+            int size = stream.readInt();
+            List<IndexEntry> index = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                index.add(new IndexEntry(stream.readLong(), stream.readUTF()));
+            }
+
+            return index;
+        } catch (IOException e) {
+            this.logger.warn("Inventory backup index for {} is corrupted! Recreating it.", folder.getFileName(), e);
+            return this.createIndex(folder);
+        }
+    }
+
+    private List<IndexEntry> createIndex(Path folder) throws IOException {
+        // Backups taken before the index existed, which only need
+        // to be read once to find out when they were taken
+        List<IndexEntry> index = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(folder)) {
+            for (Path path : paths.filter(InventoryBackupWriter::isBackup).toList()) {
+                try (DataInputStream stream = new DataInputStream(Files.newInputStream(path))) {
+                    index.add(new IndexEntry(stream.readLong(), path.getFileName().toString()));
+                } catch (IOException e) {
+                    this.logger.warn("Failed to read inventory backup {}! Skipping it.", path, e);
+                }
+            }
+        }
+
+        return index;
+    }
+
+    private static void writeIndex(Path folder, List<IndexEntry> index) throws IOException {
+        // Write to a separate file first, so the index is never left half written
+        Path indexPath = folder.resolve(INDEX_FILE);
+        Path tempPath = folder.resolve(INDEX_FILE + ".tmp");
+        try (DataOutputStream stream = new DataOutputStream(Files.newOutputStream(tempPath))) {
+            stream.writeInt(index.size());
+            for (IndexEntry entry : index) {
+                stream.writeLong(entry.timestamp());
+                stream.writeUTF(entry.fileName());
+            }
+        }
+
+        Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static boolean isBackup(Path path) {
+        return path.getFileName().toString().endsWith(BACKUP_EXTENSION);
+    }
+
+    private record PendingBackup(UUID uuid, long timestamp, byte[] data, int maxBackups) {
+    }
+
+    private record IndexEntry(long timestamp, String fileName) {
+    }
+}
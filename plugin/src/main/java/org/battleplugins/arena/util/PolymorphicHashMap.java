@@ -1,25 +1,191 @@
 package org.battleplugins.arena.util;
 
 import java.util.HashMap;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
+/**
+ * A {@link HashMap} keyed by classes, where lookups also match
+ * any subclass of a key.
+ * <p>
+ * The result of a lookup is memoised per concrete class, so only the
+ * first lookup for a given class scans the entries of the map. The
+ * memoised results are discarded whenever the map is modified through
+ * its own methods. Modifications made through the {@link #keySet()},
+ * {@link #values()} or {@link #entrySet()} views are not tracked.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
 public class PolymorphicHashMap<K extends Class<?>, V> extends HashMap<K, V> {
+    private static final Object NOT_FOUND = new Object();
+
+    private volatile ClassValue<Object> cache = this.createCache();
 
     @Override
     public boolean containsKey(Object key) {
-        return this.findEntry((K) key).isPresent();
+        return this.lookup(key) != NOT_FOUND;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public V get(Object key) {
-        Optional<Entry<K, V>> entry = this.findEntry((K) key);
-        return entry.map(Entry::getValue).orElse(null);
+        Object value = this.lookup(key);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        try {
+            return super.put(key, value);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        try {
+            super.putAll(map);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        try {
+            return super.putIfAbsent(key, value);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        try {
+            return super.remove(key);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        try {
+            return super.remove(key, value);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        try {
+            return super.replace(key, oldValue, newValue);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        try {
+            return super.replace(key, value);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        try {
+            super.replaceAll(function);
+        } finally {
+            this.invalidate();
+        }
     }
 
-    private Optional<Entry<K, V>> findEntry(K key) {
-        return this.entrySet()
-                .stream()
-                .filter(e -> e.getKey().isAssignableFrom(key))
-                .findFirst();
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        try {
+            return super.computeIfAbsent(key, mappingFunction);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        try {
+            return super.computeIfPresent(key, remappingFunction);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        try {
+            return super.compute(key, remappingFunction);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        try {
+            return super.merge(key, value, remappingFunction);
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    @Override
+    public void clear() {
+        try {
+            super.clear();
+        } finally {
+            this.invalidate();
+        }
+    }
+
+    private Object lookup(Object key) {
+        if (!(key instanceof Class<?> clazz)) {
+            return NOT_FOUND;
+        }
+
+        return this.cache.get(clazz);
+    }
+
+    private Object findValue(Class<?> key) {
+        // Prefer an exact match before scanning for a supertype
+        if (super.containsKey(key)) {
+            return super.get(key);
+        }
+
+        for (Entry<K, V> entry : this.entrySet()) {
+            if (entry.getKey().isAssignableFrom(key)) {
+                return entry.getValue();
+            }
+        }
+
+        return NOT_FOUND;
+    }
+
+    private void invalidate() {
+        this.cache = this.createCache();
+    }
+
+    private ClassValue<Object> createCache() {
+        return new ClassValue<>() {
+
+            @Override
+            protected Object computeValue(Class<?> type) {
+                return PolymorphicHashMap.this.findValue(type);
+            }
+        };
     }
-}
\ No newline at end of file
+}
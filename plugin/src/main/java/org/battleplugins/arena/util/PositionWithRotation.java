@@ -54,6 +54,10 @@ public class PositionWithRotation {
         return this.pitch;
     }
 
+    public PositionWithRotation offset(double x, double y, double z) {
+        return new PositionWithRotation(this.x + x, this.y + y, this.z + z, this.yaw, this.pitch);
+    }
+
     public Location toLocation(World world) {
         return new Location(world, this.x, this.y, this.z, this.yaw, this.pitch);
     }